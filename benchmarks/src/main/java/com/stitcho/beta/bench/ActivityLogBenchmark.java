@@ -0,0 +1,61 @@
+package com.stitcho.beta.bench;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stitcho.beta.Repository.OrderActivityRepository;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderActivity;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.service.ActivityLogService;
+
+/**
+ * Status-change activities, including the generated customer-facing description.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivityLogBenchmark {
+    private static final OrderStatus[] STAGES = {OrderStatus.CUTTING, OrderStatus.STITCHING,
+            OrderStatus.IRONING, OrderStatus.COMPLETED, OrderStatus.DELIVERED};
+
+    private ActivityLogService activityLogService;
+    private List<Order> orders;
+    private OrderActivity saved;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        OrderActivityRepository repository = Stubs.of(OrderActivityRepository.class, Map.of(
+                "save", args -> {
+                    saved = (OrderActivity) args[0];
+                    return saved;
+                }));
+        activityLogService = new ActivityLogService(repository);
+        orders = new ShopFixture(0, 500).orders;
+    }
+
+    @Benchmark
+    public String logStatusChange() {
+        int i = next++;
+        Order order = orders.get(i % orders.size());
+        OrderStatus newStatus = STAGES[i % STAGES.length];
+        activityLogService.logStatusChange(order, order.getStatus(), newStatus);
+        return saved.getDescription();
+    }
+}
@@ -0,0 +1,144 @@
+package com.stitcho.beta.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.ShopRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.AdminDashboardResponse;
+import com.stitcho.beta.dto.PlatformAnalyticsResponse;
+import com.stitcho.beta.dto.ShopAnalyticsResponse;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.service.AdminService;
+import com.stitcho.beta.service.AnalyticsCache;
+import com.stitcho.beta.service.DashboardExecutor;
+import com.stitcho.beta.service.OrderArchiveService;
+import com.stitcho.beta.service.SecureOwnerService;
+import com.stitcho.beta.service.TurnaroundStatsService;
+
+/**
+ * The in-memory aggregations behind the owner's shop analytics and the admin
+ * dashboard and platform analytics, over a year of orders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+    // Orders per shop per year
+    @Param({"500", "5000"})
+    public int orders;
+
+    // Shops on the platform, for the admin views
+    @Param({"40"})
+    public int shops;
+
+    private SecureOwnerService ownerService;
+    private AdminService adminService;
+    private Long ownerUserId;
+    private DashboardExecutor dashboardExecutor;
+
+    @Setup
+    public void setUp() {
+        List<ShopFixture> platform = new ArrayList<>();
+        for (int i = 0; i < shops; i++) {
+            platform.add(new ShopFixture(i, orders));
+        }
+
+        ShopFixture fixture = platform.get(0);
+        TurnaroundStatsService turnaroundStatsService = Stubs.construct(TurnaroundStatsService.class,
+                fixture.taskRepository(), fixture.workerRepository());
+        Stubs.set(turnaroundStatsService, "seedDays", 180);
+        Stubs.set(turnaroundStatsService, "seedChunkSize", 1000);
+        OrderArchiveService archiveService = Stubs.construct(OrderArchiveService.class,
+                fixture.orderItemRepository(), fixture.taskRepository());
+        // ttl 0: every call computes, as a cache miss would
+        AnalyticsCache analyticsCache = new AnalyticsCache();
+        dashboardExecutor = Stubs.construct(DashboardExecutor.class);
+        Stubs.set(dashboardExecutor, "threads", 4);
+        Stubs.set(dashboardExecutor, "queueCapacity", 200);
+        Stubs.set(dashboardExecutor, "sectionTimeoutMs", 60_000L);
+        dashboardExecutor.start();
+        ownerService = Stubs.construct(SecureOwnerService.class,
+                fixture.ownerRepository(), fixture.orderRepository(), fixture.customerRepository(),
+                fixture.workerRepository(), fixture.taskRepository(), turnaroundStatsService, archiveService,
+                analyticsCache, dashboardExecutor);
+        ownerUserId = fixture.owner.getUser().getId();
+
+        adminService = Stubs.construct(AdminService.class, platformShops(platform), platformOwners(platform),
+                platformWorkers(platform), platformOrders(platform), analyticsCache,
+                dashboardExecutor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dashboardExecutor.shutdown();
+    }
+
+    @Benchmark
+    public ShopAnalyticsResponse shopAnalytics() {
+        return ownerService.getShopAnalytics(ownerUserId);
+    }
+
+    @Benchmark
+    public AdminDashboardResponse adminDashboard() {
+        return adminService.getAdminDashboard();
+    }
+
+    @Benchmark
+    public PlatformAnalyticsResponse platformAnalytics() {
+        return adminService.getPlatformAnalytics();
+    }
+
+    private static ShopRepository platformShops(List<ShopFixture> platform) {
+        List<Shop> shops = new ArrayList<>();
+        platform.forEach(fixture -> shops.add(fixture.shop));
+        return Stubs.of(ShopRepository.class, Map.of(
+                "findAll", args -> shops,
+                "count", args -> (long) shops.size()));
+    }
+
+    private static OwnerRepository platformOwners(List<ShopFixture> platform) {
+        List<Owner> owners = new ArrayList<>();
+        platform.forEach(fixture -> owners.add(fixture.owner));
+        return Stubs.of(OwnerRepository.class, Map.of(
+                "findAll", args -> owners,
+                "count", args -> (long) owners.size()));
+    }
+
+    private static WorkerRepository platformWorkers(List<ShopFixture> platform) {
+        long count = (long) platform.size() * ShopFixture.WORKERS_PER_SHOP;
+        return Stubs.of(WorkerRepository.class, Map.of(
+                "findByShop_ShopId", args -> platform.get(((Long) args[0]).intValue() - 1).workers,
+                "count", args -> count));
+    }
+
+    private static OrderRepository platformOrders(List<ShopFixture> platform) {
+        List<Order> orders = new ArrayList<>();
+        platform.forEach(fixture -> orders.addAll(fixture.orders));
+        return Stubs.of(OrderRepository.class, Map.of(
+                "findAll", args -> orders,
+                "count", args -> (long) orders.size()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.stitcho.beta.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stitcho.beta.util.JwtUtil;
+
+/**
+ * Token issue at login, and the per-request check every controller runs:
+ * validateToken followed by extractUserId and extractRole.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        Stubs.set(jwtUtil, "jwtSecret", "mySecretKeyForJWTTokenGenerationAndValidationPurpose12345");
+        Stubs.set(jwtUtil, "jwtExpiration", 86_400_000L);
+        token = generateToken();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateTokenWithIds("owner@example.com", "Shop Owner", "OWNER", 42L, 7L, null, null);
+    }
+
+    @Benchmark
+    public String verifyToken() {
+        if (!jwtUtil.validateToken(token)) {
+            throw new IllegalStateException("Token rejected");
+        }
+        Long userId = jwtUtil.extractUserId(token);
+        return jwtUtil.extractRole(token) + userId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.stitcho.beta.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stitcho.beta.dto.MeasurementProfileResponse;
+import com.stitcho.beta.entity.Customer;
+import com.stitcho.beta.service.MeasurementService;
+
+/**
+ * A customer's measurement profiles through MeasurementService.mapToResponse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeasurementMappingBenchmark {
+    private MeasurementService measurementService;
+    private List<Customer> customers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ShopFixture fixture = new ShopFixture(0, 2000);
+        measurementService = Stubs.construct(MeasurementService.class,
+                fixture.measurementProfileRepository(), fixture.customerRepository());
+        customers = fixture.customers;
+    }
+
+    @Benchmark
+    public List<MeasurementProfileResponse> customerProfiles() {
+        Customer customer = customers.get(next++ % customers.size());
+        return measurementService.getAllProfilesForCustomer(customer.getId());
+    }
+}
@@ -0,0 +1,56 @@
+package com.stitcho.beta.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stitcho.beta.dto.OrderResponse;
+import com.stitcho.beta.service.OrderArchiveService;
+import com.stitcho.beta.service.SecureOrderService;
+
+/**
+ * An owner's order list: SecureOrderService.getMyOrders reads the items and
+ * tasks of all the shop's orders at once and maps every order through
+ * mapToOrderResponse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+    // Orders a shop takes in a year: small neighbourhood tailor, busy boutique
+    @Param({"500", "5000"})
+    public int orders;
+
+    private SecureOrderService orderService;
+    private Long ownerUserId;
+
+    @Setup
+    public void setUp() {
+        ShopFixture fixture = new ShopFixture(0, orders);
+        OrderArchiveService archiveService = Stubs.construct(OrderArchiveService.class,
+                fixture.orderItemRepository(), fixture.taskRepository());
+        orderService = Stubs.construct(SecureOrderService.class,
+                fixture.ownerRepository(), fixture.orderRepository(), fixture.orderItemRepository(),
+                fixture.taskRepository(), fixture.customerRepository(), fixture.workerRepository(), archiveService);
+        ownerUserId = fixture.owner.getUser().getId();
+    }
+
+    @Benchmark
+    public List<OrderResponse> ownerOrderList() {
+        return orderService.getMyOrders(ownerUserId, "OWNER", null);
+    }
+}
@@ -0,0 +1,266 @@
+package com.stitcho.beta.bench;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import com.stitcho.beta.Repository.CustomerRepository;
+import com.stitcho.beta.Repository.MeasurementProfileRepository;
+import com.stitcho.beta.Repository.OrderItemRepository;
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.entity.Customer;
+import com.stitcho.beta.entity.DressType;
+import com.stitcho.beta.entity.MeasurementProfile;
+import com.stitcho.beta.entity.MeasurementValue;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderItem;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.User;
+import com.stitcho.beta.entity.Worker;
+
+/**
+ * One synthetic shop: a year of orders with items, one task per stage, a team
+ * of workers and customers with measurement profiles. Generated from a fixed
+ * seed so runs are comparable. Ids are unique across shops of one platform.
+ */
+final class ShopFixture {
+    static final int WORKERS_PER_SHOP = 12;
+    static final int ORDERS_PER_CUSTOMER = 4;
+    static final int MEASUREMENTS_PER_PROFILE = 14;
+
+    private static final String[] ITEM_NAMES = {"Shirt", "Pant", "Kurta", "Blazer", "Sherwani", "Blouse"};
+    private static final String[] FABRICS = {"Cotton", "Linen", "Silk", "Wool", "Polyester"};
+    private static final String[] MEASUREMENT_KEYS = {"chest", "waist", "hip", "shoulder", "sleeve", "length",
+            "neck", "bicep", "wrist", "inseam", "thigh", "knee", "bottom", "rise"};
+
+    final Shop shop;
+    final Owner owner;
+    final List<Worker> workers = new ArrayList<>();
+    final List<Customer> customers = new ArrayList<>();
+    final List<Order> orders = new ArrayList<>();
+    final Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+    final Map<Long, List<Task>> tasksByOrder = new HashMap<>();
+    final Map<Long, List<Task>> tasksByWorker = new HashMap<>();
+    final Map<Long, List<MeasurementProfile>> profilesByCustomer = new HashMap<>();
+
+    private long nextId;
+
+    ShopFixture(int shopIndex, int orderCount) {
+        Random random = new Random(42L + shopIndex);
+        nextId = (shopIndex + 1) * 10_000_000L;
+        LocalDateTime now = LocalDateTime.now();
+
+        shop = new Shop();
+        shop.setShopId((long) shopIndex + 1);
+        shop.setShopName("Shop " + (shopIndex + 1));
+        shop.setShopEmail("shop" + (shopIndex + 1) + "@example.com");
+
+        owner = new Owner();
+        owner.setOwnerId(nextId++);
+        owner.setShop(shop);
+        owner.setUser(user("Owner " + (shopIndex + 1)));
+
+        for (int i = 0; i < WORKERS_PER_SHOP; i++) {
+            Worker worker = new Worker();
+            worker.setId(nextId++);
+            worker.setShop(shop);
+            worker.setUser(user("Worker " + i));
+            worker.setWorkType(TaskType.values()[i % TaskType.values().length].name());
+            worker.setExperience(1 + random.nextInt(15));
+            long ratings = random.nextInt(40);
+            worker.getRatingStats().setCount(ratings);
+            worker.getRatingStats().setSum(ratings * (3 + random.nextInt(3)));
+            workers.add(worker);
+            tasksByWorker.put(worker.getId(), new ArrayList<>());
+        }
+
+        int customerCount = Math.max(1, orderCount / ORDERS_PER_CUSTOMER);
+        for (int i = 0; i < customerCount; i++) {
+            Customer customer = new Customer();
+            customer.setId(nextId++);
+            customer.setShop(shop);
+            customer.setUser(user("Customer " + i));
+            customer.setCreatedAt(now.minusDays(random.nextInt(730)));
+            customers.add(customer);
+        }
+
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setOrderId(nextId++);
+            order.setShop(shop);
+            order.setCustomer(customers.get(random.nextInt(customers.size())));
+            order.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            order.setUpdatedAt(order.getCreatedAt().plusHours(random.nextInt(96)));
+            order.setDeadline(order.getCreatedAt().toLocalDate().plusDays(3 + random.nextInt(18)));
+            // Most of a year's orders are done; the rest are spread over the open stages
+            OrderStatus status = random.nextInt(10) < 7
+                    ? (random.nextBoolean() ? OrderStatus.DELIVERED : OrderStatus.COMPLETED)
+                    : statuses[random.nextInt(statuses.length)];
+            order.setStatus(status);
+            order.setNotes(random.nextInt(4) == 0 ? "Urgent, customer travelling" : null);
+
+            List<OrderItem> items = new ArrayList<>();
+            double total = 0;
+            for (int j = 1 + random.nextInt(3); j > 0; j--) {
+                OrderItem item = new OrderItem(nextId++, order, ITEM_NAMES[random.nextInt(ITEM_NAMES.length)],
+                        1 + random.nextInt(3), 400.0 + random.nextInt(40) * 50, FABRICS[random.nextInt(FABRICS.length)]);
+                total += item.getPrice() * item.getQuantity();
+                items.add(item);
+            }
+            order.setTotalPrice(total);
+            boolean paid = status == OrderStatus.DELIVERED || random.nextInt(3) == 0;
+            order.setPaidAmount(paid ? total : Math.floor(total * random.nextDouble()));
+            order.setPaymentStatus(paid ? "PAID" : order.getPaidAmount() > 0 ? "PARTIAL" : "PENDING");
+            itemsByOrder.put(order.getOrderId(), items);
+
+            List<Task> tasks = new ArrayList<>();
+            for (TaskType type : TaskType.values()) {
+                Worker worker = workers.get(random.nextInt(workers.size()));
+                Task task = new Task();
+                task.setTaskId(nextId++);
+                task.setOrder(order);
+                task.setWorker(worker);
+                task.setTaskType(type);
+                task.setAssignedAt(order.getCreatedAt());
+                task.setStatus(taskStatus(status, type, random));
+                if (task.getStatus() != TaskStatus.PENDING) {
+                    task.setStartedAt(order.getCreatedAt().plusHours(type.ordinal() * 6L));
+                }
+                if (task.getStatus() == TaskStatus.COMPLETED) {
+                    task.setCompletedAt(task.getStartedAt().plusHours(1 + random.nextInt(8)));
+                }
+                task.setAutoAssigned(random.nextBoolean());
+                tasks.add(task);
+                tasksByWorker.get(worker.getId()).add(task);
+            }
+            tasksByOrder.put(order.getOrderId(), tasks);
+            orders.add(order);
+        }
+    }
+
+    OwnerRepository ownerRepository() {
+        return Stubs.of(OwnerRepository.class, Map.of(
+                "findByUser_Id", args -> Optional.of(owner),
+                "findAll", args -> List.of(owner),
+                "count", args -> 1L));
+    }
+
+    OrderRepository orderRepository() {
+        return Stubs.of(OrderRepository.class, Map.of(
+                "findByShop_ShopId", args -> orders,
+                "findAll", args -> orders,
+                "count", args -> (long) orders.size()));
+    }
+
+    OrderItemRepository orderItemRepository() {
+        return Stubs.of(OrderItemRepository.class, Map.of(
+                "findByOrder_OrderId", args -> itemsByOrder.getOrDefault(args[0], List.of()),
+                "findByOrder_OrderIdIn", args -> ofOrders(itemsByOrder, args[0])));
+    }
+
+    TaskRepository taskRepository() {
+        return Stubs.of(TaskRepository.class, Map.of(
+                "findByOrder_OrderId", args -> tasksByOrder.getOrDefault(args[0], List.of()),
+                "findWithWorkerByOrderIdIn", args -> ofOrders(tasksByOrder, args[0]),
+                "findByWorker_Id", args -> tasksByWorker.getOrDefault(args[0], List.of())));
+    }
+
+    WorkerRepository workerRepository() {
+        return Stubs.of(WorkerRepository.class, Map.of(
+                "findByShop_ShopId", args -> workers,
+                "count", args -> (long) workers.size()));
+    }
+
+    CustomerRepository customerRepository() {
+        return Stubs.of(CustomerRepository.class, Map.of(
+                "findByShop_ShopId", args -> customers,
+                "findByUser_Id", args -> Optional.of(customers.get(0)),
+                "count", args -> (long) customers.size()));
+    }
+
+    MeasurementProfileRepository measurementProfileRepository() {
+        for (Customer customer : customers) {
+            profilesByCustomer.computeIfAbsent(customer.getId(), id -> profiles(customer));
+        }
+        return Stubs.of(MeasurementProfileRepository.class, Map.of(
+                "findByCustomer_Id", args -> profilesByCustomer.getOrDefault(args[0], List.of())));
+    }
+
+    // Only built when asked for: platform-sized fixtures don't need them
+    private List<MeasurementProfile> profiles(Customer customer) {
+        Random random = new Random(customer.getId());
+        List<MeasurementProfile> profiles = new ArrayList<>();
+        for (DressType dressType : new DressType[] {DressType.SHIRT, DressType.PANT, DressType.KURTA}) {
+            MeasurementProfile profile = new MeasurementProfile();
+            profile.setId(customer.getId() * 10 + dressType.ordinal());
+            profile.setCustomer(customer);
+            profile.setDressType(dressType);
+            profile.setCreatedAt(customer.getCreatedAt());
+            profile.setUpdatedAt(customer.getCreatedAt().plusDays(random.nextInt(60)));
+            for (int i = 0; i < MEASUREMENTS_PER_PROFILE; i++) {
+                MeasurementValue value = new MeasurementValue();
+                value.setId(profile.getId() * 100 + i);
+                value.setProfile(profile);
+                value.setMeasurementKey(MEASUREMENT_KEYS[i]);
+                value.setMeasurementValue(BigDecimal.valueOf(10 + random.nextInt(300), 1));
+                profile.getMeasurements().add(value);
+            }
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setId(nextId++);
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "." + user.getId() + "@example.com");
+        user.setContactNumber("98" + (10_000_000L + user.getId() % 90_000_000L));
+        return user;
+    }
+
+    // Rows of the given orders (the Collection<Long> argument of a findBy...In stub)
+    private static <T> List<T> ofOrders(Map<Long, List<T>> byOrder, Object orderIds) {
+        List<T> rows = new ArrayList<>();
+        for (Object orderId : (Collection<?>) orderIds) {
+            rows.addAll(byOrder.getOrDefault(orderId, List.of()));
+        }
+        return rows;
+    }
+
+    // Stages before the order's current stage are done, later ones still pending
+    private static TaskStatus taskStatus(OrderStatus orderStatus, TaskType type, Random random) {
+        switch (orderStatus) {
+            case COMPLETED:
+            case DELIVERED:
+                return TaskStatus.COMPLETED;
+            case NEW:
+            case CANCELLED:
+                return TaskStatus.PENDING;
+            default:
+                int current = orderStatus.ordinal() - OrderStatus.CUTTING.ordinal();
+                if (type.ordinal() < current) {
+                    return TaskStatus.COMPLETED;
+                }
+                if (type.ordinal() == current) {
+                    return random.nextBoolean() ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+                }
+                return TaskStatus.PENDING;
+        }
+    }
+}
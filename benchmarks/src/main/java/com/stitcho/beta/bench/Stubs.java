@@ -0,0 +1,120 @@
+package com.stitcho.beta.bench;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for repositories and other interface dependencies, so
+ * services run their real code against fixtures without Spring or a database.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Interface stub answering the named methods; anything else returns an empty
+     * collection, Optional.empty(), zero, false or null depending on its return type
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName() + " stub";
+                }
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args != null ? args : new Object[0]);
+            }
+            return defaultValue(method.getReturnType());
+        });
+        return type.cast(stub);
+    }
+
+    /**
+     * Create a @RequiredArgsConstructor bean: each constructor argument is the first
+     * of deps of a matching type, an empty stub for other interfaces, or null
+     */
+    static <T> T construct(Class<T> type, Object... deps) {
+        Constructor<?> constructor = null;
+        for (Constructor<?> candidate : type.getDeclaredConstructors()) {
+            if (constructor == null || candidate.getParameterCount() > constructor.getParameterCount()) {
+                constructor = candidate;
+            }
+        }
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            args[i] = dependency(parameterTypes[i], deps);
+        }
+        try {
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Set a field normally injected by @Value
+     */
+    static void set(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+
+    private static Object dependency(Class<?> type, Object[] deps) {
+        for (Object dep : deps) {
+            if (type.isInstance(dep)) {
+                return dep;
+            }
+        }
+        return type.isInterface() ? of(type, Map.of()) : null;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == List.class || type == Collection.class || type == Iterable.class) {
+            return List.of();
+        }
+        if (type == Set.class) {
+            return Set.of();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        return null;
+    }
+}
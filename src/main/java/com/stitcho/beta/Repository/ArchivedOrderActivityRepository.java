@@ -0,0 +1,34 @@
+package com.stitcho.beta.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.ArchivedOrderActivity;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ArchivedOrderActivityRepository extends JpaRepository<ArchivedOrderActivity, Long> {
+    List<ArchivedOrderActivity> findByOrderIdOrderByCreatedAtDesc(Long orderId);
+
+    // Copy the given orders' activities into the archive, ids unchanged
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_order_activities"))
+    @Query(value = "INSERT INTO archived_order_activities (id, order_id, activity_type, description, " +
+                   "old_status, new_status, created_at) " +
+                   "SELECT id, order_id, activity_type, description, old_status, new_status, created_at " +
+                   "FROM order_activities WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyFromOrderActivities(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedOrderActivity a WHERE a.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,34 @@
+package com.stitcho.beta.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.ArchivedOrderItem;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+    List<ArchivedOrderItem> findByOrderId(Long orderId);
+    List<ArchivedOrderItem> findByOrderIdIn(Collection<Long> orderIds);
+
+    // Copy the given orders' items into the archive, ids unchanged
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_order_items"))
+    @Query(value = "INSERT INTO archived_order_items (item_id, order_id, item_name, quantity, price, fabric_type) " +
+                   "SELECT item_id, order_id, item_name, quantity, price, fabric_type " +
+                   "FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyFromOrderItems(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedOrderItem i WHERE i.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
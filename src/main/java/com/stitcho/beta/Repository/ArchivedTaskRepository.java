@@ -0,0 +1,75 @@
+package com.stitcho.beta.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.ArchivedTask;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.TaskStatus;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    List<ArchivedTask> findByOrderId(Long orderId);
+    List<ArchivedTask> findByOrderIdIn(Collection<Long> orderIds);
+
+    // Archived counterpart of TaskRepository.findCompletedChunk (payroll)
+    @Query("SELECT t.taskId AS taskId, t.workerId AS workerId, t.taskType AS taskType, " +
+           "t.completedAt AS completedAt FROM ArchivedTask t JOIN Order o ON o.orderId = t.orderId " +
+           "WHERE o.shop.shopId = :shopId AND t.status = :status " +
+           "AND t.completedAt >= :from AND t.completedAt < :to AND t.taskId > :afterId " +
+           "ORDER BY t.taskId ASC")
+    List<TaskRepository.CompletedTaskRow> findCompletedChunk(@Param("shopId") Long shopId,
+                                                             @Param("status") TaskStatus status,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+
+    // Archived counterpart of TaskRepository.findStageDurationChunk (turnaround seeding)
+    @Query("SELECT t.taskId AS taskId, t.workerId AS workerId, t.taskType AS taskType, " +
+           "t.startedAt AS startedAt, t.completedAt AS completedAt " +
+           "FROM ArchivedTask t JOIN Order o ON o.orderId = t.orderId " +
+           "WHERE o.shop.shopId = :shopId AND t.status = :status " +
+           "AND t.startedAt IS NOT NULL AND t.completedAt >= :since AND t.taskId > :afterId " +
+           "ORDER BY t.taskId ASC")
+    List<TaskRepository.StageDurationRow> findStageDurationChunk(@Param("shopId") Long shopId,
+                                                                 @Param("status") TaskStatus status,
+                                                                 @Param("since") LocalDateTime since,
+                                                                 @Param("afterId") Long afterId,
+                                                                 Pageable pageable);
+
+    // Archived counterpart of TaskRepository.findOrderLeadTimes (turnaround seeding)
+    @Query("SELECT o.createdAt AS createdAt, MAX(t.completedAt) AS completedAt " +
+           "FROM ArchivedTask t JOIN Order o ON o.orderId = t.orderId " +
+           "WHERE o.shop.shopId = :shopId AND o.status IN :statuses AND o.createdAt >= :since " +
+           "GROUP BY o.orderId, o.createdAt")
+    List<TaskRepository.OrderLeadRow> findOrderLeadTimes(@Param("shopId") Long shopId,
+                                                         @Param("statuses") Collection<OrderStatus> statuses,
+                                                         @Param("since") LocalDateTime since);
+
+    // Copy the given orders' tasks into the archive, ids unchanged
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_tasks"))
+    @Query(value = "INSERT INTO archived_tasks (id, order_id, worker_id, task_type, status, " +
+                   "assigned_at, started_at, completed_at, auto_assigned) " +
+                   "SELECT id, order_id, worker_id, task_type, status, " +
+                   "assigned_at, started_at, completed_at, auto_assigned " +
+                   "FROM tasks WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyFromTasks(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTask t WHERE t.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,62 @@
+package com.stitcho.beta.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.ChangeLogEntry;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Latest change sequence, where a fresh sync token starts
+    @Query("SELECT MAX(e.id) FROM ChangeLogEntry e")
+    Long findMaxId();
+
+    // A shop's changes after the cursor, oldest first
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.shopId = :shopId AND e.id > :afterId ORDER BY e.id")
+    List<ChangeLogEntry> findShopChanges(@Param("shopId") Long shopId, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    // A shop's changes at or before the cursor logged since the given time (late commits)
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.shopId = :shopId AND e.id <= :upToId " +
+           "AND e.changedAt >= :since ORDER BY e.id")
+    List<ChangeLogEntry> findShopStragglers(@Param("shopId") Long shopId, @Param("upToId") Long upToId,
+                                            @Param("since") LocalDateTime since);
+
+    // A customer's changes after the cursor, oldest first
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.customerId = :customerId AND e.id > :afterId ORDER BY e.id")
+    List<ChangeLogEntry> findCustomerChanges(@Param("customerId") Long customerId, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // A customer's changes at or before the cursor logged since the given time (late commits)
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.customerId = :customerId AND e.id <= :upToId " +
+           "AND e.changedAt >= :since ORDER BY e.id")
+    List<ChangeLogEntry> findCustomerStragglers(@Param("customerId") Long customerId, @Param("upToId") Long upToId,
+                                                @Param("since") LocalDateTime since);
+
+    // A worker's task changes and changes of orders they have tasks in, after the cursor
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.id > :afterId AND (e.workerId = :workerId " +
+           "OR (e.entityType = com.stitcho.beta.entity.ChangeEntityType.ORDER AND e.entityId IN " +
+           "(SELECT t.order.orderId FROM Task t WHERE t.worker.id = :workerId))) ORDER BY e.id")
+    List<ChangeLogEntry> findWorkerChanges(@Param("workerId") Long workerId, @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // A worker's changes at or before the cursor logged since the given time (late commits)
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.id <= :upToId AND e.changedAt >= :since " +
+           "AND (e.workerId = :workerId OR (e.entityType = com.stitcho.beta.entity.ChangeEntityType.ORDER " +
+           "AND e.entityId IN (SELECT t.order.orderId FROM Task t WHERE t.worker.id = :workerId))) ORDER BY e.id")
+    List<ChangeLogEntry> findWorkerStragglers(@Param("workerId") Long workerId, @Param("upToId") Long upToId,
+                                              @Param("since") LocalDateTime since);
+
+    // Drop entries older than the sync retention
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.changedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
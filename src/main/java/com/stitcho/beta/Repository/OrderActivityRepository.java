@@ -1,9 +1,11 @@
 package com.stitcho.beta.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,4 +25,9 @@ public interface OrderActivityRepository extends JpaRepository<OrderActivity, Lo
     
     // Get activities for a specific order
     List<OrderActivity> findByOrder_OrderIdOrderByCreatedAtDesc(Long orderId);
+
+    // Remove the given orders' activities once they are archived
+    @Modifying
+    @Query("DELETE FROM OrderActivity oa WHERE oa.order.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,8 +1,12 @@
 package com.stitcho.beta.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.OrderItem;
@@ -10,4 +14,10 @@ import com.stitcho.beta.entity.OrderItem;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrder_OrderId(Long orderId);
+    List<OrderItem> findByOrder_OrderIdIn(Collection<Long> orderIds);
+
+    // Remove the given orders' items once they are archived
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,13 +1,20 @@
 package com.stitcho.beta.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderStatus;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -17,4 +24,116 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByShop_ShopId(Long shopId);
     List<Order> findByShop_ShopIdAndCreatedAtBetween(Long shopId, LocalDateTime startDate, LocalDateTime endDate);
     List<Order> findByShop_ShopIdAndCustomer_User_NameContainingIgnoreCase(Long shopId, String customerName);
+
+    // Order totals for a customer dashboard in a single aggregate
+    @Query("SELECT COUNT(o) AS totalOrders, " +
+           "COALESCE(SUM(CASE WHEN o.status = :completed THEN 1 ELSE 0 END), 0) AS completedOrders, " +
+           "COALESCE(SUM(CASE WHEN o.status = :completed THEN o.totalPrice ELSE 0.0 END), 0.0) AS totalSpent, " +
+           "COALESCE(SUM(CASE WHEN (o.status IS NULL OR o.status <> :completed) " +
+           "AND (o.paymentStatus IS NULL OR UPPER(o.paymentStatus) <> 'PAID') " +
+           "THEN o.totalPrice - COALESCE(o.paidAmount, 0.0) ELSE 0.0 END), 0.0) AS pendingPayment " +
+           "FROM Order o WHERE o.customer.id = :customerId")
+    CustomerOrderStats getCustomerOrderStats(@Param("customerId") Long customerId,
+                                             @Param("completed") OrderStatus completed);
+
+    // Average hours from order creation to its last task completing, per shop
+    @Query(value = "SELECT o.shop_id AS \"shopId\", COUNT(*) AS \"orderCount\", " +
+                   "AVG(EXTRACT(EPOCH FROM (t.finished_at - o.created_at)) / 3600.0) AS \"avgHours\" " +
+                   "FROM orders o JOIN (SELECT order_id, MAX(completed_at) AS finished_at FROM tasks " +
+                   "GROUP BY order_id HAVING COUNT(*) = COUNT(completed_at)) t ON t.order_id = o.id " +
+                   "WHERE o.status IN ('COMPLETED', 'DELIVERED') AND o.created_at >= :since " +
+                   "GROUP BY o.shop_id HAVING COUNT(*) >= :minOrders", nativeQuery = true)
+    List<ShopTurnaround> findShopTurnaround(@Param("since") LocalDateTime since,
+                                            @Param("minOrders") long minOrders);
+
+    // Open orders whose slack has run out (idx_orders_risk_review)
+    @Query("SELECT o.orderId FROM Order o " +
+           "WHERE o.riskReviewAt <= :now AND o.status NOT IN :closed AND o.orderId > :afterId " +
+           "ORDER BY o.orderId ASC")
+    List<Long> findRiskReviewDue(@Param("closed") Collection<OrderStatus> closed,
+                                 @Param("now") LocalDateTime now,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    // Open orders created or edited since the given time (idx_orders_updated_at)
+    @Query("SELECT o.orderId FROM Order o " +
+           "WHERE o.updatedAt >= :since AND o.status NOT IN :closed AND o.orderId > :afterId " +
+           "ORDER BY o.orderId ASC")
+    List<Long> findEditedSince(@Param("closed") Collection<OrderStatus> closed,
+                               @Param("since") LocalDateTime since,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    // Open orders never checked for risk, e.g. created before the detector first ran. The
+    // condition is spelled out with literals so it matches the partial index
+    // idx_orders_risk_unchecked, which only holds these orders.
+    @Query("SELECT o.orderId FROM Order o WHERE o.atRisk IS NULL " +
+           "AND o.status NOT IN (com.stitcho.beta.entity.OrderStatus.COMPLETED, " +
+           "com.stitcho.beta.entity.OrderStatus.DELIVERED, com.stitcho.beta.entity.OrderStatus.CANCELLED) " +
+           "AND o.orderId > :afterId ORDER BY o.orderId ASC")
+    List<Long> findRiskUnchecked(@Param("afterId") Long afterId, Pageable pageable);
+
+    // What the risk check needs to know about each order
+    @Query("SELECT o.orderId AS orderId, o.shop.shopId AS shopId, o.status AS status, o.deadline AS deadline " +
+           "FROM Order o WHERE o.orderId IN :orderIds")
+    List<RiskInput> findRiskInputs(@Param("orderIds") Collection<Long> orderIds);
+
+    // Store a risk check result without touching version or updated_at
+    @Modifying
+    @Query("UPDATE Order o SET o.atRisk = :atRisk, o.projectedCompletionAt = :projectedCompletionAt, " +
+           "o.riskReviewAt = :riskReviewAt WHERE o.orderId = :orderId")
+    int updateRisk(@Param("orderId") Long orderId,
+                   @Param("atRisk") Boolean atRisk,
+                   @Param("projectedCompletionAt") LocalDateTime projectedCompletionAt,
+                   @Param("riskReviewAt") LocalDateTime riskReviewAt);
+
+    // A shop's open orders projected to miss their deadline, most urgent first (idx_orders_open_deadline)
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer c LEFT JOIN FETCH c.user " +
+           "WHERE o.shop.shopId = :shopId AND o.status NOT IN :closed AND o.atRisk = true " +
+           "ORDER BY o.deadline ASC, o.orderId ASC")
+    List<Order> findAtRiskOrders(@Param("shopId") Long shopId,
+                                 @Param("closed") Collection<OrderStatus> closed);
+
+    // One chunk of open orders, in id order after the given id (order board)
+    @Query("SELECT o FROM Order o WHERE o.status NOT IN :closed AND o.orderId > :afterId ORDER BY o.orderId ASC")
+    List<Order> findOpenChunk(@Param("closed") Collection<OrderStatus> closed,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    // The given orders with their customers (order board)
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer c LEFT JOIN FETCH c.user WHERE o.orderId IN :orderIds")
+    List<Order> findWithCustomerByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // Closed orders last changed before the cutoff and not archived yet, oldest id first
+    @Query("SELECT o.orderId FROM Order o WHERE o.status IN :closed AND o.archivedAt IS NULL " +
+           "AND o.updatedAt < :cutoff ORDER BY o.orderId ASC")
+    List<Long> findArchivable(@Param("closed") Collection<OrderStatus> closed,
+                              @Param("cutoff") LocalDateTime cutoff,
+                              Pageable pageable);
+
+    // Mark orders archived without touching version or updated_at
+    @Modifying
+    @Query("UPDATE Order o SET o.archivedAt = :archivedAt WHERE o.orderId IN :orderIds")
+    int markArchived(@Param("orderIds") Collection<Long> orderIds,
+                     @Param("archivedAt") LocalDateTime archivedAt);
+
+    interface RiskInput {
+        Long getOrderId();
+        Long getShopId();
+        OrderStatus getStatus();
+        LocalDate getDeadline();
+    }
+
+    interface ShopTurnaround {
+        Long getShopId();
+        Number getOrderCount();
+        Number getAvgHours();
+    }
+
+    interface CustomerOrderStats {
+        Number getTotalOrders();
+        Number getCompletedOrders();
+        Number getTotalSpent();
+        Number getPendingPayment();
+    }
 }
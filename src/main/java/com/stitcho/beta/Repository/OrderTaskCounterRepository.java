@@ -0,0 +1,97 @@
+package com.stitcho.beta.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.OrderTaskCounter;
+import com.stitcho.beta.entity.TaskType;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OrderTaskCounterRepository extends JpaRepository<OrderTaskCounter, Long> {
+
+    // Apply a task transition to the (order, task type) counter in a single statement
+    @Modifying
+    @Query("UPDATE OrderTaskCounter c SET c.pending = c.pending + :pending, " +
+           "c.inProgress = c.inProgress + :inProgress, c.completed = c.completed + :completed " +
+           "WHERE c.order.orderId = :orderId AND c.taskType = :taskType")
+    int applyDelta(@Param("orderId") Long orderId,
+                   @Param("taskType") TaskType taskType,
+                   @Param("pending") int pending,
+                   @Param("inProgress") int inProgress,
+                   @Param("completed") int completed);
+
+    // Create one (order, task type) counter from the order's current tasks; returns 0 when
+    // the counter already exists, also when a concurrent transaction has just created it.
+    // The seeding inserts flush first: their query space is only order_task_counters, so
+    // Hibernate's auto-flush would leave the session's task changes uncounted.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_task_counters"))
+    @Query(value = "INSERT INTO order_task_counters (order_id, task_type, pending, in_progress, completed) " +
+                   "SELECT t.order_id, t.task_type, " +
+                   "SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END) " +
+                   "FROM tasks t WHERE t.order_id = :orderId AND t.task_type = :taskType " +
+                   "GROUP BY t.order_id, t.task_type " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createFromTasks(@Param("orderId") Long orderId, @Param("taskType") String taskType);
+
+    // Create the order's missing (order, task type) counters from its current tasks
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_task_counters"))
+    @Query(value = "INSERT INTO order_task_counters (order_id, task_type, pending, in_progress, completed) " +
+                   "SELECT t.order_id, t.task_type, " +
+                   "SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END) " +
+                   "FROM tasks t WHERE t.order_id = :orderId AND t.task_type IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM order_task_counters c " +
+                   "WHERE c.order_id = t.order_id AND c.task_type = t.task_type) " +
+                   "GROUP BY t.order_id, t.task_type " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createMissingFromTasks(@Param("orderId") Long orderId);
+
+    // Create missing counters for every order with tasks (startup backfill)
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_task_counters"))
+    @Query(value = "INSERT INTO order_task_counters (order_id, task_type, pending, in_progress, completed) " +
+                   "SELECT t.order_id, t.task_type, " +
+                   "SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END) " +
+                   "FROM tasks t WHERE t.order_id IS NOT NULL AND t.task_type IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM order_task_counters c " +
+                   "WHERE c.order_id = t.order_id AND c.task_type = t.task_type) " +
+                   "GROUP BY t.order_id, t.task_type", nativeQuery = true)
+    int backfillMissing();
+
+    // Current counters of an order (projection, so never a stale managed entity)
+    @Query("SELECT c.taskType AS taskType, c.pending AS pending, c.inProgress AS inProgress, " +
+           "c.completed AS completed FROM OrderTaskCounter c WHERE c.order.orderId = :orderId")
+    List<StageCounts> findCounts(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM OrderTaskCounter c WHERE c.order.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM OrderTaskCounter c WHERE c.order.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    interface StageCounts {
+        TaskType getTaskType();
+        Integer getPending();
+        Integer getInProgress();
+        Integer getCompleted();
+    }
+}
@@ -0,0 +1,43 @@
+package com.stitcho.beta.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.OutboxMessage;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Due messages, oldest first, locked for the caller's transaction; rows another
+    // dispatcher has locked are skipped rather than waited for
+    @Query(value = "SELECT * FROM notification_outbox " +
+                   "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.stitcho.beta.entity.OutboxStatus.SENT, " +
+           "m.sentAt = :sentAt, m.lastError = NULL WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.stitcho.beta.entity.OutboxStatus.DEAD, " +
+           "m.lastError = :error WHERE m.id = :id")
+    int markDead(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.stitcho.beta.entity.OutboxStatus.SENT " +
+           "AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -2,12 +2,21 @@ package com.stitcho.beta.Repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.Owner;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OwnerRepository extends JpaRepository<Owner, Long> {
+    // Resolved on every owner request; cached until the owners table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Owner> findByUser_Id(Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Owner> findFirstByShop_ShopId(Long shopId);
 }
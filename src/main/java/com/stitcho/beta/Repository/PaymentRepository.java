@@ -1,14 +1,111 @@
 package com.stitcho.beta.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stitcho.beta.dto.PaymentHistoryResponse;
+import com.stitcho.beta.dto.PaymentLedgerResponse;
 import com.stitcho.beta.entity.Payment;
+import com.stitcho.beta.entity.PaymentMethod;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByOrder_OrderIdOrderByPaymentDateDesc(Long orderId);
-    List<Payment> findByOrder_Shop_ShopIdOrderByPaymentDateDesc(Long shopId);
+
+    // Payment history of a customer, one row per payment (orders without payments appear once)
+    @Query("SELECT new com.stitcho.beta.dto.PaymentHistoryResponse(" +
+           "o.orderId, o.totalPrice, o.paidAmount, o.paymentStatus, " +
+           "COALESCE(p.paymentDate, o.createdAt), COALESCE(p.note, o.notes), " +
+           "p.paymentId, p.amount, p.paymentMethod) " +
+           "FROM Order o LEFT JOIN Payment p ON p.order = o " +
+           "WHERE o.customer.id = :customerId " +
+           "AND COALESCE(p.paymentDate, o.createdAt) >= :from " +
+           "AND COALESCE(p.paymentDate, o.createdAt) < :to " +
+           "ORDER BY COALESCE(p.paymentDate, o.createdAt) DESC, o.orderId DESC, p.paymentId DESC")
+    List<PaymentHistoryResponse> findCustomerPaymentHistory(@Param("customerId") Long customerId,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to,
+                                                            Pageable pageable);
+
+    // Shop ledger page, newest first, continuing after the (cursorDate, cursorId) keyset.
+    // Filtered and ordered on payment_history's own shop_id; orders and users are joined
+    // only for the customer name of the rows on the page
+    @Query("SELECT new com.stitcho.beta.dto.PaymentLedgerResponse$LedgerEntry(" +
+           "p.paymentId, p.paymentDate, p.amount, p.paymentMethod, p.note, " +
+           "o.orderId, cu.name, r.id, r.name) " +
+           "FROM Payment p JOIN p.order o JOIN o.customer c JOIN c.user cu LEFT JOIN p.recordedBy r " +
+           "WHERE p.shop.shopId = :shopId " +
+           "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+           "AND (:method IS NULL OR p.paymentMethod = :method) " +
+           "AND (:recordedBy IS NULL OR r.id = :recordedBy) " +
+           "AND (p.paymentDate < :cursorDate OR (p.paymentDate = :cursorDate AND p.paymentId < :cursorId)) " +
+           "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentLedgerResponse.LedgerEntry> findShopLedgerPage(@Param("shopId") Long shopId,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to,
+                                                               @Param("method") PaymentMethod method,
+                                                               @Param("recordedBy") Long recordedBy,
+                                                               @Param("cursorDate") LocalDateTime cursorDate,
+                                                               @Param("cursorId") Long cursorId,
+                                                               Pageable pageable);
+
+    // Ledger totals per payment method for the same filters
+    @Query("SELECT p.paymentMethod AS paymentMethod, SUM(p.amount) AS amount, COUNT(p) AS count " +
+           "FROM Payment p " +
+           "WHERE p.shop.shopId = :shopId " +
+           "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+           "AND (:method IS NULL OR p.paymentMethod = :method) " +
+           "AND (:recordedBy IS NULL OR p.recordedBy.id = :recordedBy) " +
+           "GROUP BY p.paymentMethod ORDER BY p.paymentMethod")
+    List<MethodTotal> sumShopLedgerByMethod(@Param("shopId") Long shopId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("method") PaymentMethod method,
+                                            @Param("recordedBy") Long recordedBy);
+
+    // Ledger totals per calendar day for the same filters
+    @Query("SELECT CAST(p.paymentDate AS LocalDate) AS day, SUM(p.amount) AS amount, COUNT(p) AS count " +
+           "FROM Payment p " +
+           "WHERE p.shop.shopId = :shopId " +
+           "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+           "AND (:method IS NULL OR p.paymentMethod = :method) " +
+           "AND (:recordedBy IS NULL OR p.recordedBy.id = :recordedBy) " +
+           "GROUP BY CAST(p.paymentDate AS LocalDate) ORDER BY CAST(p.paymentDate AS LocalDate)")
+    List<DayTotal> sumShopLedgerByDay(@Param("shopId") Long shopId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("method") PaymentMethod method,
+                                      @Param("recordedBy") Long recordedBy);
+
+    // Fill shop_id on payments recorded before the column existed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payment_history"))
+    @Query(value = "UPDATE payment_history SET shop_id = " +
+                   "(SELECT o.shop_id FROM orders o WHERE o.id = payment_history.order_id) " +
+                   "WHERE shop_id IS NULL", nativeQuery = true)
+    int backfillShopIds();
+
+    interface MethodTotal {
+        PaymentMethod getPaymentMethod();
+        Number getAmount();
+        Number getCount();
+    }
+
+    interface DayTotal {
+        LocalDate getDay();
+        Number getAmount();
+        Number getCount();
+    }
 }
@@ -0,0 +1,20 @@
+package com.stitcho.beta.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.PayrollEntry;
+
+@Repository
+public interface PayrollEntryRepository extends JpaRepository<PayrollEntry, Long> {
+    List<PayrollEntry> findBySnapshot_IdOrderByWorkerIdAscTaskTypeAsc(Long snapshotId);
+
+    // A worker's entries across all pay periods, newest period first
+    @Query("SELECT e FROM PayrollEntry e JOIN FETCH e.snapshot s " +
+           "WHERE e.workerId = :workerId ORDER BY s.periodStart DESC, s.id DESC, e.taskType ASC")
+    List<PayrollEntry> findWorkerEntries(@Param("workerId") Long workerId);
+}
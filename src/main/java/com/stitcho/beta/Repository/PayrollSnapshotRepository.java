@@ -0,0 +1,17 @@
+package com.stitcho.beta.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.PayrollSnapshot;
+
+@Repository
+public interface PayrollSnapshotRepository extends JpaRepository<PayrollSnapshot, Long> {
+    List<PayrollSnapshot> findByShop_ShopIdOrderByPeriodStartDescIdDesc(Long shopId);
+    Optional<PayrollSnapshot> findByIdAndShop_ShopId(Long id, Long shopId);
+    Optional<PayrollSnapshot> findByShop_ShopIdAndPeriodStartAndPeriodEnd(Long shopId, LocalDate periodStart, LocalDate periodEnd);
+}
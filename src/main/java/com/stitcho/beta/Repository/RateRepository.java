@@ -2,12 +2,20 @@ package com.stitcho.beta.Repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.Rate;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface RateRepository extends JpaRepository<Rate, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Rate> findByWorker_Id(Long workerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Rate> findByWorker_Shop_ShopId(Long shopId);
 }
@@ -1,10 +1,64 @@
 package com.stitcho.beta.Repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.Shop;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ShopRepository extends JpaRepository<Shop, Long> {
+
+    // Add one rating to the shop's running aggregate in a single statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shops"))
+    @Query(value = "UPDATE shops SET " +
+                   "rating_count = COALESCE(rating_count, 0) + 1, " +
+                   "rating_sum = COALESCE(rating_sum, 0) + :rating, " +
+                   "rating_1 = COALESCE(rating_1, 0) + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+                   "rating_2 = COALESCE(rating_2, 0) + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+                   "rating_3 = COALESCE(rating_3, 0) + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+                   "rating_4 = COALESCE(rating_4, 0) + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+                   "rating_5 = COALESCE(rating_5, 0) + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+                   "WHERE shop_id = :shopId", nativeQuery = true)
+    int addRating(@Param("shopId") Long shopId, @Param("rating") int rating);
+
+    // Recompute aggregates from shop_ratings for shops whose count or sum drifted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shops"))
+    @Query(value = "UPDATE shops SET " +
+                   "rating_count = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id), " +
+                   "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM shop_ratings r WHERE r.shop_id = shops.shop_id), " +
+                   "rating_1 = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id AND r.rating = 1), " +
+                   "rating_2 = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id AND r.rating = 2), " +
+                   "rating_3 = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id AND r.rating = 3), " +
+                   "rating_4 = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id AND r.rating = 4), " +
+                   "rating_5 = (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id AND r.rating = 5) " +
+                   "WHERE rating_count IS NULL OR rating_sum IS NULL " +
+                   "OR rating_count <> (SELECT COUNT(*) FROM shop_ratings r WHERE r.shop_id = shops.shop_id) " +
+                   "OR rating_sum <> (SELECT COALESCE(SUM(r.rating), 0) FROM shop_ratings r WHERE r.shop_id = shops.shop_id)",
+           nativeQuery = true)
+    int reconcileRatingStats();
+
+    // Shops with enough ratings to be ranked
+    @Query("SELECT s.shopId AS shopId, s.shopName AS shopName, s.shopAddress AS shopAddress, " +
+           "s.ratingStats.count AS ratingCount, s.ratingStats.sum AS ratingSum " +
+           "FROM Shop s WHERE s.ratingStats.count >= :minRatings")
+    List<ShopRatingRow> findRankableShops(@Param("minRatings") long minRatings);
+
+    interface ShopRatingRow {
+        Long getShopId();
+        String getShopName();
+        String getShopAddress();
+        Number getRatingCount();
+        Number getRatingSum();
+    }
 }
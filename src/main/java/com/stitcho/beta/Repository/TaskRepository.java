@@ -1,13 +1,19 @@
 package com.stitcho.beta.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stitcho.beta.entity.OrderStatus;
 import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.TaskStatus;
 import com.stitcho.beta.entity.TaskType;
@@ -19,4 +25,188 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByOrder_OrderIdAndStatus(Long orderId, TaskStatus status);
     List<Task> findByOrder_OrderIdAndTaskTypeAndStatus(Long orderId, TaskType taskType, TaskStatus status);
     List<Task> findByWorker_Id(Long workerId);
+
+    // Per-worker task totals for the completion-rate leaderboard, archived tasks included
+    // (cancelled tasks excluded)
+    @Query(value = "SELECT t.worker_id AS \"workerId\", COUNT(*) AS \"totalTasks\", " +
+                   "SUM(CASE WHEN t.status = :completed THEN 1 ELSE 0 END) AS \"completedTasks\" " +
+                   "FROM (SELECT worker_id, status FROM tasks " +
+                   "UNION ALL SELECT worker_id, status FROM archived_tasks) t " +
+                   "WHERE t.worker_id IS NOT NULL AND t.status <> :cancelled " +
+                   "GROUP BY t.worker_id HAVING COUNT(*) >= :minTasks", nativeQuery = true)
+    List<WorkerTaskTotals> countTasksPerWorker(@Param("completed") String completed,
+                                               @Param("cancelled") String cancelled,
+                                               @Param("minTasks") long minTasks);
+
+    // Task counts of a worker per status, archived tasks included (worker stats and performance)
+    @Query(value = "SELECT t.status AS \"status\", COUNT(*) AS \"tasks\" " +
+                   "FROM (SELECT status FROM tasks WHERE worker_id = :workerId " +
+                   "UNION ALL SELECT status FROM archived_tasks WHERE worker_id = :workerId) t " +
+                   "GROUP BY t.status", nativeQuery = true)
+    List<StatusCount> countTasksOfWorkerByStatus(@Param("workerId") Long workerId);
+
+    // Open task counts per worker and task type in a shop (worker load index)
+    @Query("SELECT t.worker.id AS workerId, t.taskType AS taskType, COUNT(t) AS openTasks " +
+           "FROM Task t WHERE t.worker.shop.shopId = :shopId AND t.status IN :statuses " +
+           "GROUP BY t.worker.id, t.taskType")
+    List<WorkerOpenTasks> countOpenTasksPerWorker(@Param("shopId") Long shopId,
+                                                  @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Average hours from start to completion per task type for a shop's recent tasks
+    @Query(value = "SELECT t.task_type AS \"taskType\", " +
+                   "AVG(EXTRACT(EPOCH FROM (t.completed_at - t.started_at)) / 3600.0) AS \"avgHours\" " +
+                   "FROM tasks t JOIN orders o ON o.id = t.order_id " +
+                   "WHERE o.shop_id = :shopId AND t.status = 'COMPLETED' " +
+                   "AND t.started_at IS NOT NULL AND t.completed_at >= :since " +
+                   "GROUP BY t.task_type", nativeQuery = true)
+    List<TaskTypeDuration> findAverageDurations(@Param("shopId") Long shopId,
+                                                @Param("since") LocalDateTime since);
+
+    // Pending auto-assigned tasks of a worker, earliest deadline first (rebalance candidates)
+    @Query("SELECT t FROM Task t WHERE t.worker.id = :workerId AND t.taskType = :taskType " +
+           "AND t.status = :status AND t.autoAssigned = true " +
+           "ORDER BY t.order.deadline ASC, t.taskId ASC")
+    List<Task> findRebalanceCandidates(@Param("workerId") Long workerId,
+                                       @Param("taskType") TaskType taskType,
+                                       @Param("status") TaskStatus status,
+                                       Pageable pageable);
+
+    // Actionable tasks of a worker: earliest order deadline first (no deadline last), then by
+    // production stage so cutting comes before stitching, ironing and finishing.
+    // The open-status filter is served by the partial index idx_tasks_worker_open.
+    @Query("SELECT t FROM Task t JOIN FETCH t.order o LEFT JOIN FETCH o.customer c LEFT JOIN FETCH c.user " +
+           "WHERE t.worker.id = :workerId AND t.status IN :statuses " +
+           "ORDER BY o.deadline ASC NULLS LAST, " +
+           "CASE t.taskType WHEN com.stitcho.beta.entity.TaskType.CUTTING THEN 0 " +
+           "WHEN com.stitcho.beta.entity.TaskType.STITCHING THEN 1 " +
+           "WHEN com.stitcho.beta.entity.TaskType.IRONING THEN 2 ELSE 3 END ASC, " +
+           "t.taskId ASC")
+    List<Task> findWorkerQueue(@Param("workerId") Long workerId,
+                               @Param("statuses") Collection<TaskStatus> statuses,
+                               Pageable pageable);
+
+    // Open stages of the given orders, to tell which queued tasks still wait on an earlier stage
+    @Query("SELECT DISTINCT t.order.orderId AS orderId, t.taskType AS taskType FROM Task t " +
+           "WHERE t.order.orderId IN :orderIds AND t.status IN :statuses")
+    List<OrderOpenStage> findOpenStages(@Param("orderIds") Collection<Long> orderIds,
+                                        @Param("statuses") Collection<TaskStatus> statuses);
+
+    // One chunk of a shop's tasks completed in [from, to), in id order after the given id (payroll)
+    @Query("SELECT t.taskId AS taskId, t.worker.id AS workerId, t.taskType AS taskType, " +
+           "t.completedAt AS completedAt FROM Task t " +
+           "WHERE t.order.shop.shopId = :shopId AND t.status = :status " +
+           "AND t.completedAt >= :from AND t.completedAt < :to AND t.taskId > :afterId " +
+           "ORDER BY t.taskId ASC")
+    List<CompletedTaskRow> findCompletedChunk(@Param("shopId") Long shopId,
+                                              @Param("status") TaskStatus status,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // One chunk of a shop's tasks completed since the given time, with start and end (turnaround seeding)
+    @Query("SELECT t.taskId AS taskId, t.worker.id AS workerId, t.taskType AS taskType, " +
+           "t.startedAt AS startedAt, t.completedAt AS completedAt FROM Task t " +
+           "WHERE t.order.shop.shopId = :shopId AND t.status = :status " +
+           "AND t.startedAt IS NOT NULL AND t.completedAt >= :since AND t.taskId > :afterId " +
+           "ORDER BY t.taskId ASC")
+    List<StageDurationRow> findStageDurationChunk(@Param("shopId") Long shopId,
+                                                  @Param("status") TaskStatus status,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    // Creation and last task completion of a shop's finished orders (turnaround seeding)
+    @Query("SELECT o.createdAt AS createdAt, MAX(t.completedAt) AS completedAt " +
+           "FROM Task t JOIN t.order o " +
+           "WHERE o.shop.shopId = :shopId AND o.status IN :statuses AND o.createdAt >= :since " +
+           "GROUP BY o.orderId, o.createdAt")
+    List<OrderLeadRow> findOrderLeadTimes(@Param("shopId") Long shopId,
+                                          @Param("statuses") Collection<OrderStatus> statuses,
+                                          @Param("since") LocalDateTime since);
+
+    // Open tasks of the given orders (at-risk detection)
+    @Query("SELECT t.taskId AS taskId, t.order.orderId AS orderId, t.worker.id AS workerId, " +
+           "t.taskType AS taskType, t.status AS status, t.startedAt AS startedAt, t.order.deadline AS deadline " +
+           "FROM Task t WHERE t.order.orderId IN :orderIds AND t.status IN :statuses")
+    List<OpenTaskRow> findOpenTasksOfOrders(@Param("orderIds") Collection<Long> orderIds,
+                                            @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Open tasks queued for the given workers (at-risk detection; idx_tasks_worker_open)
+    @Query("SELECT t.taskId AS taskId, t.order.orderId AS orderId, t.worker.id AS workerId, " +
+           "t.taskType AS taskType, t.status AS status, t.startedAt AS startedAt, t.order.deadline AS deadline " +
+           "FROM Task t WHERE t.worker.id IN :workerIds AND t.status IN :statuses")
+    List<OpenTaskRow> findOpenTasksOfWorkers(@Param("workerIds") Collection<Long> workerIds,
+                                             @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Orders with open tasks queued for the given workers
+    @Query("SELECT DISTINCT t.order.orderId FROM Task t WHERE t.worker.id IN :workerIds AND t.status IN :statuses")
+    List<Long> findOrderIdsQueuedFor(@Param("workerIds") Collection<Long> workerIds,
+                                     @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Tasks of the given orders with their workers (order board)
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.worker w LEFT JOIN FETCH w.user WHERE t.order.orderId IN :orderIds")
+    List<Task> findWithWorkerByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // Remove the given orders' tasks once they are archived
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.order.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    interface OpenTaskRow {
+        Long getTaskId();
+        Long getOrderId();
+        Long getWorkerId();
+        TaskType getTaskType();
+        TaskStatus getStatus();
+        LocalDateTime getStartedAt();
+        LocalDate getDeadline();
+    }
+
+    interface StageDurationRow {
+        Long getTaskId();
+        Long getWorkerId();
+        TaskType getTaskType();
+        LocalDateTime getStartedAt();
+        LocalDateTime getCompletedAt();
+    }
+
+    interface OrderLeadRow {
+        LocalDateTime getCreatedAt();
+        LocalDateTime getCompletedAt();
+    }
+
+    interface CompletedTaskRow {
+        Long getTaskId();
+        Long getWorkerId();
+        TaskType getTaskType();
+        LocalDateTime getCompletedAt();
+    }
+
+    interface OrderOpenStage {
+        Long getOrderId();
+        TaskType getTaskType();
+    }
+
+    interface WorkerOpenTasks {
+        Long getWorkerId();
+        TaskType getTaskType();
+        Number getOpenTasks();
+    }
+
+    interface TaskTypeDuration {
+        String getTaskType();
+        Number getAvgHours();
+    }
+
+    interface StatusCount {
+        String getStatus();
+        Number getTasks();
+    }
+
+    interface WorkerTaskTotals {
+        Long getWorkerId();
+        Number getTotalTasks();
+        Number getCompletedTasks();
+    }
 }
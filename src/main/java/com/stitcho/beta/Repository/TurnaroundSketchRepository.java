@@ -0,0 +1,13 @@
+package com.stitcho.beta.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.stitcho.beta.entity.TurnaroundSketch;
+
+@Repository
+public interface TurnaroundSketchRepository extends JpaRepository<TurnaroundSketch, Long> {
+    List<TurnaroundSketch> findByShopId(Long shopId);
+}
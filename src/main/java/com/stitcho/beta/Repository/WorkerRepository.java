@@ -3,13 +3,18 @@ package com.stitcho.beta.Repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.stitcho.beta.entity.Worker;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface WorkerRepository extends JpaRepository<Worker, Long> {
     List<Worker> findByShop_ShopId(Long shopId);
@@ -18,5 +23,38 @@ public interface WorkerRepository extends JpaRepository<Worker, Long> {
     List<Worker> findByShopIdAndUserNameContaining(@Param("shopId") Long shopId, @Param("name") String name);
     
     Optional<Worker> findByUser_Id(Long userId);
+
+    // Add one rating to the worker's running aggregate and refresh the average in a single statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workers"))
+    @Query(value = "UPDATE workers SET " +
+                   "ratings = (COALESCE(rating_sum, 0) + :rating) * 1.0 / (COALESCE(rating_count, 0) + 1), " +
+                   "rating_count = COALESCE(rating_count, 0) + 1, " +
+                   "rating_sum = COALESCE(rating_sum, 0) + :rating, " +
+                   "rating_1 = COALESCE(rating_1, 0) + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+                   "rating_2 = COALESCE(rating_2, 0) + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+                   "rating_3 = COALESCE(rating_3, 0) + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+                   "rating_4 = COALESCE(rating_4, 0) + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+                   "rating_5 = COALESCE(rating_5, 0) + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+                   "WHERE id = :workerId", nativeQuery = true)
+    int addRating(@Param("workerId") Long workerId, @Param("rating") int rating);
+
+    // Recompute aggregates from worker_ratings for workers whose count or sum drifted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workers"))
+    @Query(value = "UPDATE workers SET " +
+                   "rating_count = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id), " +
+                   "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM worker_ratings r WHERE r.worker_id = workers.id), " +
+                   "ratings = (SELECT AVG(r.rating * 1.0) FROM worker_ratings r WHERE r.worker_id = workers.id), " +
+                   "rating_1 = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id AND r.rating = 1), " +
+                   "rating_2 = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id AND r.rating = 2), " +
+                   "rating_3 = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id AND r.rating = 3), " +
+                   "rating_4 = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id AND r.rating = 4), " +
+                   "rating_5 = (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id AND r.rating = 5) " +
+                   "WHERE rating_count IS NULL OR rating_sum IS NULL " +
+                   "OR rating_count <> (SELECT COUNT(*) FROM worker_ratings r WHERE r.worker_id = workers.id) " +
+                   "OR rating_sum <> (SELECT COALESCE(SUM(r.rating), 0) FROM worker_ratings r WHERE r.worker_id = workers.id)",
+           nativeQuery = true)
+    int reconcileRatingStats();
 }
 
@@ -0,0 +1,90 @@
+package com.stitcho.beta.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
+import com.stitcho.beta.Repository.PaymentRepository;
+import com.stitcho.beta.service.RatingService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off data fixes that Hibernate's schema update can't express.
+ * Every step is idempotent and runs in its own transaction; a failing step
+ * is logged and does not stop the application from starting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseMaintenanceRunner implements ApplicationRunner {
+    private final PaymentRepository paymentRepository;
+    private final OrderTaskCounterRepository orderTaskCounterRepository;
+    private final RatingService ratingService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        runStep("backfill payment_history.shop_id", () -> {
+            int updated = paymentRepository.backfillShopIds();
+            if (updated > 0) {
+                log.info("Backfilled shop_id on {} payments", updated);
+            }
+        });
+
+        // Seeds the rating aggregates on first start and catches drift since the last run
+        runStep("reconcile rating aggregates", ratingService::reconcileRatingStats);
+
+        // Rows from before @Version was added; Hibernate can't version-check a NULL
+        runStep("initialize orders/tasks version", () -> {
+            jdbcTemplate.update("UPDATE orders SET version = 0 WHERE version IS NULL");
+            jdbcTemplate.update("UPDATE tasks SET version = 0 WHERE version IS NULL");
+        });
+
+        // Orders from before updated_at existed; the archiver's cutoff would never match NULL
+        runStep("backfill orders.updated_at", () -> {
+            int updated = jdbcTemplate.update("UPDATE orders SET updated_at = created_at " +
+                    "WHERE updated_at IS NULL AND created_at IS NOT NULL");
+            if (updated > 0) {
+                log.info("Backfilled updated_at on {} orders", updated);
+            }
+        });
+
+        runStep("backfill order_task_counters", () -> {
+            int created = orderTaskCounterRepository.backfillMissing();
+            if (created > 0) {
+                log.info("Created {} order task counters", created);
+            }
+        });
+
+        // Partial index for the worker queue: only open tasks are indexed, so it stays
+        // small no matter how much history a worker has (PostgreSQL only)
+        runStep("create idx_tasks_worker_open", () -> jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_tasks_worker_open ON tasks (worker_id, task_type) " +
+                "WHERE status IN ('PENDING', 'IN_PROGRESS')"));
+
+        // Open orders by deadline, for the at-risk order list (PostgreSQL only)
+        runStep("create idx_orders_open_deadline", () -> jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_orders_open_deadline ON orders (shop_id, deadline) " +
+                "WHERE status NOT IN ('COMPLETED', 'DELIVERED', 'CANCELLED')"));
+
+        // Open orders not yet checked for deadline risk; empty once the detector has caught up
+        // (PostgreSQL only, same condition as OrderRepository.findRiskUnchecked)
+        runStep("create idx_orders_risk_unchecked", () -> jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_orders_risk_unchecked ON orders (id) " +
+                "WHERE at_risk IS NULL AND status NOT IN ('COMPLETED', 'DELIVERED', 'CANCELLED')"));
+    }
+
+    private void runStep(String name, Runnable step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> step.run());
+        } catch (RuntimeException e) {
+            log.warn("Database maintenance step '{}' failed: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.stitcho.beta.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
+import com.stitcho.beta.Repository.RoleRepository;
+import com.stitcho.beta.entity.DressType;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.PaymentMethod;
+import com.stitcho.beta.entity.Role;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.service.RatingService;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds a synthetic multi-tenant dataset for load and performance testing.
+ * Only active with the "datagen" profile:
+ *
+ *   java -jar beta.jar --spring.profiles.active=datagen \
+ *       --app.datagen.shops=1000 --app.datagen.orders-per-shop-per-year=5000 --app.datagen.years=2
+ *
+ * writes shops with owners and workers, customers with measurement profiles,
+ * and years of orders with items, tasks, payments and ratings (10M orders
+ * with the settings above). Output is fully determined by app.datagen.seed.
+ * Shop volume follows a Zipf curve (app.datagen.shop-skew), a shop's orders
+ * favour its regular customers (app.datagen.customer-skew), and the Oct-Feb
+ * wedding and festival season is busier.
+ *
+ * Rows are written with batched JDBC inserts, one transaction per shop, and
+ * appended after the existing data; add reWriteBatchedInserts=true to the
+ * PostgreSQL URL for multi-row inserts. Every user can log in with
+ * app.datagen.password. Task counters and rating aggregates are rebuilt at the end.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+    private static final String[] ITEM_NAMES = {"Shirt", "Pant", "Kurta", "Blazer", "Sherwani", "Blouse",
+            "Lehenga", "Suit"};
+    private static final String[] FABRICS = {"Cotton", "Linen", "Silk", "Wool", "Polyester", "Khadi"};
+    private static final String[] MEASUREMENT_KEYS = {"chest", "waist", "hip", "shoulder", "sleeve", "length",
+            "neck", "bicep", "wrist", "inseam", "thigh", "knee"};
+    private static final DressType[] PROFILE_TYPES = {DressType.SHIRT, DressType.PANT, DressType.KURTA,
+            DressType.COAT};
+    private static final PaymentMethod[] PAYMENT_METHODS = {PaymentMethod.UPI, PaymentMethod.UPI,
+            PaymentMethod.CASH, PaymentMethod.CASH, PaymentMethod.CARD, PaymentMethod.BANK_TRANSFER};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final OrderTaskCounterRepository orderTaskCounterRepository;
+    private final RatingService ratingService;
+    private final ApplicationContext applicationContext;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.shops:50}")
+    private int shops;
+
+    @Value("${app.datagen.workers-per-shop:8}")
+    private int workersPerShop;
+
+    @Value("${app.datagen.customers-per-shop:400}")
+    private int customersPerShop;
+
+    @Value("${app.datagen.orders-per-shop-per-year:1200}")
+    private int ordersPerShopPerYear;
+
+    @Value("${app.datagen.years:2}")
+    private int years;
+
+    @Value("${app.datagen.shop-skew:0.8}")
+    private double shopSkew;
+
+    @Value("${app.datagen.customer-skew:1.0}")
+    private double customerSkew;
+
+    @Value("${app.datagen.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${app.datagen.password:password123}")
+    private String password;
+
+    @Value("${app.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private Ids ids;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.currentTimeMillis();
+        ids = new Ids();
+        long ownerRole = roleId("owner");
+        long workerRole = roleId("worker");
+        long customerRole = roleId("customer");
+        String passwordHash = passwordEncoder.encode(password);
+
+        double[] shopOrders = zipfShares(shops, shopSkew, (double) ordersPerShopPerYear * years * shops);
+        long totalOrders = 0;
+        for (int shop = 0; shop < shops; shop++) {
+            int orders = (int) Math.round(shopOrders[shop]);
+            int index = shop;
+            transactionTemplate.executeWithoutResult(status -> new ShopWriter(index, orders,
+                    ownerRole, workerRole, customerRole, passwordHash).write());
+            totalOrders += orders;
+            log.info("Generated shop {}/{} with {} orders ({} total)", shop + 1, shops, orders, totalOrders);
+        }
+
+        ids.restartIdentities();
+        transactionTemplate.executeWithoutResult(status -> orderTaskCounterRepository.backfillMissing());
+        ratingService.reconcileRatingStats();
+        // Shops, owners and workers went in through JDBC, behind the second-level cache's back
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        log.info("Generated {} shops and {} orders in {} s", shops, totalOrders,
+                (System.currentTimeMillis() - started) / 1000);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private long roleId(String roleName) {
+        Role role = roleRepository.findByRoleName(roleName);
+        if (role == null) {
+            role = new Role();
+            role.setRoleName(roleName);
+            role = roleRepository.save(role);
+        }
+        return role.getId();
+    }
+
+    // Sizes proportional to 1/rank^skew, scaled to the given total
+    private static double[] zipfShares(int count, double skew, double total) {
+        double[] shares = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            shares[i] = 1.0 / Math.pow(i + 1, skew);
+            sum += shares[i];
+        }
+        for (int i = 0; i < count; i++) {
+            shares[i] = shares[i] / sum * total;
+        }
+        return shares;
+    }
+
+    /**
+     * Writes one shop and everything in it
+     */
+    private final class ShopWriter {
+        private final SplittableRandom random;
+        private final int shopIndex;
+        private final int orderCount;
+        private final long ownerRole;
+        private final long workerRole;
+        private final long customerRole;
+        private final String passwordHash;
+        private final LocalDateTime now = LocalDateTime.now();
+
+        private final Batch users = new Batch("INSERT INTO users (id, name, email, password, role_id, contact_number) " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+        private final Batch customers = new Batch("INSERT INTO customers (id, user_id, shop_id, created_at) " +
+                "VALUES (?, ?, ?, ?)", users);
+        private final Batch profiles = new Batch("INSERT INTO measurement_profiles (id, customer_id, dress_type, " +
+                "notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", customers);
+        private final Batch measurements = new Batch("INSERT INTO measurement_values (id, profile_id, " +
+                "measurement_key, measurement_value, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", profiles);
+        private final Batch orders = new Batch("INSERT INTO orders (id, customer_id, shop_id, deadline, total_price, " +
+                "paid_amount, payment_status, notes, status, created_at, updated_at, at_risk, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0)", customers);
+        private final Batch items = new Batch("INSERT INTO order_items (item_id, order_id, item_name, quantity, " +
+                "price, fabric_type) VALUES (?, ?, ?, ?, ?, ?)", orders);
+        private final Batch tasks = new Batch("INSERT INTO tasks (id, order_id, worker_id, task_type, status, " +
+                "assigned_at, started_at, completed_at, auto_assigned, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", orders);
+        private final Batch payments = new Batch("INSERT INTO payment_history (payment_id, order_id, shop_id, amount, " +
+                "payment_method, payment_date, note, recorded_by, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+        private final Batch workerRatings = new Batch("INSERT INTO worker_ratings (id, worker_id, customer_id, " +
+                "order_id, rating, review, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", orders);
+        private final Batch shopRatings = new Batch("INSERT INTO shop_ratings (id, shop_id, customer_id, order_id, " +
+                "rating, review, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", orders);
+
+        private ShopWriter(int shopIndex, int orderCount, long ownerRole, long workerRole, long customerRole,
+                           String passwordHash) {
+            this.random = new SplittableRandom(seed * 1_000_003L + shopIndex);
+            this.shopIndex = shopIndex;
+            this.orderCount = orderCount;
+            this.ownerRole = ownerRole;
+            this.workerRole = workerRole;
+            this.customerRole = customerRole;
+            this.passwordHash = passwordHash;
+        }
+
+        private void write() {
+            LocalDateTime opened = now.minusYears(years).minusDays(random.nextInt(90));
+
+            long shopId = ids.shops++;
+            jdbcTemplate.update("INSERT INTO shops (shop_id, shop_name, shop_email, shop_mobile_no, shop_address, " +
+                    "gst_number) VALUES (?, ?, ?, ?, ?, ?)", shopId, "Datagen Tailors " + (shopIndex + 1),
+                    "shop" + shopId + "@datagen.local", phone(), "Market Road " + (shopIndex + 1), null);
+
+            long ownerUserId = user("Owner " + (shopIndex + 1), ownerRole);
+            users.flush();
+            jdbcTemplate.update("INSERT INTO owners (owner_id, shop_id, user_id) VALUES (?, ?, ?)",
+                    ids.owners++, shopId, ownerUserId);
+
+            // Busier shops have more staff and more customers
+            double scale = (double) orderCount / ((double) ordersPerShopPerYear * years);
+            long[] workerIds = new long[(int) Math.max(2, Math.round(workersPerShop * Math.sqrt(scale)))];
+            for (int i = 0; i < workerIds.length; i++) {
+                long userId = user("Worker " + (i + 1) + " of shop " + (shopIndex + 1), workerRole);
+                users.flush();
+                workerIds[i] = ids.workers++;
+                jdbcTemplate.update("INSERT INTO workers (id, user_id, shop_id, work_type, experience, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", workerIds[i], userId, shopId,
+                        TaskType.values()[i % TaskType.values().length].name(), 1 + random.nextInt(20), opened);
+            }
+
+            int customerCount = (int) Math.max(10, Math.round(customersPerShop * scale));
+            long[] customerIds = new long[customerCount];
+            for (int i = 0; i < customerCount; i++) {
+                customerIds[i] = ids.customers++;
+                LocalDateTime joined = between(opened, now);
+                customers.add(customerIds[i], user("Customer " + (i + 1) + " of shop " + (shopIndex + 1), customerRole),
+                        shopId, joined);
+                writeProfiles(customerIds[i], joined);
+            }
+            measurements.flush();
+
+            double[] customerWeights = cumulative(zipfShares(customerCount, customerSkew, 1.0));
+            for (int i = 0; i < orderCount; i++) {
+                long customerId = customerIds[pick(customerWeights)];
+                writeOrder(shopId, customerId, workerIds, ownerUserId, orderDate(opened));
+            }
+            orders.flush();
+            items.flush();
+            tasks.flush();
+            payments.flush();
+            workerRatings.flush();
+            shopRatings.flush();
+        }
+
+        private void writeProfiles(long customerId, LocalDateTime joined) {
+            int count = random.nextInt(PROFILE_TYPES.length + 1);
+            for (int p = 0; p < count; p++) {
+                long profileId = ids.profiles++;
+                profiles.add(profileId, customerId, PROFILE_TYPES[p].name(), null, joined, joined);
+                for (String key : MEASUREMENT_KEYS) {
+                    BigDecimal value = BigDecimal.valueOf(100 + random.nextInt(1100), 1);
+                    measurements.add(ids.measurements++, profileId, key, value, joined, joined);
+                }
+            }
+        }
+
+        private void writeOrder(long shopId, long customerId, long[] workerIds, long ownerUserId,
+                                LocalDateTime createdAt) {
+            long orderId = ids.orders++;
+            LocalDate deadline = createdAt.toLocalDate().plusDays(4 + random.nextInt(18));
+            OrderStatus status = orderStatus(createdAt, deadline);
+
+            // Children are collected first: the order row has to be queued before them
+            List<Object[]> orderItems = new ArrayList<>();
+            double total = 0;
+            for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                int quantity = 1 + (random.nextInt(5) == 0 ? random.nextInt(4) : 0);
+                double price = 300 + 50 * random.nextInt(60);
+                total += quantity * price;
+                orderItems.add(new Object[] {ids.items++, orderId, ITEM_NAMES[random.nextInt(ITEM_NAMES.length)],
+                        quantity, price, FABRICS[random.nextInt(FABRICS.length)]});
+            }
+
+            // Advance at booking, the balance on delivery; open orders are sometimes paid up front
+            List<Object[]> orderPayments = new ArrayList<>();
+            double paid = 0;
+            if (status != OrderStatus.CANCELLED) {
+                if (random.nextInt(3) > 0) {
+                    double advance = Math.round(total * (0.2 + 0.3 * random.nextDouble()));
+                    orderPayments.add(payment(orderId, shopId, advance, createdAt, "Advance", ownerUserId));
+                    paid += advance;
+                }
+                if (status == OrderStatus.DELIVERED || random.nextInt(10) == 0) {
+                    LocalDateTime paidAt = status == OrderStatus.DELIVERED
+                            ? deadline.atTime(10 + random.nextInt(9), random.nextInt(60)) : createdAt;
+                    orderPayments.add(payment(orderId, shopId, total - paid, min(paidAt, now), "Balance",
+                            ownerUserId));
+                    paid = total;
+                }
+            }
+            String paymentStatus = paid >= total ? "PAID" : paid > 0 ? "PARTIAL" : "PENDING";
+
+            List<Object[]> orderTasks = new ArrayList<>();
+            LocalDateTime updatedAt = createdAt;
+            long[] orderWorkers = new long[TaskType.values().length];
+            LocalDateTime stageStart = createdAt.plusHours(2 + random.nextInt(22));
+            for (TaskType type : TaskType.values()) {
+                long workerId = workerIds[random.nextInt(workerIds.length)];
+                orderWorkers[type.ordinal()] = workerId;
+                TaskStatus taskStatus = taskStatus(status, type);
+                LocalDateTime startedAt = null;
+                LocalDateTime completedAt = null;
+                if (taskStatus != TaskStatus.PENDING) {
+                    startedAt = min(stageStart, now);
+                    if (taskStatus == TaskStatus.COMPLETED) {
+                        completedAt = min(startedAt.plusMinutes(stageMinutes(type)), now);
+                        stageStart = completedAt.plusMinutes(30 + random.nextInt(12 * 60));
+                    }
+                    updatedAt = max(updatedAt, completedAt != null ? completedAt : startedAt);
+                }
+                orderTasks.add(new Object[] {ids.tasks++, orderId, workerId, type.name(), taskStatus.name(),
+                        createdAt, startedAt, completedAt, random.nextBoolean(),
+                        completedAt != null ? completedAt : createdAt});
+            }
+
+            orders.add(orderId, customerId, shopId, deadline, total, paid, paymentStatus,
+                    random.nextInt(6) == 0 ? "Alteration: " + ITEM_NAMES[random.nextInt(ITEM_NAMES.length)] : null,
+                    status.name(), createdAt, updatedAt);
+            orderItems.forEach(items::add);
+            orderPayments.forEach(payments::add);
+            orderTasks.forEach(tasks::add);
+
+            if (status == OrderStatus.DELIVERED && random.nextInt(10) < 3) {
+                LocalDateTime ratedAt = min(deadline.plusDays(1 + random.nextInt(5)).atStartOfDay(), now);
+                shopRatings.add(ids.shopRatings++, shopId, customerId, orderId, rating(), null, ratedAt);
+                long[] rated = new long[orderWorkers.length];
+                int ratedCount = 0;
+                for (long workerId : orderWorkers) {
+                    if (!contains(rated, ratedCount, workerId)) {
+                        rated[ratedCount++] = workerId;
+                        workerRatings.add(ids.workerRatings++, workerId, customerId, orderId, rating(), null, ratedAt);
+                    }
+                }
+            }
+        }
+
+        // Older orders are closed; recent ones are spread over the stages
+        private OrderStatus orderStatus(LocalDateTime createdAt, LocalDate deadline) {
+            if (random.nextInt(100) < 3) {
+                return OrderStatus.CANCELLED;
+            }
+            if (deadline.isBefore(now.toLocalDate().minusDays(7))) {
+                return random.nextInt(50) == 0 ? OrderStatus.COMPLETED : OrderStatus.DELIVERED;
+            }
+            OrderStatus[] open = {OrderStatus.NEW, OrderStatus.CUTTING, OrderStatus.STITCHING, OrderStatus.IRONING,
+                    OrderStatus.COMPLETED};
+            long age = Duration.between(createdAt, now).toDays();
+            int stage = (int) Math.min(open.length - 1, age / 3 + random.nextInt(2));
+            return open[stage];
+        }
+
+        // Stages before the order's current stage are done, later ones pending
+        private TaskStatus taskStatus(OrderStatus orderStatus, TaskType type) {
+            switch (orderStatus) {
+                case COMPLETED:
+                case DELIVERED:
+                    return TaskStatus.COMPLETED;
+                case NEW:
+                case CANCELLED:
+                    return TaskStatus.PENDING;
+                default:
+                    int current = orderStatus.ordinal() - OrderStatus.CUTTING.ordinal();
+                    if (type.ordinal() < current) {
+                        return TaskStatus.COMPLETED;
+                    }
+                    if (type.ordinal() == current) {
+                        return random.nextBoolean() ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+                    }
+                    return TaskStatus.PENDING;
+            }
+        }
+
+        private long stageMinutes(TaskType type) {
+            long base;
+            switch (type) {
+                case STITCHING:
+                    base = 240;
+                    break;
+                case CUTTING:
+                    base = 60;
+                    break;
+                default:
+                    base = 40;
+            }
+            // Long tail: most tasks near the base, some many times longer
+            return (long) (base * (0.5 + -Math.log(1 - random.nextDouble())));
+        }
+
+        private LocalDateTime orderDate(LocalDateTime opened) {
+            while (true) {
+                LocalDateTime candidate = between(opened, now);
+                int month = candidate.getMonthValue();
+                boolean season = month >= 10 || month <= 2;
+                if (season || random.nextInt(3) < 2) {
+                    return candidate;
+                }
+            }
+        }
+
+        private Object[] payment(long orderId, long shopId, double amount, LocalDateTime paidAt, String note,
+                                 long recordedBy) {
+            return new Object[] {ids.payments++, orderId, shopId, amount,
+                    PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)].name(), paidAt, note, recordedBy,
+                    paidAt, paidAt};
+        }
+
+        private long user(String name, long roleId) {
+            long userId = ids.users++;
+            users.add(userId, name, "user" + userId + "@datagen.local", passwordHash, roleId, phone());
+            return userId;
+        }
+
+        // Mostly happy customers
+        private int rating() {
+            int roll = random.nextInt(100);
+            return roll < 55 ? 5 : roll < 85 ? 4 : roll < 95 ? 3 : roll < 98 ? 2 : 1;
+        }
+
+        private String phone() {
+            return "9" + (100_000_000L + random.nextLong(900_000_000L));
+        }
+
+        private LocalDateTime between(LocalDateTime from, LocalDateTime to) {
+            long seconds = Duration.between(from, to).getSeconds();
+            return from.plusSeconds(seconds > 0 ? random.nextLong(seconds) : 0);
+        }
+
+        private int pick(double[] cumulative) {
+            double roll = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < roll) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static double[] cumulative(double[] shares) {
+        double[] cumulative = new double[shares.length];
+        double sum = 0;
+        for (int i = 0; i < shares.length; i++) {
+            sum += shares[i];
+            cumulative[i] = sum;
+        }
+        cumulative[shares.length - 1] = 1.0;
+        return cumulative;
+    }
+
+    private static boolean contains(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Rows of one INSERT, sent as a JDBC batch every batch-size rows. The
+     * batches of referenced tables are sent first so foreign keys resolve.
+     */
+    private final class Batch {
+        private final String sql;
+        private final Batch[] parents;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch(String sql, Batch... parents) {
+            this.sql = sql;
+            this.parents = parents;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            for (Batch parent : parents) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Next id of each table, continuing after the existing rows. Ids are set
+     * explicitly so children can reference parents without reading keys back;
+     * the identity columns are moved past them at the end.
+     */
+    private final class Ids {
+        private long users = next("users", "id");
+        private long shops = next("shops", "shop_id");
+        private long owners = next("owners", "owner_id");
+        private long workers = next("workers", "id");
+        private long customers = next("customers", "id");
+        private long profiles = next("measurement_profiles", "id");
+        private long measurements = next("measurement_values", "id");
+        private long orders = next("orders", "id");
+        private long items = next("order_items", "item_id");
+        private long tasks = next("tasks", "id");
+        private long payments = next("payment_history", "payment_id");
+        private long workerRatings = next("worker_ratings", "id");
+        private long shopRatings = next("shop_ratings", "id");
+
+        private long next(String table, String column) {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+            return (max != null ? max : 0L) + 1;
+        }
+
+        private void restartIdentities() {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            restart(database, "users", "id", users);
+            restart(database, "shops", "shop_id", shops);
+            restart(database, "owners", "owner_id", owners);
+            restart(database, "workers", "id", workers);
+            restart(database, "customers", "id", customers);
+            restart(database, "measurement_profiles", "id", profiles);
+            restart(database, "measurement_values", "id", measurements);
+            restart(database, "orders", "id", orders);
+            restart(database, "order_items", "item_id", items);
+            restart(database, "tasks", "id", tasks);
+            restart(database, "payment_history", "payment_id", payments);
+            restart(database, "worker_ratings", "id", workerRatings);
+            restart(database, "shop_ratings", "id", shopRatings);
+        }
+
+        private void restart(String database, String table, String column, long next) {
+            if ("PostgreSQL".equalsIgnoreCase(database)) {
+                jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, ?), ?, false)", Long.class,
+                        table, column, next);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.stitcho.beta.config;
+
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SMTP settings for the JavaMailSender that NotificationDispatcher sends the
+ * outbox through. The defaults in mail.properties point at a local Mailpit
+ * (see docker/mailpit/); set spring.mail.* to use a real server. Outside the
+ * dev and test profiles a local mail host is logged as a warning at startup,
+ * since customer emails would then never leave the machine.
+ */
+@Slf4j
+@Configuration
+@PropertySource("classpath:mail.properties")
+@RequiredArgsConstructor
+public class MailConfig {
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "::1");
+
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnOnLocalMailHost() {
+        String host = environment.getProperty("spring.mail.host");
+        if (host != null && LOCAL_HOSTS.contains(host.trim().toLowerCase())
+                && !environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+            log.warn("spring.mail.host is {}:{} (the Mailpit default); outbox emails will not reach customers "
+                    + "until spring.mail.host points at a real SMTP server", host,
+                    environment.getProperty("spring.mail.port"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.stitcho.beta.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import com.stitcho.beta.security.JwtAuthenticationFilter;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Application metrics, scraped by Prometheus from /actuator/prometheus on the
+ * localhost-only management port (see monitoring/). Spring Boot binds the
+ * Hikari pool, the JVM and, when enabled, Hibernate statistics; this adds
+ * the caller's role to http.server.requests and times every repository
+ * method as repository.invocations. JWT verification and password hashing
+ * are timed where they happen (JwtUtil, TimedPasswordEncoder). Defaults live
+ * in metrics.properties.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    @Bean
+    DefaultServerRequestObservationConvention roleTaggingRequestConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object role = context.getCarrier().getAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("role", role != null ? role.toString().toLowerCase() : "none"));
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    RepositoryMethodInvocationListener listener = invocation -> Timer.builder("repository.invocations")
+                            .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+                            .tag("method", invocation.getMethod().getName())
+                            .tag("state", invocation.getResult() != null
+                                    ? invocation.getResult().getState().name() : "UNKNOWN")
+                            .register(meterRegistry.getObject())
+                            .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+}
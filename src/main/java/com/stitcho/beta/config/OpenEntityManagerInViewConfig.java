@@ -0,0 +1,35 @@
+package com.stitcho.beta.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-session-in-view (spring.jpa.open-in-view, on by default) for every
+ * request except the dashboards; takes the place of the interceptor Spring
+ * Boot would register.
+ *
+ * A request's session keeps the first connection it uses until the response
+ * is written. Dashboards wait on DashboardExecutor sections that each take a
+ * connection of their own, so without the session in view the lookups before
+ * the fan-out hand their connection back as soon as they are done.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    private static final String[] DASHBOARD_PATHS = {"/api/shops/me/analytics", "/api/admin/dashboard"};
+
+    @Bean
+    OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(DASHBOARD_PATHS);
+    }
+}
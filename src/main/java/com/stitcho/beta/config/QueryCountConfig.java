@@ -0,0 +1,52 @@
+package com.stitcho.beta.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.stitcho.beta.util.QueryCounter;
+import com.stitcho.beta.util.QueryCountingDataSource;
+
+/**
+ * Statement, row and entity counting for QueryCounter: wraps the DataSource
+ * so every statement and row passes through it, and registers a Hibernate
+ * interceptor that counts entity loads. Off unless app.query-count.enabled=true,
+ * which the dev profile sets (application-dev.properties); the wrappers cost
+ * every statement and row, so production leaves them out.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-count.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityLoadCounter() {
+        Interceptor interceptor = new Interceptor() {
+            @Override
+            public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+                QueryCounter.entityLoaded();
+                return false;
+            }
+        };
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+    }
+}
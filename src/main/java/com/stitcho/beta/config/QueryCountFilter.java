@@ -0,0 +1,70 @@
+package com.stitcho.beta.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.stitcho.beta.util.QueryCounter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the statements, rows and entities of each HTTP request, tagged with
+ * the endpoint's mapping (e.g. "GET /api/orders/{orderId}"). Every request is
+ * logged at debug; requests over the statement budget, or running the same
+ * SQL over and over (an N+1), are logged at warn with that SQL.
+ *
+ * The count is left on the request as STATS_ATTRIBUTE for tests to assert on.
+ * Enabled together with QueryCountConfig by app.query-count.enabled=true.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.query-count.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String STATS_ATTRIBUTE = QueryCountFilter.class.getName() + ".stats";
+
+    @Value("${app.query-count.warn-statements:50}")
+    private int warnStatements;
+
+    @Value("${app.query-count.warn-repeats:10}")
+    private int warnRepeats;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.Stats stats = QueryCounter.stop();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            report(endpointOf(request), stats);
+        }
+    }
+
+    private void report(String endpoint, QueryCounter.Stats stats) {
+        if (stats.getStatements() > warnStatements || stats.getMostRepeatedCount() > warnRepeats) {
+            log.warn("{}: {}; most repeated ({}x): {}", endpoint, stats, stats.getMostRepeatedCount(),
+                    stats.getMostRepeatedSql());
+        } else {
+            log.debug("{}: {}", endpoint, stats);
+        }
+    }
+
+    // The handler's mapping pattern, so /api/orders/1 and /api/orders/2 are one endpoint
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,87 @@
+package com.stitcho.beta.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.stitcho.beta.BetaApplication;
+import com.stitcho.beta.util.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read replica for the application's read-only transactions (service methods
+ * marked @Transactional(readOnly = true), dashboard sections), enabled by setting
+ * app.datasource.replica.url. The primary stays the DataSource Spring Boot
+ * builds from spring.datasource.*; it is wrapped together with a replica pool
+ * in a ReplicaRoutingDataSource. Local setup: docker/replica/.
+ *
+ * The target is picked once per physical connection, so every transaction must
+ * fetch its own: routing requires spring.jpa.open-in-view=false (startup fails
+ * otherwise), and Hibernate releases the connection when a transaction ends
+ * instead of holding it for the rest of the session.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            // A request-wide session keeps the first transaction's connection, and with it its target
+            throw new IllegalStateException("app.datasource.replica.url requires spring.jpa.open-in-view=false");
+        }
+        return new ReplicaRoutingPostProcessor(environment);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Runs before the other DataSource wrappers, so they see replica traffic too
+    static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        private ReplicaRoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            return new ReplicaRoutingDataSource(primary, replicaPool(), BetaApplication.class.getPackageName() + ".",
+                    environment.getProperty("app.datasource.replica.max-lag-seconds", Double.class, 5.0),
+                    environment.getProperty("app.datasource.replica.sticky-seconds", Long.class, 10L),
+                    environment.getProperty("app.datasource.replica.lag-check-ms", Long.class, 2000L));
+        }
+
+        private DataSource replicaPool() {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(environment.getRequiredProperty("app.datasource.replica.url"));
+            replica.setUsername(environment.getProperty("app.datasource.replica.username",
+                    environment.getProperty("spring.datasource.username")));
+            replica.setPassword(environment.getProperty("app.datasource.replica.password",
+                    environment.getProperty("spring.datasource.password")));
+            replica.setMaximumPoolSize(environment.getProperty("app.datasource.replica.pool-size", Integer.class, 10));
+            replica.setReadOnly(true);
+            return replica;
+        }
+    }
+}
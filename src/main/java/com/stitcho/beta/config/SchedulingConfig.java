@@ -0,0 +1,12 @@
+package com.stitcho.beta.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (rating reconciliation, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,89 @@
+package com.stitcho.beta.config;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level and query cache, kept in process by Caffeine, for
+ * the entities read on nearly every request and rarely written: Role, Shop,
+ * Owner and Rate.
+ *
+ * Every region is declared here with its own TTL and size limit
+ * (app.l2-cache.<region>.ttl-seconds / max-entries); Hibernate refuses to
+ * start if an entity or query names a region that isn't. Writes through the
+ * entities update the cache when their transaction commits. Native updates
+ * of these tables must name the table they touch (HINT_NATIVE_SPACES, see
+ * ShopRepository), otherwise Hibernate clears every region. The timestamps
+ * region must never expire before the query results it guards, so it has
+ * neither TTL nor size limit; it holds one entry per table.
+ *
+ * Disable with app.l2-cache.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.l2-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+    public static final String ROLES = "roles";
+    public static final String SHOPS = "shops";
+    public static final String OWNERS = "owners";
+    public static final String RATES = "rates";
+
+    private static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        createRegion(cacheManager, environment, ROLES, 3600, 100);
+        createRegion(cacheManager, environment, SHOPS, 600, 10_000);
+        createRegion(cacheManager, environment, OWNERS, 600, 10_000);
+        createRegion(cacheManager, environment, RATES, 600, 50_000);
+        createRegion(cacheManager, environment, QUERY_RESULTS, 300, 50_000);
+
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(UPDATE_TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Cached state is immutable once disassembled, so entries are kept by reference
+    private static void createRegion(CacheManager cacheManager, Environment environment, String region,
+                                     long defaultTtlSeconds, long defaultMaxEntries) {
+        String prefix = "app.l2-cache." + region + ".";
+        long ttlSeconds = environment.getProperty(prefix + "ttl-seconds", Long.class, defaultTtlSeconds);
+        long maxEntries = environment.getProperty(prefix + "max-entries", Long.class, defaultMaxEntries);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.stitcho.beta.security.TimedPasswordEncoder;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -23,7 +25,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
@@ -49,6 +51,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/measurements/**").permitAll()
                         .requestMatchers("/api/ratings/**").permitAll()
                         .requestMatchers("/api/admin/**").permitAll()
+                        .requestMatchers("/api/leaderboards/**").permitAll()
+                        .requestMatchers("/api/sync/**").permitAll()
+                        // Only served on the localhost management port (metrics.properties)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         
                         // All other requests require authentication
                         .anyRequest().authenticated()
@@ -0,0 +1,74 @@
+package com.stitcho.beta.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.LeaderboardResponse;
+import com.stitcho.beta.service.LeaderboardService;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🏆 LEADERBOARD CONTROLLER
+ * Platform-wide rankings for shop discovery and the admin dashboard (any logged-in user)
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Top-rated shops
+     * GET /api/leaderboards/shops/top-rated?limit=10
+     */
+    @GetMapping("/shops/top-rated")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getTopRatedShops(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return getBoard(authHeader, LeaderboardService.TOP_RATED_SHOPS, limit);
+    }
+
+    /**
+     * Shops with the fastest order turnaround
+     * GET /api/leaderboards/shops/fastest-turnaround?limit=10
+     */
+    @GetMapping("/shops/fastest-turnaround")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getFastestTurnaroundShops(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return getBoard(authHeader, LeaderboardService.FASTEST_TURNAROUND_SHOPS, limit);
+    }
+
+    /**
+     * Workers with the highest task completion rate
+     * GET /api/leaderboards/workers/top-completion?limit=10
+     */
+    @GetMapping("/workers/top-completion")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getTopWorkers(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return getBoard(authHeader, LeaderboardService.TOP_WORKERS_BY_COMPLETION, limit);
+    }
+
+    private ResponseEntity<ApiResponse<LeaderboardResponse>> getBoard(String authHeader, String board, Integer limit) {
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        LeaderboardResponse leaderboard = leaderboardService.getBoard(board, limit);
+        return ResponseEntity.ok(ApiResponse.success("Leaderboard fetched successfully", leaderboard));
+    }
+}
@@ -0,0 +1,88 @@
+package com.stitcho.beta.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.OrderBoardResponse;
+import com.stitcho.beta.service.ActiveOrderBoard;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 📋 ORDER BOARD CONTROLLER
+ * Owner's live board of active orders, served from memory
+ */
+@RestController
+@RequestMapping("/api/orders/board")
+@RequiredArgsConstructor
+public class OrderBoardController {
+    private final ActiveOrderBoard orderBoard;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Snapshot of the shop's active orders
+     * GET /api/orders/board
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<OrderBoardResponse>> getBoard(
+            @RequestHeader("Authorization") String authHeader) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can access this endpoint", null));
+        }
+
+        OrderBoardResponse board = orderBoard.getSnapshot(userId);
+        if (board == null) {
+            return ResponseEntity.status(503)
+                    .body(ApiResponse.success("Order board is still loading, try again shortly", null));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Order board fetched successfully", board));
+    }
+
+    /**
+     * Server-sent events of board changes: a "snapshot" event (or the buffered
+     * "delta" events after sinceVersion), then a "delta" event per change
+     * GET /api/orders/board/stream?sinceVersion=42
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBoard(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long sinceVersion) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401).build();
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        SseEmitter emitter = orderBoard.subscribe(userId, sinceVersion);
+        if (emitter == null) {
+            return ResponseEntity.status(503).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -1,5 +1,7 @@
 package com.stitcho.beta.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.stitcho.beta.dto.ApiResponse;
 import com.stitcho.beta.dto.BillResponse;
@@ -133,4 +136,41 @@ public class PaymentController {
                     .body(ApiResponse.success(e.getMessage(), null));
         }
     }
+
+    /**
+     * Download the bill for an order as a PDF
+     * GET /api/orders/{orderId}/bill/pdf
+     */
+    @GetMapping("/{orderId}/bill/pdf")
+    public ResponseEntity<?> generateBillPdf(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable Long orderId) {
+        
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+        
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can generate bills", null));
+        }
+
+        try {
+            byte[] pdf = paymentService.generateBillPdf(userId, orderId);
+            StreamingResponseBody body = out -> out.write(pdf);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .contentLength(pdf.length)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"bill-" + orderId + ".pdf\"")
+                    .body(body);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
 }
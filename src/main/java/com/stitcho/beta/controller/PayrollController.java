@@ -0,0 +1,137 @@
+package com.stitcho.beta.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.PayrollResponse;
+import com.stitcho.beta.service.PayrollService;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 💵 SHOP PAYROLL CONTROLLER
+ * Owner generates and reviews pay-period snapshots of worker earnings
+ */
+@RestController
+@RequestMapping("/api/shops/me/payroll")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS})
+public class PayrollController {
+    private final PayrollService payrollService;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Generate the payroll for a closed pay period (returns the stored snapshot if it exists)
+     * POST /api/shops/me/payroll?periodStart=2024-01-01&periodEnd=2024-01-31
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<PayrollResponse>> generatePayroll(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can generate payroll", null));
+        }
+
+        try {
+            PayrollResponse payroll = payrollService.generatePayroll(userId, periodStart, periodEnd);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Payroll generated successfully", payroll));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.success(e.getMessage(), null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
+
+    /**
+     * List the shop's payroll snapshots, newest period first
+     * GET /api/shops/me/payroll
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PayrollResponse>>> getPayrolls(
+            @RequestHeader("Authorization") String authHeader) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can view payroll", null));
+        }
+
+        try {
+            List<PayrollResponse> payrolls = payrollService.getPayrolls(userId);
+            return ResponseEntity.ok(ApiResponse.success("Payrolls fetched successfully", payrolls));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get one payroll snapshot with the per-worker breakdown
+     * GET /api/shops/me/payroll/{snapshotId}
+     */
+    @GetMapping("/{snapshotId}")
+    public ResponseEntity<ApiResponse<PayrollResponse>> getPayroll(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable Long snapshotId) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can view payroll", null));
+        }
+
+        try {
+            PayrollResponse payroll = payrollService.getPayroll(userId, snapshotId);
+            return ResponseEntity.ok(ApiResponse.success("Payroll fetched successfully", payroll));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
+}
@@ -229,11 +229,15 @@ public class SecureCustomerController {
 
     /**
      * Get customer payment history
-     * GET /api/customers/me/payments
+     * GET /api/customers/me/payments?startDate=2024-01-01&endDate=2024-12-31&page=0&size=50
      */
     @GetMapping("/me/payments")
     public ResponseEntity<ApiResponse<List<PaymentHistoryResponse>>> getPaymentHistory(
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "50") Integer size) {
         
         String token = jwtUtil.getTokenFromHeader(authHeader);
         if (token == null || !jwtUtil.validateToken(token)) {
@@ -249,7 +253,7 @@ public class SecureCustomerController {
                     .body(ApiResponse.success("Only customers can access this endpoint", null));
         }
 
-        List<PaymentHistoryResponse> payments = customerService.getPaymentHistory(userId);
+        List<PaymentHistoryResponse> payments = customerService.getPaymentHistory(userId, startDate, endDate, page, size);
         return ResponseEntity.ok(ApiResponse.success("Payment history fetched successfully", payments));
     }
 
@@ -15,12 +15,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.AssignmentSuggestionResponse;
 import com.stitcho.beta.dto.CreateWorkerRequest;
+import com.stitcho.beta.dto.PayrollResponse;
 import com.stitcho.beta.dto.WorkerResponse;
 import com.stitcho.beta.dto.WorkerStatsResponse;
 import com.stitcho.beta.dto.WorkerTaskResponse;
 import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.service.PayrollService;
 import com.stitcho.beta.service.SecureWorkerService;
+import com.stitcho.beta.service.WorkerAssignmentService;
 import com.stitcho.beta.util.JwtUtil;
 
 import jakarta.validation.Valid;
@@ -36,6 +40,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecureWorkerController {
     private final SecureWorkerService workerService;
+    private final WorkerAssignmentService workerAssignmentService;
+    private final PayrollService payrollService;
     private final JwtUtil jwtUtil;
 
     @PostMapping
@@ -88,6 +94,34 @@ public class SecureWorkerController {
         return ResponseEntity.ok(ApiResponse.success("Workers fetched successfully", workers));
     }
 
+    /**
+     * Suggest the least-loaded workers qualified for a task type
+     * GET /api/workers/suggestions?taskType=STITCHING&limit=3
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<ApiResponse<List<AssignmentSuggestionResponse>>> getAssignmentSuggestions(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam String taskType,
+            @RequestParam(required = false, defaultValue = "3") Integer limit) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can view assignment suggestions", null));
+        }
+
+        List<AssignmentSuggestionResponse> suggestions = workerAssignmentService.suggestWorkers(userId, taskType, limit);
+        return ResponseEntity.ok(ApiResponse.success("Assignment suggestions fetched successfully", suggestions));
+    }
+
     @GetMapping("/me/tasks")
     public ResponseEntity<ApiResponse<List<Task>>> getMyTasks(
             @RequestHeader("Authorization") String authHeader) {
@@ -157,6 +191,65 @@ public class SecureWorkerController {
 
     // ==================== WORKER DASHBOARD ENDPOINTS ====================
 
+    /**
+     * Get worker's earnings in every generated pay period, newest first
+     * GET /api/workers/me/payroll
+     */
+    @GetMapping("/me/payroll")
+    public ResponseEntity<ApiResponse<List<PayrollResponse>>> getMyPayroll(
+            @RequestHeader("Authorization") String authHeader) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"WORKER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only workers can access this endpoint", null));
+        }
+
+        try {
+            List<PayrollResponse> payroll = payrollService.getMyPayroll(userId);
+            return ResponseEntity.ok(ApiResponse.success("Payroll fetched successfully", payroll));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get worker's work queue: open tasks only, earliest deadline and earliest stage first
+     * GET /api/workers/me/queue?page=0&size=20
+     */
+    @GetMapping("/me/queue")
+    public ResponseEntity<ApiResponse<List<WorkerTaskResponse>>> getWorkQueue(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer size) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"WORKER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only workers can access this endpoint", null));
+        }
+
+        List<WorkerTaskResponse> queue = workerService.getWorkQueue(userId, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Work queue fetched successfully", queue));
+    }
+
     /**
      * Get worker dashboard statistics
      * GET /api/workers/me/stats
@@ -0,0 +1,77 @@
+package com.stitcho.beta.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.PaymentLedgerResponse;
+import com.stitcho.beta.service.PaymentService;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 💰 SHOP PAYMENT LEDGER CONTROLLER
+ * Owner can page through every payment recorded by the shop
+ */
+@RestController
+@RequestMapping("/api/shops")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+public class ShopPaymentController {
+    private final PaymentService paymentService;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Get the shop payment ledger, newest first
+     * GET /api/shops/me/payments?paymentMethod=UPI&startDate=2024-01-01&endDate=2024-01-31&size=50
+     * Next page: pass nextCursorDate and nextCursorId from the previous response as cursorDate and cursorId
+     */
+    @GetMapping("/me/payments")
+    public ResponseEntity<ApiResponse<PaymentLedgerResponse>> getPaymentLedger(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Long recordedBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false, defaultValue = "50") Integer size) {
+
+        String token = jwtUtil.getTokenFromHeader(authHeader);
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(token);
+        String role = jwtUtil.extractRole(token);
+
+        if (!"OWNER".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.success("Only owners can access this endpoint", null));
+        }
+
+        try {
+            PaymentLedgerResponse ledger = paymentService.getShopLedger(userId, paymentMethod, recordedBy,
+                    startDate, endDate, cursorDate, cursorId, size);
+            return ResponseEntity.ok(ApiResponse.success("Payment ledger fetched successfully", ledger));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.success(e.getMessage(), null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.success(e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.stitcho.beta.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stitcho.beta.dto.ApiResponse;
+import com.stitcho.beta.dto.SyncResponse;
+import com.stitcho.beta.service.SyncService;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🔄 SYNC CONTROLLER
+ * Incremental refresh for the mobile apps
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    private final SyncService syncService;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Changes of the caller's orders, tasks, payments, customers and measurement
+     * profiles since the token of their previous call (omit it on first launch)
+     * GET /api/sync?token=djE6MTIzOjE3...
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SyncResponse>> sync(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String token) {
+
+        String jwt = jwtUtil.getTokenFromHeader(authHeader);
+        if (jwt == null || !jwtUtil.validateToken(jwt)) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.success("Invalid or missing token", null));
+        }
+
+        Long userId = jwtUtil.extractUserId(jwt);
+        String role = jwtUtil.extractRole(jwt);
+        Long customerId = jwtUtil.extractCustomerId(jwt);
+
+        SyncResponse changes = syncService.sync(userId, role, customerId, token);
+        return ResponseEntity.ok(ApiResponse.success("Changes fetched successfully", changes));
+    }
+}
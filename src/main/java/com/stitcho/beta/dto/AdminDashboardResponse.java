@@ -1,5 +1,7 @@
 package com.stitcho.beta.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,4 +18,5 @@ public class AdminDashboardResponse {
     private Long totalOrders;
     private Long activeShops;
     private Double systemGrowth; // Percentage growth
+    private List<String> staleSections; // Sections left out because they failed or timed out
 }
@@ -0,0 +1,18 @@
+package com.stitcho.beta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentSuggestionResponse {
+    private Long workerId;
+    private String workerName;
+    private String workType;
+    private Integer openTasks;
+    private Double estimatedLoadHours; // Open tasks weighted by the shop's average duration per task type
+}
@@ -1,6 +1,7 @@
 package com.stitcho.beta.dto;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -27,5 +28,7 @@ public class CalendarTaskResponse {
         private String customerPhone;
         private LocalDate deadline;
         private String workerName;
+        private Boolean orderAtRisk;
+        private LocalDateTime projectedCompletionAt;
     }
 }
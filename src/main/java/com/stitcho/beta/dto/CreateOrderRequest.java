@@ -65,7 +65,7 @@ public class CreateOrderRequest {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class TaskRequest {
-        @NotNull(message = "Worker ID is required")
+        // Optional: when omitted the least-loaded qualified worker is assigned
         private Long workerId;
 
         @NotNull(message = "Task type is required")
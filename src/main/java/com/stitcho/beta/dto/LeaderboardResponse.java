@@ -0,0 +1,31 @@
+package com.stitcho.beta.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardResponse {
+    private String board;
+    private String metric; // What score means, e.g. "averageRating"
+    private Long minSamples; // Entries with fewer samples are not ranked
+    private LocalDateTime refreshedAt;
+    private List<Entry> entries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Integer rank;
+        private Long id;
+        private String name;
+        private String detail; // Shop address, or shop name for workers
+        private Double score;
+        private Long samples;
+    }
+}
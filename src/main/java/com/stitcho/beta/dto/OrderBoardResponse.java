@@ -0,0 +1,55 @@
+package com.stitcho.beta.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The shop's active (not delivered or cancelled) orders as of the given board
+ * version. Every change to the board increments the version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBoardResponse {
+    private Long version;
+    private List<BoardOrder> orders;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BoardOrder {
+        private Long orderId;
+        private String customerName;
+        private String status;
+        private LocalDate deadline;
+        private Integer pendingTasks;
+        private Integer inProgressTasks;
+        private Integer completedTasks;
+        private List<BoardTask> tasks;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BoardTask {
+        private Long taskId;
+        private String taskType;
+        private String status;
+        private Long workerId;
+        private String workerName;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private Long version;
+        private String type; // UPSERT or REMOVE
+        private Long orderId;
+        private BoardOrder order; // null for REMOVE
+    }
+}
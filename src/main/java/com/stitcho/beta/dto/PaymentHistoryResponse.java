@@ -2,6 +2,8 @@ package com.stitcho.beta.dto;
 
 import java.time.LocalDateTime;
 
+import com.stitcho.beta.entity.PaymentMethod;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,4 +20,15 @@ public class PaymentHistoryResponse {
     private String paymentStatus;
     private LocalDateTime paymentDate;
     private String notes;
+    private Long paymentId;
+    private Double amount;
+    private String paymentMethod;
+
+    // Used by the JPQL constructor expression in PaymentRepository
+    public PaymentHistoryResponse(Long orderId, Double totalPrice, Double paidAmount, String paymentStatus,
+                                  LocalDateTime paymentDate, String notes, Long paymentId, Double amount,
+                                  PaymentMethod paymentMethod) {
+        this(orderId, totalPrice, paidAmount, paymentStatus, paymentDate, notes, paymentId, amount,
+                paymentMethod != null ? paymentMethod.name() : null);
+    }
 }
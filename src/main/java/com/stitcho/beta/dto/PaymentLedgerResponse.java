@@ -0,0 +1,72 @@
+package com.stitcho.beta.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.stitcho.beta.entity.PaymentMethod;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentLedgerResponse {
+    private List<LedgerEntry> entries;
+    private Boolean hasMore;
+    private LocalDateTime nextCursorDate;
+    private Long nextCursorId;
+    private Totals totals; // Only returned for the first page
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LedgerEntry {
+        private Long paymentId;
+        private LocalDateTime paymentDate;
+        private Double amount;
+        private String paymentMethod;
+        private String note;
+        private Long orderId;
+        private String customerName;
+        private Long recordedById;
+        private String recordedBy;
+
+        // Used by the JPQL constructor expression in PaymentRepository
+        public LedgerEntry(Long paymentId, LocalDateTime paymentDate, Double amount, PaymentMethod paymentMethod,
+                           String note, Long orderId, String customerName, Long recordedById, String recordedBy) {
+            this(paymentId, paymentDate, amount, paymentMethod != null ? paymentMethod.name() : null,
+                    note, orderId, customerName, recordedById, recordedBy);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private Double totalAmount;
+        private Long paymentCount;
+        private List<MethodTotal> byMethod;
+        private List<DayTotal> byDay;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MethodTotal {
+        private String paymentMethod;
+        private Double amount;
+        private Long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayTotal {
+        private LocalDate date;
+        private Double amount;
+        private Long count;
+    }
+}
@@ -0,0 +1,45 @@
+package com.stitcho.beta.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollResponse {
+    private Long snapshotId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private LocalDateTime generatedAt;
+    private Double totalAmount;
+    private Integer taskCount;
+    private Integer unratedTaskCount;
+    private List<WorkerPayroll> workers; // Not returned in the snapshot list
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WorkerPayroll {
+        private Long workerId;
+        private String workerName;
+        private Integer taskCount;
+        private Integer unratedTaskCount;
+        private Double amount;
+        private List<Line> lines;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private String taskType;
+        private Integer taskCount;
+        private Integer unratedTaskCount;
+        private Double amount;
+    }
+}
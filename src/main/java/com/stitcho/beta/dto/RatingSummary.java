@@ -1,5 +1,7 @@
 package com.stitcho.beta.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +14,5 @@ import lombok.Setter;
 public class RatingSummary {
     private Double averageRating;
     private Long totalRatings;
+    private List<Long> starCounts; // Index 0 = 1 star
 }
@@ -1,5 +1,7 @@
 package com.stitcho.beta.dto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -15,6 +17,9 @@ public class ShopAnalyticsResponse {
     private List<MonthlyRevenueTrend> monthlyRevenueTrend;
     private OrderStatusDistribution orderStatusDistribution;
     private List<WorkerPerformance> workerPerformance;
+    private Turnaround turnaround;
+    private List<AtRiskOrder> atRiskOrders;
+    private List<String> staleSections; // Sections left out because they failed or timed out
 
     @Data
     @NoArgsConstructor
@@ -72,4 +77,52 @@ public class ShopAnalyticsResponse {
         private Double averageRating;
         private Double completionRate;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Turnaround {
+        private DurationStats orderLeadTime;
+        private Integer suggestedLeadDays; // p90 of order lead time, rounded up to whole days
+        private List<StageTurnaround> byTaskType;
+        private List<WorkerTurnaround> byWorker;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DurationStats {
+        private Long samples;
+        private Double p50Hours;
+        private Double p90Hours;
+        private Double p99Hours;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageTurnaround {
+        private String taskType;
+        private DurationStats timeInStage;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WorkerTurnaround {
+        private Long workerId;
+        private String workerName;
+        private DurationStats timeInStage;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AtRiskOrder {
+        private Long orderId;
+        private String customerName;
+        private String status;
+        private LocalDate deadline;
+        private LocalDateTime projectedCompletionAt;
+    }
 }
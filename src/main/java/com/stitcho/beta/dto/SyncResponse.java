@@ -0,0 +1,106 @@
+package com.stitcho.beta.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes of the caller's slice since their sync token. Clients upsert every
+ * entry by id and drop the deleted ones; an entry can repeat across calls.
+ * With fullResync the client reloads its lists and keeps syncToken for the next call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private String syncToken;
+    private Boolean fullResync;
+    private Boolean hasMore;
+    private List<OrderChange> orders;
+    private List<TaskChange> tasks;
+    private List<PaymentChange> payments;
+    private List<CustomerChange> customers;
+    private List<MeasurementProfileChange> measurementProfiles;
+    private List<Deletion> deleted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderChange {
+        private Long orderId;
+        private Long customerId;
+        private String customerName;
+        private String status;
+        private LocalDate deadline;
+        private Double totalPrice;
+        private Double paidAmount;
+        private String paymentStatus;
+        private String notes;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskChange {
+        private Long taskId;
+        private Long orderId;
+        private String taskType;
+        private String status;
+        private Long workerId;
+        private String workerName;
+        private LocalDateTime assignedAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaymentChange {
+        private Long paymentId;
+        private Long orderId;
+        private Double amount;
+        private String paymentMethod;
+        private LocalDateTime paymentDate;
+        private String note;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomerChange {
+        private Long customerId;
+        private String name;
+        private String email;
+        private String contactNumber;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MeasurementProfileChange {
+        private Long profileId;
+        private Long customerId;
+        private String dressType;
+        private String notes;
+        private Map<String, Double> measurements;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deletion {
+        private String entityType;
+        private Long entityId;
+    }
+}
@@ -18,6 +18,8 @@ public class WorkerTaskResponse {
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
     private OrderInfo order;
+    // True while an earlier stage of the same order is still open (queue only)
+    private Boolean blocked;
 
     @Data
     @NoArgsConstructor
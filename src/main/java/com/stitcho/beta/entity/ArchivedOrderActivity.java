@@ -0,0 +1,54 @@
+package com.stitcho.beta.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An activity of an archived order, moved out of order_activities with its original id.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_order_activities", indexes = {
+    @Index(name = "idx_archived_order_activities_order", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderActivity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type")
+    private ActivityType activityType;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "old_status")
+    private String oldStatus;
+
+    @Column(name = "new_status")
+    private String newStatus;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
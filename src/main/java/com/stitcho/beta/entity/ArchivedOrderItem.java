@@ -0,0 +1,46 @@
+package com.stitcho.beta.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An item of an archived order, moved out of order_items with its original id.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_order_items", indexes = {
+    @Index(name = "idx_archived_order_items_order", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderItem {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "price")
+    private Double price;
+
+    @Column(name = "fabric_type")
+    private String fabricType;
+}
@@ -0,0 +1,63 @@
+package com.stitcho.beta.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A task of an archived order, moved out of tasks with its original id.
+ * Order and worker are kept by id only, so archived rows never block deletes.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_tasks", indexes = {
+    @Index(name = "idx_archived_tasks_order", columnList = "order_id"),
+    @Index(name = "idx_archived_tasks_worker", columnList = "worker_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask {
+    @Id
+    @Column(name = "id")
+    private Long taskId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "worker_id")
+    private Long workerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_type")
+    private TaskType taskType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "auto_assigned")
+    private Boolean autoAssigned;
+}
@@ -0,0 +1,9 @@
+package com.stitcho.beta.entity;
+
+public enum ChangeEntityType {
+    ORDER,
+    TASK,
+    PAYMENT,
+    CUSTOMER,
+    MEASUREMENT_PROFILE
+}
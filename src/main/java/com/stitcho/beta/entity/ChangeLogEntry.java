@@ -0,0 +1,67 @@
+package com.stitcho.beta.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One change of a synced entity, written by ChangeLogListener in the same
+ * transaction as the change. The id is the change sequence that sync tokens
+ * point into; shop, customer and worker are copied from the entity so each
+ * role's slice can be read without joins.
+ */
+@Entity
+@Immutable
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_shop", columnList = "shop_id, id"),
+    @Index(name = "idx_change_log_customer", columnList = "customer_id, id"),
+    @Index(name = "idx_change_log_worker", columnList = "worker_id, id"),
+    @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private ChangeOperation operation;
+
+    @Column(name = "shop_id")
+    private Long shopId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "worker_id")
+    private Long workerId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,6 @@
+package com.stitcho.beta.entity;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -3,25 +3,36 @@ package com.stitcho.beta.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.stitcho.beta.event.ChangeLogListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "orders")
+@EntityListeners(ChangeLogListener.class)
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_risk_review", columnList = "risk_review_at"),
+    @Index(name = "idx_orders_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -62,4 +73,29 @@ public class Order {
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Maintained by AtRiskOrderDetector with bulk updates (no version bump); null until first checked
+    @Column(name = "at_risk")
+    private Boolean atRisk;
+
+    @Column(name = "projected_completion_at")
+    private LocalDateTime projectedCompletionAt;
+
+    // When the projection runs out of slack if nothing else changes; the order is checked again then
+    @Column(name = "risk_review_at")
+    private LocalDateTime riskReviewAt;
+
+    // Set once the order's items, tasks and activities have moved to the archive tables
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Optimistic lock: concurrent updates of the same row fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,60 @@
+package com.stitcho.beta.entity;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of an order's tasks in each status, per task type.
+ * Maintained from TaskStateChangedEvent by OrderStatusProjector with atomic
+ * increments (see OrderTaskCounterRepository), and used to derive the order
+ * status without loading the order's tasks.
+ */
+@Entity
+@Table(name = "order_task_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_order_task_counter", columnNames = {"order_id", "task_type"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTaskCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_type", nullable = false)
+    private TaskType taskType;
+
+    @ColumnDefault("0")
+    @Column(name = "pending", nullable = false)
+    private Integer pending = 0;
+
+    @ColumnDefault("0")
+    @Column(name = "in_progress", nullable = false)
+    private Integer inProgress = 0;
+
+    @ColumnDefault("0")
+    @Column(name = "completed", nullable = false)
+    private Integer completed = 0;
+}
@@ -0,0 +1,7 @@
+package com.stitcho.beta.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
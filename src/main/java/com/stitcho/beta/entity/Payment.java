@@ -5,13 +5,17 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.stitcho.beta.event.ChangeLogListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +25,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "payment_history")
+@EntityListeners(ChangeLogListener.class)
+@Table(name = "payment_history", indexes = {
+    @Index(name = "idx_payment_order_date", columnList = "order_id, payment_date"),
+    @Index(name = "idx_payment_shop_date", columnList = "shop_id, payment_date, payment_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,6 +44,13 @@ public class Payment {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    // Copied from the order so shop ledger queries filter and sort on payment_history alone
+    // (idx_payment_shop_date); the totals never join orders, a ledger page joins them only
+    // by id for the page's rows, to show the order and customer
+    @ManyToOne
+    @JoinColumn(name = "shop_id")
+    private Shop shop;
+
     @Column(name = "amount", nullable = false)
     private Double amount;
 
@@ -0,0 +1,64 @@
+package com.stitcho.beta.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One worker's earnings for one task type within a payroll snapshot.
+ * The worker is copied by id and name rather than referenced, so snapshots
+ * outlive deleted workers unchanged.
+ */
+@Entity
+@Immutable
+@Table(name = "payroll_entries", indexes = {
+    @Index(name = "idx_payroll_entry_snapshot", columnList = "snapshot_id"),
+    @Index(name = "idx_payroll_entry_worker", columnList = "worker_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "snapshot_id", nullable = false)
+    private PayrollSnapshot snapshot;
+
+    @Column(name = "worker_id", nullable = false)
+    private Long workerId;
+
+    @Column(name = "worker_name")
+    private String workerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_type")
+    private TaskType taskType;
+
+    @Column(name = "task_count")
+    private Integer taskCount;
+
+    @Column(name = "unrated_task_count")
+    private Integer unratedTaskCount;
+
+    @Column(name = "amount")
+    private Double amount;
+}
@@ -0,0 +1,68 @@
+package com.stitcho.beta.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Payroll of a shop for one closed pay period (both dates inclusive).
+ * Written once by PayrollService and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "payroll_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payroll_shop_period", columnNames = {"shop_id", "period_start", "period_end"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "shop_id", nullable = false)
+    private Shop shop;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "total_amount")
+    private Double totalAmount;
+
+    @Column(name = "task_count")
+    private Integer taskCount;
+
+    // Completed tasks with no rate in effect at completion time (not paid)
+    @Column(name = "unrated_task_count")
+    private Integer unratedTaskCount;
+
+    @Column(name = "generated_by")
+    private Long generatedBy;
+
+    @CreationTimestamp
+    @Column(name = "generated_at")
+    private LocalDateTime generatedAt;
+}
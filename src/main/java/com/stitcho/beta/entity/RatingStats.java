@@ -0,0 +1,76 @@
+package com.stitcho.beta.entity;
+
+import java.util.List;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running rating aggregate embedded in Shop and Worker.
+ * The columns are only written by the atomic UPDATE statements in ShopRepository
+ * and WorkerRepository (updatable = false), so saving the owning entity never
+ * overwrites a concurrent increment.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingStats {
+    @ColumnDefault("0")
+    @Column(name = "rating_count", updatable = false)
+    private Long count = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", updatable = false)
+    private Long sum = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_1", updatable = false)
+    private Long star1 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_2", updatable = false)
+    private Long star2 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_3", updatable = false)
+    private Long star3 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_4", updatable = false)
+    private Long star4 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_5", updatable = false)
+    private Long star5 = 0L;
+
+    public long totalCount() {
+        return count != null ? count : 0L;
+    }
+
+    // Average rounded to one decimal, 0.0 when there are no ratings
+    public double average() {
+        long n = totalCount();
+        if (n == 0) {
+            return 0.0;
+        }
+        double avg = (sum != null ? sum : 0L) / (double) n;
+        return Math.round(avg * 10.0) / 10.0;
+    }
+
+    // Count per star, index 0 = 1 star
+    public List<Long> histogram() {
+        return List.of(orZero(star1), orZero(star2), orZero(star3), orZero(star4), orZero(star5));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -1,5 +1,10 @@
 package com.stitcho.beta.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -11,6 +16,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shops")
 @Table(name = "shops")
 @Getter
 @Setter
@@ -30,4 +37,11 @@ public class Shop {
     private String shopAddress;
 
     private String gstNumber;
+
+    @Embedded
+    private RatingStats ratingStats = new RatingStats();
+
+    public RatingStats getRatingStats() {
+        return ratingStats != null ? ratingStats : new RatingStats();
+    }
 }
@@ -2,23 +2,38 @@ package com.stitcho.beta.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.stitcho.beta.event.ChangeLogListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners(ChangeLogListener.class)
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_status_completed", columnList = "status, completed_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -53,4 +68,30 @@ public class Task {
 
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
+
+    // True when the worker was picked by the assignment engine rather than the owner
+    @Column(name = "auto_assigned")
+    private Boolean autoAssigned;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock: concurrent updates of the same row fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version")
+    private Long version;
+
+    // Worker as last loaded or flushed. Entity listeners run before this class's
+    // callbacks, so ChangeLogListener still sees the worker a task is leaving.
+    @Transient
+    private Long flushedWorkerId;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberWorker() {
+        flushedWorkerId = worker != null ? worker.getId() : null;
+    }
 }
@@ -0,0 +1,53 @@
+package com.stitcho.beta.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persisted DurationSketch of one shop's turnaround metric, so the statistics
+ * survive restarts without re-reading task history.
+ * metric is e.g. "STAGE:CUTTING", "WORKER:12" or "ORDER_LEAD".
+ */
+@Entity
+@Table(name = "turnaround_sketches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_turnaround_shop_metric", columnNames = {"shop_id", "metric"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnaroundSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "shop_id", nullable = false)
+    private Long shopId;
+
+    @Column(name = "metric", nullable = false, length = 64)
+    private String metric;
+
+    @Column(name = "sample_count")
+    private Long sampleCount;
+
+    @Column(name = "data")
+    private byte[] data;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
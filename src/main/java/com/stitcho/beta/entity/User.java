@@ -1,6 +1,9 @@
 package com.stitcho.beta.entity;
 
+import com.stitcho.beta.event.ChangeLogListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +16,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Table(name ="users")
 @Getter
 @Setter
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -39,8 +41,17 @@ public class Worker {
 
     private Integer experience;
 
+    // Average rating, maintained together with ratingStats
+    @Column(updatable = false)
     private Double ratings;
 
+    @Embedded
+    private RatingStats ratingStats = new RatingStats();
+
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    public RatingStats getRatingStats() {
+        return ratingStats != null ? ratingStats : new RatingStats();
+    }
 }
@@ -0,0 +1,115 @@
+package com.stitcho.beta.event;
+
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.stitcho.beta.entity.ChangeEntityType;
+import com.stitcho.beta.entity.ChangeOperation;
+import com.stitcho.beta.entity.Customer;
+import com.stitcho.beta.entity.MeasurementProfile;
+import com.stitcho.beta.entity.MeasurementValue;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.Payment;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entity listener of the synced entities: appends a change_log row for every
+ * insert, update and delete Hibernate flushes. A task moved to another worker
+ * also gets a DELETE in the previous worker's slice alone (no shop or
+ * customer), which their device treats as a tombstone.
+ *
+ * The row is written with plain JDBC on the transaction's connection, so it
+ * commits or rolls back with the change itself. Bulk JPQL updates bypass
+ * entity listeners; the fields they touch (risk flags, archive markers,
+ * counters) are not part of the sync payload.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLogListener {
+    private static final String INSERT_SQL = "INSERT INTO change_log " +
+            "(entity_type, entity_id, operation, shop_id, customer_id, worker_id, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // A customer's name and contact live on their user row
+    private static final String INSERT_USER_CUSTOMERS_SQL = "INSERT INTO change_log " +
+            "(entity_type, entity_id, operation, shop_id, customer_id, worker_id, changed_at) " +
+            "SELECT ?, c.id, ?, c.shop_id, c.id, NULL, ? FROM customers c WHERE c.user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        record(entity, ChangeOperation.UPSERT);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        record(entity, ChangeOperation.DELETE);
+    }
+
+    private void record(Object entity, ChangeOperation operation) {
+        if (entity instanceof Order order) {
+            insert(ChangeEntityType.ORDER, order.getOrderId(), operation, shopIdOf(order), customerIdOf(order), null);
+        } else if (entity instanceof Task task) {
+            Order order = task.getOrder();
+            Long workerId = task.getWorker() != null ? task.getWorker().getId() : null;
+            insert(ChangeEntityType.TASK, task.getTaskId(), operation, shopIdOf(order), customerIdOf(order), workerId);
+            // Reassigned: a tombstone in the previous worker's slice only, so their device drops the task
+            Long previousWorkerId = task.getFlushedWorkerId();
+            if (operation == ChangeOperation.UPSERT && previousWorkerId != null
+                    && !previousWorkerId.equals(workerId)) {
+                insert(ChangeEntityType.TASK, task.getTaskId(), ChangeOperation.DELETE, null, null, previousWorkerId);
+            }
+        } else if (entity instanceof Payment payment) {
+            Order order = payment.getOrder();
+            Long shopId = payment.getShop() != null ? payment.getShop().getShopId() : shopIdOf(order);
+            insert(ChangeEntityType.PAYMENT, payment.getPaymentId(), operation, shopId, customerIdOf(order), null);
+        } else if (entity instanceof Customer customer) {
+            insert(ChangeEntityType.CUSTOMER, customer.getId(), operation,
+                    customer.getShop() != null ? customer.getShop().getShopId() : null, customer.getId(), null);
+        } else if (entity instanceof MeasurementProfile profile) {
+            recordProfile(profile, operation);
+        } else if (entity instanceof MeasurementValue value) {
+            // A value change is a change of its profile
+            if (value.getProfile() != null) {
+                recordProfile(value.getProfile(), ChangeOperation.UPSERT);
+            }
+        } else if (entity instanceof User user && operation == ChangeOperation.UPSERT) {
+            jdbcTemplate.update(INSERT_USER_CUSTOMERS_SQL, ChangeEntityType.CUSTOMER.name(),
+                    ChangeOperation.UPSERT.name(), LocalDateTime.now(), user.getId());
+        }
+    }
+
+    private void recordProfile(MeasurementProfile profile, ChangeOperation operation) {
+        Customer customer = profile.getCustomer();
+        Long shopId = customer != null && customer.getShop() != null ? customer.getShop().getShopId() : null;
+        insert(ChangeEntityType.MEASUREMENT_PROFILE, profile.getId(), operation, shopId,
+                customer != null ? customer.getId() : null, null);
+    }
+
+    private void insert(ChangeEntityType entityType, Long entityId, ChangeOperation operation,
+                        Long shopId, Long customerId, Long workerId) {
+        if (entityId == null) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, entityType.name(), entityId, operation.name(), shopId, customerId,
+                workerId, LocalDateTime.now());
+    }
+
+    private static Long shopIdOf(Order order) {
+        return order != null && order.getShop() != null ? order.getShop().getShopId() : null;
+    }
+
+    private static Long customerIdOf(Order order) {
+        return order != null && order.getCustomer() != null ? order.getCustomer().getId() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.stitcho.beta.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an order's details or task assignments change, or the order
+ * is deleted, without a status transition of the order or its tasks.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderChangedEvent {
+    private final Long orderId;
+    private final Long shopId;
+}
@@ -0,0 +1,22 @@
+package com.stitcho.beta.event;
+
+import java.time.LocalDateTime;
+
+import com.stitcho.beta.entity.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever an order's status actually changes.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final Long shopId;
+    private final OrderStatus oldStatus;
+    private final OrderStatus newStatus;
+    private final LocalDateTime changedAt;
+    private final LocalDateTime orderCreatedAt;
+}
@@ -0,0 +1,27 @@
+package com.stitcho.beta.event;
+
+import java.time.LocalDateTime;
+
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a task is created or changes status.
+ * oldStatus is null for newly created tasks.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskStateChangedEvent {
+    private final Long taskId;
+    private final Long orderId;
+    private final Long shopId;
+    private final Long workerId;
+    private final TaskType taskType;
+    private final TaskStatus oldStatus;
+    private final TaskStatus newStatus;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime completedAt;
+}
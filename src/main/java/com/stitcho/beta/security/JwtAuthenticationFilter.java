@@ -9,6 +9,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.stitcho.beta.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +20,9 @@ import lombok.RequiredArgsConstructor;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    // Role of a valid token, read by the request metrics
+    public static final String ROLE_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".role";
+
     private final JwtUtil jwtUtil;
 
     @Override
@@ -29,8 +34,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractEmail(token);
+            Claims claims = parseClaims(token);
+            if (claims != null) {
+                String email = claims.getSubject();
+                request.setAttribute(ROLE_ATTRIBUTE, claims.get("role", String.class));
                 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authentication = 
@@ -42,4 +49,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    // Claims of a valid token, or null; verifies the signature once for email and role
+    private Claims parseClaims(String token) {
+        try {
+            return jwtUtil.extractAllClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
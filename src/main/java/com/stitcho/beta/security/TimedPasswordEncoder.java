@@ -0,0 +1,43 @@
+package com.stitcho.beta.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder that times hashing and verification. BCrypt is deliberately
+ * slow, so it is a large share of register and login latency.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    private static final Timer ENCODE_TIMER = timer("encode");
+    private static final Timer MATCHES_TIMER = timer("matches");
+
+    private final PasswordEncoder delegate;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ENCODE_TIMER.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return MATCHES_TIMER.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(String operation) {
+        return Timer.builder("auth.password")
+                .description("Password hashing (encode) and verification (matches)")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,343 @@
+package com.stitcho.beta.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.dto.OrderBoardResponse;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.event.OrderChangedEvent;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory board of every shop's active orders (not delivered or cancelled).
+ *
+ * Built once at startup, then kept current from order and task change events:
+ * after a commit the changed orders are reloaded on a single background thread
+ * (which also coalesces bursts such as the tasks of a new order) and each
+ * difference becomes a versioned delta. Reading the board never touches the
+ * database; the snapshot is cached until the next change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveOrderBoard {
+    private static final List<OrderStatus> CLOSED_ORDER_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    private static final Comparator<OrderBoardResponse.BoardOrder> BOARD_ORDER = Comparator
+            .comparing(OrderBoardResponse.BoardOrder::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OrderBoardResponse.BoardOrder::getOrderId);
+
+    private final OrderRepository orderRepository;
+    private final TaskRepository taskRepository;
+    private final OwnerRepository ownerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.board.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.board.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.board.delta-capacity:500}")
+    private int deltaCapacity;
+
+    @Value("${app.board.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private final Map<Long, ShopBoard> boards = new ConcurrentHashMap<>();
+    private final Map<Long, Long> dirtyOrders = new ConcurrentHashMap<>(); // orderId -> shopId
+    private final Map<Long, Long> shopOfOwner = new ConcurrentHashMap<>(); // userId -> shopId
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-board");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean building = new AtomicBoolean();
+    private volatile boolean ready;
+
+    /**
+     * Current board of the owner's shop, or null while the board is still loading
+     */
+    public OrderBoardResponse getSnapshot(Long userId) {
+        if (!ready) {
+            load();
+            return null;
+        }
+        return board(shopOf(userId)).snapshot();
+    }
+
+    /**
+     * Stream of the owner's board: deltas after the given version when they are
+     * still buffered, otherwise a full snapshot first, then every new delta.
+     * Clients should ignore deltas at or below the version they already have.
+     */
+    public SseEmitter subscribe(Long userId, Long sinceVersion) {
+        if (!ready) {
+            load();
+            return null;
+        }
+        ShopBoard board = board(shopOf(userId));
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        board.subscribers.add(emitter);
+        emitter.onCompletion(() -> board.subscribers.remove(emitter));
+        emitter.onTimeout(() -> board.subscribers.remove(emitter));
+        emitter.onError(e -> board.subscribers.remove(emitter));
+
+        List<OrderBoardResponse.Delta> missed = sinceVersion != null ? board.deltasSince(sinceVersion) : null;
+        if (missed == null) {
+            OrderBoardResponse snapshot = board.snapshot();
+            send(board, emitter, "snapshot", snapshot.getVersion(), snapshot);
+        } else {
+            missed.forEach(delta -> send(board, emitter, "delta", delta.getVersion(), delta));
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled && !ready && building.compareAndSet(false, true)) {
+            refresher.execute(this::build);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskStateChanged(TaskStateChangedEvent event) {
+        markDirty(event.getOrderId(), event.getShopId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        markDirty(event.getOrderId(), event.getShopId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        markDirty(event.getOrderId(), event.getShopId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        boards.values().forEach(board -> board.subscribers.forEach(SseEmitter::complete));
+    }
+
+    private void build() {
+        long afterId = 0L;
+        int loaded = 0;
+        List<Order> chunk;
+        try {
+            do {
+                long from = afterId;
+                chunk = transactionTemplate.execute(status ->
+                        orderRepository.findOpenChunk(CLOSED_ORDER_STATUSES, from, PageRequest.of(0, chunkSize)));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, Long> shopIds = new HashMap<>();
+                chunk.forEach(order -> shopIds.put(order.getOrderId(), order.getShop().getShopId()));
+                for (OrderBoardResponse.BoardOrder order : loadOrders(shopIds.keySet()).values()) {
+                    board(shopIds.get(order.getOrderId())).apply(order.getOrderId(), order);
+                    loaded++;
+                }
+                afterId = chunk.get(chunk.size() - 1).getOrderId();
+            } while (chunk.size() == chunkSize);
+            ready = true;
+            log.info("Order board loaded with {} active orders in {} shops", loaded, boards.size());
+        } catch (RuntimeException e) {
+            log.warn("Order board failed to load, retrying on the next request: {}", e.getMessage());
+        } finally {
+            building.set(false);
+        }
+    }
+
+    private void markDirty(Long orderId, Long shopId) {
+        if (!enabled || orderId == null || shopId == null) {
+            return;
+        }
+        dirtyOrders.put(orderId, shopId);
+        refresher.execute(this::refreshDirty);
+    }
+
+    private void refreshDirty() {
+        Map<Long, Long> batch = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : dirtyOrders.entrySet()) {
+            if (dirtyOrders.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, OrderBoardResponse.BoardOrder> current = loadOrders(batch.keySet());
+            for (Map.Entry<Long, Long> entry : batch.entrySet()) {
+                ShopBoard board = board(entry.getValue());
+                // Missing means deleted or no longer active
+                OrderBoardResponse.Delta delta = board.apply(entry.getKey(), current.get(entry.getKey()));
+                if (delta != null) {
+                    board.subscribers.forEach(emitter -> send(board, emitter, "delta", delta.getVersion(), delta));
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(dirtyOrders::putIfAbsent);
+            log.warn("Order board failed to refresh {} orders: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // Board entries of the given orders that are still active, in one transaction so the
+    // tasks' orders come from the same persistence context
+    private Map<Long, OrderBoardResponse.BoardOrder> loadOrders(Collection<Long> orderIds) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, List<Task>> tasksByOrder = new HashMap<>();
+            for (Task task : taskRepository.findWithWorkerByOrderIdIn(orderIds)) {
+                tasksByOrder.computeIfAbsent(task.getOrder().getOrderId(), k -> new ArrayList<>()).add(task);
+            }
+
+            Map<Long, OrderBoardResponse.BoardOrder> orders = new HashMap<>();
+            for (Order order : orderRepository.findWithCustomerByOrderIdIn(orderIds)) {
+                if (order.getStatus() == null || !CLOSED_ORDER_STATUSES.contains(order.getStatus())) {
+                    orders.put(order.getOrderId(), toBoardOrder(order, tasksByOrder.getOrDefault(order.getOrderId(), List.of())));
+                }
+            }
+            return orders;
+        });
+    }
+
+    private OrderBoardResponse.BoardOrder toBoardOrder(Order order, List<Task> tasks) {
+        int pending = 0;
+        int inProgress = 0;
+        int completed = 0;
+        List<OrderBoardResponse.BoardTask> boardTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getStatus() == TaskStatus.PENDING) {
+                pending++;
+            } else if (task.getStatus() == TaskStatus.IN_PROGRESS) {
+                inProgress++;
+            } else if (task.getStatus() == TaskStatus.COMPLETED) {
+                completed++;
+            }
+            boardTasks.add(new OrderBoardResponse.BoardTask(
+                task.getTaskId(),
+                task.getTaskType() != null ? task.getTaskType().name() : null,
+                task.getStatus() != null ? task.getStatus().name() : null,
+                task.getWorker() != null ? task.getWorker().getId() : null,
+                task.getWorker() != null && task.getWorker().getUser() != null ? task.getWorker().getUser().getName() : null
+            ));
+        }
+        boardTasks.sort(Comparator.comparing(OrderBoardResponse.BoardTask::getTaskId));
+
+        String customerName = order.getCustomer() != null && order.getCustomer().getUser() != null
+                ? order.getCustomer().getUser().getName() : null;
+        return new OrderBoardResponse.BoardOrder(order.getOrderId(), customerName,
+                order.getStatus() != null ? order.getStatus().name() : "NEW", order.getDeadline(),
+                pending, inProgress, completed, boardTasks);
+    }
+
+    private Long shopOf(Long userId) {
+        Long shopId = shopOfOwner.get(userId);
+        if (shopId == null) {
+            Owner owner = ownerRepository.findByUser_Id(userId)
+                    .orElseThrow(() -> new RuntimeException("Owner not found"));
+            shopId = owner.getShop().getShopId();
+            shopOfOwner.put(userId, shopId);
+        }
+        return shopId;
+    }
+
+    private ShopBoard board(Long shopId) {
+        return boards.computeIfAbsent(shopId, id -> new ShopBoard());
+    }
+
+    private void send(ShopBoard board, SseEmitter emitter, String name, Long version, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().id(String.valueOf(version)).name(name).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            board.subscribers.remove(emitter);
+        }
+    }
+
+    private final class ShopBoard {
+        private final Map<Long, OrderBoardResponse.BoardOrder> orders = new HashMap<>();
+        private final ArrayDeque<OrderBoardResponse.Delta> deltas = new ArrayDeque<>();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private long version;
+        private OrderBoardResponse snapshot; // Cached until the next change
+
+        // Record an order's new entry (null removes it); returns the delta, or null if nothing changed
+        private synchronized OrderBoardResponse.Delta apply(Long orderId, OrderBoardResponse.BoardOrder order) {
+            OrderBoardResponse.BoardOrder previous = order != null ? orders.put(orderId, order) : orders.remove(orderId);
+            if (order == null ? previous == null : order.equals(previous)) {
+                return null;
+            }
+            version++;
+            snapshot = null;
+            OrderBoardResponse.Delta delta = new OrderBoardResponse.Delta(version,
+                    order != null ? "UPSERT" : "REMOVE", orderId, order);
+            deltas.addLast(delta);
+            while (deltas.size() > deltaCapacity) {
+                deltas.removeFirst();
+            }
+            return delta;
+        }
+
+        private synchronized OrderBoardResponse snapshot() {
+            if (snapshot == null) {
+                List<OrderBoardResponse.BoardOrder> sorted = new ArrayList<>(orders.values());
+                sorted.sort(BOARD_ORDER);
+                snapshot = new OrderBoardResponse(version, List.copyOf(sorted));
+            }
+            return snapshot;
+        }
+
+        // Deltas after the given version, or null if some of them are no longer buffered
+        private synchronized List<OrderBoardResponse.Delta> deltasSince(long since) {
+            if (since > version) {
+                return null; // Version from before a restart
+            }
+            long oldest = deltas.isEmpty() ? version + 1 : deltas.peekFirst().getVersion();
+            if (since + 1 < oldest) {
+                return null;
+            }
+            List<OrderBoardResponse.Delta> missed = new ArrayList<>();
+            for (OrderBoardResponse.Delta delta : deltas) {
+                if (delta.getVersion() > since) {
+                    missed.add(delta);
+                }
+            }
+            return missed;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +39,7 @@ import com.stitcho.beta.entity.Shop;
 import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.User;
 import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.OrderChangedEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -57,44 +59,60 @@ public class AdminService {
     private final RateRepository rateRepository;
     private final WorkerRatingRepository workerRatingRepository;
     private final ShopRatingRepository shopRatingRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final AnalyticsCache analyticsCache;
+    private final DashboardExecutor dashboardExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get admin dashboard overview
      */
     public AdminDashboardResponse getAdminDashboard() {
-        Long totalShops = shopRepository.count();
-        Long totalOwners = ownerRepository.count();
-        Long totalWorkers = workerRepository.count();
-        Long totalOrders = orderRepository.count();
+        // Independent sections, computed concurrently
+        DashboardExecutor.Sections sections = dashboardExecutor.sections();
+        var totalShops = sections.submit("totalShops", shopRepository::count);
+        var totalOwners = sections.submit("totalOwners", ownerRepository::count);
+        var totalWorkers = sections.submit("totalWorkers", workerRepository::count);
+        var totalOrders = sections.submit("totalOrders", orderRepository::count);
+        var activeShops = sections.submit("activeShops", this::countActiveShops);
+        // Calculate system growth (comparing last month vs previous month)
+        var systemGrowth = sections.submit("systemGrowth", this::calculateSystemGrowth);
         
-        // Calculate active shops (shops with orders in last 30 days)
+        return new AdminDashboardResponse(
+            sections.get(totalShops),
+            sections.get(totalOwners),
+            sections.get(totalWorkers),
+            sections.get(totalOrders),
+            sections.get(activeShops),
+            sections.get(systemGrowth),
+            sections.staleSections()
+        );
+    }
+
+    /**
+     * Shops with orders in the last 30 days
+     */
+    private Long countActiveShops() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         List<Order> recentOrders = orderRepository.findAll().stream()
                 .filter(order -> order.getCreatedAt() != null && order.getCreatedAt().isAfter(thirtyDaysAgo))
                 .collect(Collectors.toList());
         
-        Long activeShops = recentOrders.stream()
+        return recentOrders.stream()
                 .map(order -> order.getShop().getShopId())
                 .distinct()
                 .count();
-        
-        // Calculate system growth (comparing last month vs previous month)
-        Double systemGrowth = calculateSystemGrowth();
-        
-        return new AdminDashboardResponse(
-            totalShops,
-            totalOwners,
-            totalWorkers,
-            totalOrders,
-            activeShops,
-            systemGrowth
-        );
     }
 
     /**
      * Get platform analytics
      */
+    @Transactional(readOnly = true)
     public PlatformAnalyticsResponse getPlatformAnalytics() {
+        return analyticsCache.get("platform-analytics", "platform", null, this::calculatePlatformAnalytics);
+    }
+
+    private PlatformAnalyticsResponse calculatePlatformAnalytics() {
         // System Metrics
         LocalDateTime today = LocalDate.now().atStartOfDay();
         LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
@@ -178,6 +196,7 @@ public class AdminService {
     /**
      * Get all shops with details
      */
+    @Transactional(readOnly = true)
     public List<AllShopsResponse> getAllShops(String searchQuery) {
         List<Shop> shops = shopRepository.findAll();
         
@@ -198,9 +217,7 @@ public class AdminService {
 
     private AllShopsResponse mapToAllShopsResponse(Shop shop) {
         // Get owner for this shop
-        Owner owner = ownerRepository.findAll().stream()
-                .filter(o -> o.getShop().getShopId().equals(shop.getShopId()))
-                .findFirst()
+        Owner owner = ownerRepository.findFirstByShop_ShopId(shop.getShopId())
                 .orElse(null);
         
         String ownerName = owner != null && owner.getUser() != null ? owner.getUser().getName() : "N/A";
@@ -424,9 +441,7 @@ public class AdminService {
         
         // Update owner details if provided
         if (request.getOwner() != null) {
-            Owner owner = ownerRepository.findAll().stream()
-                    .filter(o -> o.getShop().getShopId().equals(shopId))
-                    .findFirst()
+            Owner owner = ownerRepository.findFirstByShop_ShopId(shopId)
                     .orElse(null);
             
             if (owner != null && owner.getUser() != null) {
@@ -488,10 +503,17 @@ public class AdminService {
                     .filter(a -> a.getOrder().getOrderId().equals(order.getOrderId()))
                     .collect(Collectors.toList());
             orderActivityRepository.deleteAll(activities);
+
+            orderArchiveService.deleteArchived(order.getOrderId());
         }
         
         // Delete orders
         orderRepository.deleteAll(orders);
+
+        // After commit, the order board drops them like any other deleted order
+        for (Order order : orders) {
+            eventPublisher.publishEvent(new OrderChangedEvent(order.getOrderId(), shopId));
+        }
         
         // Delete workers and their related data
         for (Worker worker : workers) {
@@ -532,9 +554,7 @@ public class AdminService {
         );
         
         // Get owner for this shop
-        Owner owner = ownerRepository.findAll().stream()
-                .filter(o -> o.getShop().getShopId().equals(shopId))
-                .findFirst()
+        Owner owner = ownerRepository.findFirstByShop_ShopId(shopId)
                 .orElse(null);
         
         // Delete owner
@@ -0,0 +1,160 @@
+package com.stitcho.beta.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-flight result cache for the heavy analytics reads, keyed by
+ * (endpoint, tenant, parameters).
+ *
+ * Concurrent identical requests share one computation: the first caller runs
+ * it and the others wait for its result. A result is then served for ttl
+ * seconds. After that, and for up to stale seconds more, it is still served
+ * while exactly one caller recomputes it, so an expiring entry never sends
+ * every waiting dashboard to the database at once. Older entries are
+ * recomputed as if missing. Failures are not cached. A ttl of 0 keeps only
+ * the request coalescing.
+ *
+ * Cached results are shared, not copied: every caller gets the same instance
+ * until it expires, so callers must treat them as read-only and never modify
+ * a returned DTO.
+ */
+@Slf4j
+@Component
+public class AnalyticsCache {
+    private static final Counter HITS = counter("hit");
+    private static final Counter STALE_HITS = counter("stale");
+    private static final Counter MISSES = counter("miss");
+    private static final Counter SHARED = counter("shared");
+
+    @Value("${app.analytics.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.analytics.cache.stale-seconds:120}")
+    private long staleSeconds;
+
+    @Value("${app.analytics.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public <T> T get(String endpoint, Object tenant, Object params, Supplier<T> loader) {
+        return get(endpoint, tenant, params, loader, value -> true);
+    }
+
+    /**
+     * As get, but results failing the cacheable test (e.g. partial ones) are
+     * only shared with the callers already waiting, not kept
+     */
+    public <T> T get(String endpoint, Object tenant, Object params, Supplier<T> loader, Predicate<T> cacheable) {
+        String key = endpoint + ":" + tenant + ":" + params;
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            HITS.increment();
+            return cast(entry.value);
+        }
+        if (entry != null && now - entry.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds + staleSeconds)) {
+            STALE_HITS.increment();
+            if (entry.refreshing.compareAndSet(false, true)) {
+                try {
+                    return load(key, loader, cacheable);
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing {} failed, serving the previous result: {}", key, e.getMessage());
+                } finally {
+                    // A result that was not cacheable leaves this entry in place; let the next caller retry
+                    entry.refreshing.set(false);
+                }
+            }
+            return cast(entry.value);
+        }
+        return load(key, loader, cacheable);
+    }
+
+    private <T> T load(String key, Supplier<T> loader, Predicate<T> cacheable) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            SHARED.increment();
+            return await(running);
+        }
+        MISSES.increment();
+        try {
+            T value = loader.get();
+            if (cacheable.test(value)) {
+                store(key, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void store(String key, Object value) {
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            long oldest = System.nanoTime() - TimeUnit.SECONDS.toNanos(ttlSeconds + staleSeconds);
+            entries.values().removeIf(entry -> entry.loadedAt < oldest);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(value, System.nanoTime()));
+    }
+
+    private static <T> T await(CompletableFuture<Object> running) {
+        try {
+            return cast(running.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static Counter counter(String result) {
+        return Counter.builder("analytics.cache")
+                .description("Analytics reads by how they were answered")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
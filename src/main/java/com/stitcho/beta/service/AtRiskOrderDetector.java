@@ -0,0 +1,277 @@
+package com.stitcho.beta.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.event.OrderChangedEvent;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flags open orders whose remaining tasks are projected to finish after the
+ * order's deadline (end of the deadline day).
+ *
+ * An order's remaining stages run in sequence; each one starts once the
+ * previous stage is done and its worker has cleared the tasks ahead of it in
+ * their queue (same order as the worker queue), and takes the shop's median
+ * time in that stage. The result is stored on the order together with the
+ * time its slack runs out.
+ *
+ * Each tick only checks orders that can have changed: orders whose tasks
+ * changed, orders queued behind a worker whose tasks changed, orders edited
+ * since the last tick (new orders included, updated_at is set on insert),
+ * orders never checked yet, and orders whose slack ran out. Each of these is
+ * its own indexed query; nothing scans every open order periodically.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AtRiskOrderDetector {
+    private static final List<TaskStatus> OPEN_TASK_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+    private static final List<OrderStatus> CLOSED_ORDER_STATUSES =
+            List.of(OrderStatus.COMPLETED, OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    // Re-read orders edited shortly before the previous tick, in case they committed after it
+    private static final Duration EDIT_OVERLAP = Duration.ofMinutes(1);
+
+    private final OrderRepository orderRepository;
+    private final TaskRepository taskRepository;
+    private final TurnaroundStatsService turnaroundStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.risk.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.risk.default-stage-hours:8}")
+    private double defaultStageHours;
+
+    @Value("${app.risk.batch-size:500}")
+    private int batchSize;
+
+    private final Set<Long> changedOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedWorkers = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime lastScan;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskStateChanged(TaskStateChangedEvent event) {
+        changedOrders.add(event.getOrderId());
+        if (event.getWorkerId() != null) {
+            changedWorkers.add(event.getWorkerId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        changedOrders.add(event.getOrderId());
+    }
+
+    // Reassigned tasks move the order to another worker's queue
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        changedOrders.add(event.getOrderId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.risk.scan-ms:60000}")
+    public void scan() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastScan != null ? lastScan.minus(EDIT_OVERLAP) : now;
+
+        Set<Long> orderIds = new LinkedHashSet<>(drain(changedOrders));
+        Set<Long> workerIds = drain(changedWorkers);
+        try {
+            if (!workerIds.isEmpty()) {
+                orderIds.addAll(taskRepository.findOrderIdsQueuedFor(workerIds, OPEN_TASK_STATUSES));
+            }
+            // One indexed query per reason an order needs a check, instead of a scan of every open order
+            collect(orderIds, afterId -> orderRepository.findRiskReviewDue(CLOSED_ORDER_STATUSES, now, afterId,
+                    PageRequest.of(0, batchSize)));
+            collect(orderIds, afterId -> orderRepository.findEditedSince(CLOSED_ORDER_STATUSES, since, afterId,
+                    PageRequest.of(0, batchSize)));
+            collect(orderIds, afterId -> orderRepository.findRiskUnchecked(afterId, PageRequest.of(0, batchSize)));
+        } catch (RuntimeException e) {
+            changedOrders.addAll(orderIds);
+            changedWorkers.addAll(workerIds);
+            log.warn("At-risk scan failed to collect orders: {}", e.getMessage());
+            return;
+        }
+        lastScan = now;
+
+        List<Long> ids = new ArrayList<>(orderIds);
+        int flagged = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                flagged += evaluate(batch, now);
+            } catch (RuntimeException e) {
+                changedOrders.addAll(batch);
+                log.warn("At-risk check of {} orders failed: {}", batch.size(), e.getMessage());
+            }
+        }
+        if (!ids.isEmpty()) {
+            log.debug("Checked {} orders for deadline risk, {} at risk", ids.size(), flagged);
+        }
+    }
+
+    private int evaluate(List<Long> orderIds, LocalDateTime now) {
+        List<OrderRepository.RiskInput> orders = orderRepository.findRiskInputs(orderIds);
+
+        Map<Long, List<TaskRepository.OpenTaskRow>> tasksByOrder = new HashMap<>();
+        Set<Long> workerIds = new HashSet<>();
+        for (TaskRepository.OpenTaskRow task : taskRepository.findOpenTasksOfOrders(orderIds, OPEN_TASK_STATUSES)) {
+            tasksByOrder.computeIfAbsent(task.getOrderId(), k -> new ArrayList<>()).add(task);
+            if (task.getWorkerId() != null) {
+                workerIds.add(task.getWorkerId());
+            }
+        }
+
+        Map<Long, List<TaskRepository.OpenTaskRow>> queues = new HashMap<>();
+        if (!workerIds.isEmpty()) {
+            for (TaskRepository.OpenTaskRow task : taskRepository.findOpenTasksOfWorkers(workerIds, OPEN_TASK_STATUSES)) {
+                queues.computeIfAbsent(task.getWorkerId(), k -> new ArrayList<>()).add(task);
+            }
+            queues.values().forEach(queue -> queue.sort(QUEUE_ORDER));
+        }
+
+        Map<Long, StageEstimates> estimates = new HashMap<>();
+        List<RiskResult> results = new ArrayList<>();
+        int flagged = 0;
+        for (OrderRepository.RiskInput order : orders) {
+            List<TaskRepository.OpenTaskRow> remaining = tasksByOrder.get(order.getOrderId());
+            if (order.getDeadline() == null || remaining == null || order.getStatus() == null
+                    || CLOSED_ORDER_STATUSES.contains(order.getStatus())) {
+                results.add(new RiskResult(order.getOrderId(), false, null, null));
+                continue;
+            }
+            StageEstimates stageEstimates = estimates.computeIfAbsent(order.getShopId(), StageEstimates::new);
+
+            remaining.sort(Comparator.comparing(TaskRepository.OpenTaskRow::getTaskType));
+            LocalDateTime projected = now;
+            for (TaskRepository.OpenTaskRow task : remaining) {
+                if (task.getWorkerId() != null) {
+                    double aheadSeconds = 0;
+                    for (TaskRepository.OpenTaskRow queued : queues.getOrDefault(task.getWorkerId(), List.of())) {
+                        if (queued.getTaskId().equals(task.getTaskId())) {
+                            break;
+                        }
+                        aheadSeconds += stageEstimates.remainingSeconds(queued, now);
+                    }
+                    LocalDateTime workerFree = now.plusSeconds((long) aheadSeconds);
+                    if (workerFree.isAfter(projected)) {
+                        projected = workerFree;
+                    }
+                }
+                projected = projected.plusSeconds((long) stageEstimates.remainingSeconds(task, now));
+            }
+
+            LocalDateTime due = order.getDeadline().plusDays(1).atStartOfDay();
+            boolean atRisk = projected.isAfter(due);
+            // Not at risk yet: nothing changes until the slack is used up, so check again then
+            LocalDateTime reviewAt = atRisk ? null : now.plus(Duration.between(projected, due));
+            results.add(new RiskResult(order.getOrderId(), atRisk, projected, reviewAt));
+            if (atRisk) {
+                flagged++;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> results.forEach(result ->
+                orderRepository.updateRisk(result.orderId, result.atRisk, result.projectedCompletionAt,
+                        result.riskReviewAt)));
+        return flagged;
+    }
+
+    // Adds every chunk of candidate ids, read in id order
+    private void collect(Set<Long> orderIds, Function<Long, List<Long>> chunks) {
+        long afterId = 0L;
+        List<Long> chunk;
+        do {
+            chunk = chunks.apply(afterId);
+            orderIds.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == batchSize);
+    }
+
+    private static Set<Long> drain(Set<Long> source) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : source) {
+            if (source.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    // Same order as TaskRepository.findWorkerQueue: deadline (none last), stage, id
+    private static final Comparator<TaskRepository.OpenTaskRow> QUEUE_ORDER = Comparator
+            .comparing(TaskRepository.OpenTaskRow::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskRepository.OpenTaskRow::getTaskType)
+            .thenComparing(TaskRepository.OpenTaskRow::getTaskId);
+
+    /**
+     * Median stage durations of one shop, looked up once per check
+     */
+    private final class StageEstimates {
+        private final Map<TaskType, Double> seconds = new EnumMap<>(TaskType.class);
+
+        private StageEstimates(Long shopId) {
+            for (TaskType type : TaskType.values()) {
+                Double typical = shopId != null ? turnaroundStatsService.typicalStageSeconds(shopId, type) : null;
+                seconds.put(type, typical != null ? typical : defaultStageHours * 3600);
+            }
+        }
+
+        // Time a task still needs: the full estimate if pending, what's left of it if started
+        private double remainingSeconds(TaskRepository.OpenTaskRow task, LocalDateTime now) {
+            double estimate = seconds.get(task.getTaskType());
+            if (task.getStatus() == TaskStatus.IN_PROGRESS && task.getStartedAt() != null) {
+                estimate -= Duration.between(task.getStartedAt(), now).getSeconds();
+            }
+            return Math.max(0.0, estimate);
+        }
+    }
+
+    private static final class RiskResult {
+        private final Long orderId;
+        private final boolean atRisk;
+        private final LocalDateTime projectedCompletionAt;
+        private final LocalDateTime riskReviewAt;
+
+        private RiskResult(Long orderId, boolean atRisk, LocalDateTime projectedCompletionAt,
+                           LocalDateTime riskReviewAt) {
+            this.orderId = orderId;
+            this.atRisk = atRisk;
+            this.projectedCompletionAt = projectedCompletionAt;
+            this.riskReviewAt = riskReviewAt;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.stitcho.beta.Repository.PaymentRepository;
+import com.stitcho.beta.dto.BillResponse;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderItem;
+import com.stitcho.beta.entity.Payment;
+import com.stitcho.beta.util.BillPdfRenderer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds bills and keeps the rendered JSON and PDF in a bounded LRU cache.
+ * Entries are keyed by order id and checked against the order's content version
+ * (updatedAt, paid amount and status) and the shop and customer details printed
+ * on the bill, so a reprint of an unchanged order is a single map lookup and an
+ * edited shop or customer profile shows up on the next one.
+ *
+ * The bill date is the time of the request, not of the render: every bill is
+ * handed out as a copy carrying the current time, and the cached PDF, which
+ * prints the day only, is rendered again once that day has passed.
+ */
+@Service
+@RequiredArgsConstructor
+public class BillRenderingService {
+    private final OrderArchiveService orderArchiveService;
+    private final PaymentRepository paymentRepository;
+    private final BillPdfRenderer pdfRenderer;
+
+    @Value("${app.bill.cache-size:500}")
+    private int cacheSize;
+
+    private final Map<Long, RenderedBill> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, RenderedBill> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public BillResponse getBill(Order order) {
+        return datedNow(getRendered(order).bill);
+    }
+
+    public byte[] getPdf(Order order) {
+        RenderedBill rendered = getRendered(order);
+        RenderedPdf pdf = rendered.pdf;
+        LocalDate today = LocalDate.now();
+        if (pdf == null || !pdf.billDate.equals(today)) {
+            pdf = new RenderedPdf(today, pdfRenderer.render(datedNow(rendered.bill)));
+            rendered.pdf = pdf;
+        }
+        return pdf.bytes;
+    }
+
+    /**
+     * Drop the cached bill for an order, e.g. after a payment is recorded
+     */
+    public void evict(Long orderId) {
+        synchronized (cache) {
+            cache.remove(orderId);
+        }
+    }
+
+    private RenderedBill getRendered(Order order) {
+        String version = contentVersion(order);
+        // Shop and customer have no version of their own, so compare what the bill prints of them
+        BillResponse.ShopInfo shopInfo = shopInfo(order);
+        BillResponse.CustomerInfo customerInfo = customerInfo(order);
+        synchronized (cache) {
+            RenderedBill cached = cache.get(order.getOrderId());
+            if (cached != null && cached.version.equals(version)
+                    && cached.bill.getShop().equals(shopInfo) && cached.bill.getCustomer().equals(customerInfo)) {
+                return cached;
+            }
+        }
+
+        // Build outside the lock; a concurrent miss for the same order just renders twice
+        RenderedBill rendered = new RenderedBill(version, buildBill(order, shopInfo, customerInfo));
+        synchronized (cache) {
+            cache.put(order.getOrderId(), rendered);
+        }
+        return rendered;
+    }
+
+    private String contentVersion(Order order) {
+        LocalDateTime changedAt = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
+        return changedAt + "|" + order.getPaidAmount() + "|" + order.getStatus();
+    }
+
+    // A copy of the cached bill dated at the time of the request; the parts are shared, not copied
+    private static BillResponse datedNow(BillResponse bill) {
+        return new BillResponse(bill.getBillNumber(), LocalDateTime.now(), bill.getShop(), bill.getCustomer(),
+                bill.getOrder(), bill.getItems(), bill.getPricing(), bill.getPayment(), bill.getNotes(),
+                bill.getTerms());
+    }
+
+    private static BillResponse.ShopInfo shopInfo(Order order) {
+        BillResponse.ShopInfo shopInfo = new BillResponse.ShopInfo();
+        shopInfo.setShopId(order.getShop().getShopId());
+        shopInfo.setName(order.getShop().getShopName());
+        shopInfo.setAddress(order.getShop().getShopAddress());
+        shopInfo.setContactNumber(order.getShop().getShopMobileNo());
+        shopInfo.setEmail(order.getShop().getShopEmail());
+        shopInfo.setGstNumber(order.getShop().getGstNumber());
+        return shopInfo;
+    }
+
+    private static BillResponse.CustomerInfo customerInfo(Order order) {
+        BillResponse.CustomerInfo customerInfo = new BillResponse.CustomerInfo();
+        customerInfo.setCustomerId(order.getCustomer().getId());
+        customerInfo.setName(order.getCustomer().getUser().getName());
+        customerInfo.setContactNumber(order.getCustomer().getUser().getContactNumber());
+        customerInfo.setEmail(order.getCustomer().getUser().getEmail());
+        return customerInfo;
+    }
+
+    private BillResponse buildBill(Order order, BillResponse.ShopInfo shopInfo,
+                                   BillResponse.CustomerInfo customerInfo) {
+        Long orderId = order.getOrderId();
+        BillResponse bill = new BillResponse();
+
+        // Bill metadata; the date is set per request, see datedNow
+        bill.setBillNumber("BILL-" + order.getCreatedAt().getYear() + "-" +
+                String.format("%05d", order.getOrderId()));
+
+        // Shop and customer info
+        bill.setShop(shopInfo);
+        bill.setCustomer(customerInfo);
+
+        // Order info
+        BillResponse.OrderInfo orderInfo = new BillResponse.OrderInfo();
+        orderInfo.setOrderId(order.getOrderId());
+        orderInfo.setOrderNumber("ORD" + String.format("%03d", order.getOrderId()));
+        orderInfo.setOrderDate(order.getCreatedAt());
+        orderInfo.setDeadline(order.getDeadline());
+        orderInfo.setStatus(order.getStatus() != null ? order.getStatus().name() : "NEW");
+        bill.setOrder(orderInfo);
+
+        // Items
+        List<OrderItem> items = orderArchiveService.itemsOf(order);
+        List<BillResponse.ItemInfo> itemInfos = items.stream()
+                .map(item -> new BillResponse.ItemInfo(
+                        item.getItemId(),
+                        item.getItemName(),
+                        item.getQuantity(),
+                        item.getPrice(),
+                        item.getPrice() * item.getQuantity(),
+                        item.getFabricType(),
+                        item.getItemName() + " - " + item.getFabricType()
+                ))
+                .collect(Collectors.toList());
+        bill.setItems(itemInfos);
+
+        // Pricing
+        double subtotal = order.getTotalPrice();
+        BillResponse.PricingInfo pricing = new BillResponse.PricingInfo();
+        pricing.setSubtotal(subtotal);
+        pricing.setDiscount(0.0);
+        pricing.setTaxRate(0.0);
+        pricing.setTaxAmount(0.0);
+        pricing.setTotalAmount(subtotal);
+        bill.setPricing(pricing);
+
+        // Payment info
+        List<Payment> payments = paymentRepository.findByOrder_OrderIdOrderByPaymentDateDesc(orderId);
+        List<BillResponse.PaymentDetail> paymentDetails = payments.stream()
+                .map(p -> new BillResponse.PaymentDetail(
+                        p.getAmount(),
+                        p.getPaymentMethod().name(),
+                        p.getPaymentDate(),
+                        p.getNote()
+                ))
+                .collect(Collectors.toList());
+
+        double paidAmount = order.getPaidAmount() != null ? order.getPaidAmount() : 0.0;
+        BillResponse.PaymentInfo paymentInfo = new BillResponse.PaymentInfo();
+        paymentInfo.setTotalPrice(order.getTotalPrice());
+        paymentInfo.setPaidAmount(paidAmount);
+        paymentInfo.setBalanceAmount(order.getTotalPrice() - paidAmount);
+        paymentInfo.setPaymentStatus(order.getPaymentStatus());
+        paymentInfo.setPayments(paymentDetails);
+        bill.setPayment(paymentInfo);
+
+        // Notes and terms
+        bill.setNotes(order.getNotes());
+        bill.setTerms("All sales are final. No refunds or exchanges.");
+
+        return bill;
+    }
+
+    private static final class RenderedBill {
+        private final String version;
+        private final BillResponse bill;
+        private volatile RenderedPdf pdf;
+
+        private RenderedBill(String version, BillResponse bill) {
+            this.version = version;
+            this.bill = bill;
+        }
+    }
+
+    private static final class RenderedPdf {
+        private final LocalDate billDate;
+        private final byte[] bytes;
+
+        private RenderedPdf(LocalDate billDate, byte[] bytes) {
+            this.billDate = billDate;
+            this.bytes = bytes;
+        }
+    }
+}
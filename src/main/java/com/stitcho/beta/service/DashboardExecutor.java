@@ -0,0 +1,154 @@
+package com.stitcho.beta.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Computes the independent sections of a dashboard at the same time, so the
+ * dashboard takes as long as its slowest section rather than the sum.
+ *
+ * Sections run on a small dedicated pool, each in its own read-only
+ * transaction whose timeout is the time left until the deadline. The pool
+ * size is the most connections sections can hold at once. The request thread
+ * waiting on them must not hold one as well: callers look up what they need
+ * in short transactions before submitting, and the dashboard endpoints run
+ * without open-session-in-view (OpenEntityManagerInViewConfig).
+ *
+ * A section that fails, is rejected by a full queue or is not done within the
+ * section timeout (counted from the start of the dashboard) comes back as
+ * null and is listed as stale; the rest of the dashboard is still returned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardExecutor {
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.threads:4}")
+    private int threads;
+
+    @Value("${app.dashboard.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.dashboard.section-timeout-ms:5000}")
+    private long sectionTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A new dashboard: sections submitted to it share one deadline
+     */
+    public Sections sections() {
+        return new Sections(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs));
+    }
+
+    public final class Sections {
+        private final long deadline;
+        private final List<String> stale = Collections.synchronizedList(new ArrayList<>());
+
+        private Sections(long deadline) {
+            this.deadline = deadline;
+        }
+
+        public <T> Section<T> submit(String name, Supplier<T> work) {
+            try {
+                return new Section<>(name, executor.submit(() ->
+                        sectionTransaction(deadline).execute(status -> work.get())));
+            } catch (RejectedExecutionException e) {
+                log.warn("Dashboard section {} rejected, dashboard pool is saturated", name);
+                return new Section<>(name, null);
+            }
+        }
+
+        /**
+         * The section's result, or null (and the section marked stale) when it
+         * failed or missed the deadline
+         */
+        public <T> T get(Section<T> section) {
+            if (section.future == null) {
+                stale.add(section.name);
+                return null;
+            }
+            try {
+                return section.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                section.future.cancel(true);
+                log.warn("Dashboard section {} timed out after {} ms", section.name, sectionTimeoutMs);
+            } catch (ExecutionException e) {
+                log.warn("Dashboard section {} failed: {}", section.name, e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                section.future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            stale.add(section.name);
+            return null;
+        }
+
+        public List<String> staleSections() {
+            return List.copyOf(stale);
+        }
+    }
+
+    // Read-only, with a timeout of what's left of the deadline: Hibernate passes it on as
+    // the JDBC query timeout, so the database abandons a section the dashboard gave up on
+    // instead of holding a pool thread and connection
+    private TransactionTemplate sectionTransaction(long deadline) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs <= 0) {
+            throw new IllegalStateException("Deadline passed while queued");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (remainingMs + 999) / 1000));
+        // Named like a service method, so the sections may read from the replica
+        transaction.setName(DashboardExecutor.class.getName() + ".section");
+        return transaction;
+    }
+
+    public static final class Section<T> {
+        private final String name;
+        private final Future<T> future;
+
+        private Section(String name, Future<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.ShopRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.LeaderboardResponse;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.util.TopK;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Platform-wide leaderboards, rebuilt on a schedule from per-shop and per-worker
+ * rollups and served from memory. Each board keeps only the top entries (bounded
+ * heap), and entities below the minimum sample size are never ranked.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    public static final String TOP_RATED_SHOPS = "top-rated-shops";
+    public static final String TOP_WORKERS_BY_COMPLETION = "top-workers-by-completion";
+    public static final String FASTEST_TURNAROUND_SHOPS = "fastest-turnaround-shops";
+
+    private final ShopRepository shopRepository;
+    private final WorkerRepository workerRepository;
+    private final TaskRepository taskRepository;
+    private final OrderRepository orderRepository;
+
+    @Value("${app.leaderboard.size:50}")
+    private int boardSize;
+
+    @Value("${app.leaderboard.min-ratings:5}")
+    private long minRatings;
+
+    @Value("${app.leaderboard.min-tasks:10}")
+    private long minTasks;
+
+    @Value("${app.leaderboard.min-orders:5}")
+    private long minOrders;
+
+    @Value("${app.leaderboard.turnaround-days:90}")
+    private int turnaroundDays;
+
+    private volatile Map<String, LeaderboardResponse> boards = Map.of();
+
+    /**
+     * Get a leaderboard, best first, limited to the requested number of entries
+     */
+    public LeaderboardResponse getBoard(String board, Integer limit) {
+        if (boards.isEmpty()) {
+            refreshIfEmpty();
+        }
+        LeaderboardResponse snapshot = boards.get(board);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Unknown leaderboard: " + board);
+        }
+
+        int size = limit != null && limit > 0 ? Math.min(limit, snapshot.getEntries().size()) : snapshot.getEntries().size();
+        return new LeaderboardResponse(snapshot.getBoard(), snapshot.getMetric(), snapshot.getMinSamples(),
+                snapshot.getRefreshedAt(), snapshot.getEntries().subList(0, size));
+    }
+
+    private synchronized void refreshIfEmpty() {
+        if (boards.isEmpty()) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.leaderboard.refresh-ms:600000}",
+               initialDelayString = "${app.leaderboard.initial-delay-ms:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, LeaderboardResponse> next = new HashMap<>();
+        next.put(TOP_RATED_SHOPS, buildTopRatedShops(now));
+        next.put(TOP_WORKERS_BY_COMPLETION, buildTopWorkersByCompletion(now));
+        next.put(FASTEST_TURNAROUND_SHOPS, buildFastestTurnaroundShops(now));
+        boards = Map.copyOf(next);
+        log.debug("Leaderboards refreshed at {}", now);
+    }
+
+    private LeaderboardResponse buildTopRatedShops(LocalDateTime now) {
+        TopK<LeaderboardResponse.Entry> top = new TopK<>(boardSize,
+                Comparator.comparing(LeaderboardResponse.Entry::getScore)
+                        .thenComparing(LeaderboardResponse.Entry::getSamples)
+                        .thenComparing(LeaderboardResponse.Entry::getId, Comparator.reverseOrder()));
+
+        for (ShopRepository.ShopRatingRow row : shopRepository.findRankableShops(minRatings)) {
+            long count = row.getRatingCount().longValue();
+            double average = row.getRatingSum().doubleValue() / count;
+            top.offer(new LeaderboardResponse.Entry(null, row.getShopId(), row.getShopName(),
+                    row.getShopAddress(), round(average), count));
+        }
+
+        return new LeaderboardResponse(TOP_RATED_SHOPS, "averageRating", minRatings, now, rank(top.toSortedList()));
+    }
+
+    private LeaderboardResponse buildTopWorkersByCompletion(LocalDateTime now) {
+        TopK<LeaderboardResponse.Entry> top = new TopK<>(boardSize,
+                Comparator.comparing(LeaderboardResponse.Entry::getScore)
+                        .thenComparing(LeaderboardResponse.Entry::getSamples)
+                        .thenComparing(LeaderboardResponse.Entry::getId, Comparator.reverseOrder()));
+
+        for (TaskRepository.WorkerTaskTotals row : taskRepository.countTasksPerWorker(
+                TaskStatus.COMPLETED.name(), TaskStatus.CANCELLED.name(), minTasks)) {
+            long total = row.getTotalTasks().longValue();
+            double completionRate = row.getCompletedTasks().doubleValue() * 100.0 / total;
+            top.offer(new LeaderboardResponse.Entry(null, row.getWorkerId(), null, null, round(completionRate), total));
+        }
+
+        // Names are only looked up for the entries that made the board
+        List<LeaderboardResponse.Entry> entries = top.toSortedList();
+        Map<Long, Worker> workers = workerRepository.findAllById(
+                entries.stream().map(LeaderboardResponse.Entry::getId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Worker::getId, Function.identity()));
+        for (LeaderboardResponse.Entry entry : entries) {
+            Worker worker = workers.get(entry.getId());
+            if (worker != null) {
+                entry.setName(worker.getUser() != null ? worker.getUser().getName() : null);
+                entry.setDetail(worker.getShop() != null ? worker.getShop().getShopName() : null);
+            }
+        }
+
+        return new LeaderboardResponse(TOP_WORKERS_BY_COMPLETION, "completionRate", minTasks, now, rank(entries));
+    }
+
+    private LeaderboardResponse buildFastestTurnaroundShops(LocalDateTime now) {
+        // Lower average hours ranks higher
+        TopK<LeaderboardResponse.Entry> top = new TopK<>(boardSize,
+                Comparator.comparing(LeaderboardResponse.Entry::getScore, Comparator.reverseOrder())
+                        .thenComparing(LeaderboardResponse.Entry::getSamples)
+                        .thenComparing(LeaderboardResponse.Entry::getId, Comparator.reverseOrder()));
+
+        for (OrderRepository.ShopTurnaround row : orderRepository.findShopTurnaround(
+                now.minusDays(turnaroundDays), minOrders)) {
+            top.offer(new LeaderboardResponse.Entry(null, row.getShopId(), null, null,
+                    round(row.getAvgHours().doubleValue()), row.getOrderCount().longValue()));
+        }
+
+        List<LeaderboardResponse.Entry> entries = top.toSortedList();
+        Map<Long, Shop> shops = shopRepository.findAllById(
+                entries.stream().map(LeaderboardResponse.Entry::getId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Shop::getShopId, Function.identity()));
+        for (LeaderboardResponse.Entry entry : entries) {
+            Shop shop = shops.get(entry.getId());
+            if (shop != null) {
+                entry.setName(shop.getShopName());
+                entry.setDetail(shop.getShopAddress());
+            }
+        }
+
+        return new LeaderboardResponse(FASTEST_TURNAROUND_SHOPS, "averageTurnaroundHours", minOrders, now, rank(entries));
+    }
+
+    private List<LeaderboardResponse.Entry> rank(List<LeaderboardResponse.Entry> sorted) {
+        List<LeaderboardResponse.Entry> ranked = new ArrayList<>(sorted);
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).setRank(i + 1);
+        }
+        return List.copyOf(ranked);
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
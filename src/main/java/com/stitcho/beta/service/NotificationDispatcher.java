@@ -0,0 +1,184 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OutboxMessageRepository;
+import com.stitcho.beta.entity.OutboxMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the notification outbox: claims due messages in batches, sends them
+ * through the JavaMailSender and records the outcome. Runs every poll-ms on
+ * its own thread, so a slow or unreachable SMTP server never holds up the
+ * request path or the other scheduled jobs.
+ *
+ * A batch is claimed with FOR UPDATE SKIP LOCKED, so several instances can
+ * dispatch at once without sending a message twice. Claiming counts the
+ * attempt and leases the message for lease-ms; the mail is then sent outside
+ * any transaction, so no lock or connection is held during SMTP. If an
+ * instance dies mid-send, the lease expires and the message is retried.
+ * Failures are retried after backoff-ms, doubling per attempt up to
+ * max-backoff-ms; after max-attempts the message is marked DEAD and left for
+ * inspection. Sent messages are pruned after retention-days.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    private static final Counter SENT = counter("sent");
+    private static final Counter RETRIED = counter("retried");
+    private static final Counter DEAD = counter("dead");
+
+    private final OutboxMessageRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.outbox.from:no-reply@stitcho.local}")
+    private String from;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${app.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.outbox.retention-days:14}")
+    private int retentionDays;
+
+    @Value("${app.outbox.poll-ms:5000}")
+    private long pollMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::dispatchDue, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private void dispatchDue() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // Keep polling; a failed claim or status update is retried on the next run
+            log.warn("Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends every message that is due, batch by batch; returns how many were sent
+     */
+    public int dispatch() {
+        int sent = 0;
+        List<OutboxMessage> batch;
+        do {
+            batch = claim();
+            for (OutboxMessage message : batch) {
+                if (send(message)) {
+                    sent++;
+                }
+            }
+        } while (batch.size() == batchSize);
+        return sent;
+    }
+
+    @Scheduled(cron = "${app.outbox.prune-cron:0 0 5 * * *}")
+    public void pruneSent() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+        if (removed != null && removed > 0) {
+            log.info("Pruned {} sent outbox messages older than {} days", removed, retentionDays);
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+            for (OutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(leaseMs, ChronoUnit.MILLIS));
+            }
+            return due;
+        });
+    }
+
+    private boolean send(OutboxMessage message) {
+        try {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mailSender.send(mail);
+        } catch (RuntimeException e) {
+            failed(message, e);
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.markSent(message.getId(), LocalDateTime.now()));
+        SENT.increment();
+        return true;
+    }
+
+    private void failed(OutboxMessage message, RuntimeException e) {
+        String error = e.getMessage() != null && e.getMessage().length() > 1000
+                ? e.getMessage().substring(0, 1000) : e.getMessage();
+        if (message.getAttempts() >= maxAttempts) {
+            log.error("Giving up on outbox message {} to {} after {} attempts: {}", message.getId(),
+                    message.getRecipient(), message.getAttempts(), error);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markDead(message.getId(), error));
+            DEAD.increment();
+            return;
+        }
+
+        long delayMs = Math.min(maxBackoffMs, backoffMs << Math.min(message.getAttempts() - 1, 20));
+        log.warn("Outbox message {} failed (attempt {}/{}), retrying in {} ms: {}", message.getId(),
+                message.getAttempts(), maxAttempts, delayMs, error);
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.reschedule(message.getId(),
+                LocalDateTime.now().plus(delayMs, ChronoUnit.MILLIS), error));
+        RETRIED.increment();
+    }
+
+    private static Counter counter(String result) {
+        return Counter.builder("notification.outbox")
+                .description("Outbox messages by dispatch outcome")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OutboxMessageRepository;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OutboxMessage;
+import com.stitcho.beta.entity.Payment;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Customer emails for order status changes and payments, queued in the
+ * notification_outbox table instead of sent.
+ *
+ * Each message is written in the transaction of the change it announces, so
+ * it exists exactly when that change commits, and the request never waits on
+ * SMTP. NotificationDispatcher sends it afterwards. Customers without an
+ * email address are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    private final OutboxMessageRepository outboxRepository;
+    private final OrderRepository orderRepository;
+
+    // Synchronous, so it runs in the transaction that changed the status
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Order order = orderRepository.findById(event.getOrderId()).orElse(null);
+        String recipient = emailOf(order);
+        if (recipient == null) {
+            return;
+        }
+
+        String status = event.getNewStatus().name().replace('_', ' ').toLowerCase();
+        enqueue(recipient, "Order #" + order.getOrderId() + " is now " + status,
+                "Hello " + order.getCustomer().getUser().getName() + ",\n\n" +
+                "Your order #" + order.getOrderId() + " at " + order.getShop().getShopName() +
+                " is now " + status + ".\n");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentReceived(Payment payment) {
+        Order order = payment.getOrder();
+        String recipient = emailOf(order);
+        if (recipient == null) {
+            return;
+        }
+
+        double balance = order.getTotalPrice() - (order.getPaidAmount() != null ? order.getPaidAmount() : 0.0);
+        enqueue(recipient, "Payment received for order #" + order.getOrderId(),
+                "Hello " + order.getCustomer().getUser().getName() + ",\n\n" +
+                order.getShop().getShopName() + " has received your payment of " +
+                String.format("%.2f", payment.getAmount()) + " (" + payment.getPaymentMethod() + ") for order #" +
+                order.getOrderId() + ". Remaining balance: " + String.format("%.2f", Math.max(0, balance)) + ".\n");
+    }
+
+    private void enqueue(String recipient, String subject, String body) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(message);
+    }
+
+    private static String emailOf(Order order) {
+        if (order == null || order.getCustomer() == null || order.getCustomer().getUser() == null) {
+            return null;
+        }
+        String email = order.getCustomer().getUser().getEmail();
+        return email != null && !email.isBlank() ? email : null;
+    }
+}
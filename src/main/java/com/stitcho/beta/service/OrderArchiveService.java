@@ -0,0 +1,241 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.ArchivedOrderActivityRepository;
+import com.stitcho.beta.Repository.ArchivedOrderItemRepository;
+import com.stitcho.beta.Repository.ArchivedTaskRepository;
+import com.stitcho.beta.Repository.OrderActivityRepository;
+import com.stitcho.beta.Repository.OrderItemRepository;
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.entity.ArchivedOrderItem;
+import com.stitcho.beta.entity.ArchivedTask;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderItem;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.Worker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the items, tasks and activities of orders delivered or cancelled more
+ * than app.archive.after-months ago into the archived_* tables, and reads an
+ * order's details from whichever side holds them.
+ *
+ * The order row itself stays in orders: payments, ratings and the payment
+ * ledger reference it, and it is one row per order against several detail rows.
+ * Archived orders are marked with archivedAt. Archiving runs nightly in batches
+ * of app.archive.batch-size orders, one transaction per batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+    private static final List<OrderStatus> CLOSED_ORDER_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TaskRepository taskRepository;
+    private final OrderActivityRepository orderActivityRepository;
+    private final OrderTaskCounterRepository orderTaskCounterRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedOrderActivityRepository archivedOrderActivityRepository;
+    private final WorkerRepository workerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.after-months:12}")
+    private int afterMonths;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches:50}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archiveClosedOrders() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(afterMonths);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> orderIds = orderRepository.findArchivable(CLOSED_ORDER_STATUSES, cutoff,
+                    PageRequest.of(0, batchSize));
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> archive(orderIds));
+            } catch (RuntimeException e) {
+                log.warn("Archiving {} orders failed, will retry next run: {}", orderIds.size(), e.getMessage());
+                break;
+            }
+            archived += orderIds.size();
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} orders closed before {}", archived, cutoff.toLocalDate());
+        }
+    }
+
+    private void archive(List<Long> orderIds) {
+        archivedOrderItemRepository.copyFromOrderItems(orderIds);
+        archivedTaskRepository.copyFromTasks(orderIds);
+        archivedOrderActivityRepository.copyFromOrderActivities(orderIds);
+
+        orderItemRepository.deleteByOrderIdIn(orderIds);
+        taskRepository.deleteByOrderIdIn(orderIds);
+        orderActivityRepository.deleteByOrderIdIn(orderIds);
+        orderTaskCounterRepository.deleteByOrderIdIn(orderIds);
+
+        orderRepository.markArchived(orderIds, LocalDateTime.now());
+    }
+
+    /**
+     * The order's items, from the archive once the order is archived
+     */
+    public List<OrderItem> itemsOf(Order order) {
+        if (order.getArchivedAt() == null) {
+            return orderItemRepository.findByOrder_OrderId(order.getOrderId());
+        }
+        List<OrderItem> items = new ArrayList<>();
+        for (ArchivedOrderItem archived : archivedOrderItemRepository.findByOrderId(order.getOrderId())) {
+            items.add(restore(archived, order));
+        }
+        return items;
+    }
+
+    /**
+     * Items of several orders by order id, in at most two queries however many orders
+     * there are. Orders without items have no entry.
+     */
+    public Map<Long, List<OrderItem>> itemsOf(Collection<Order> orders) {
+        Map<Long, Order> live = new HashMap<>();
+        Map<Long, Order> archived = new HashMap<>();
+        orders.forEach(order -> (order.getArchivedAt() == null ? live : archived).put(order.getOrderId(), order));
+
+        Map<Long, List<OrderItem>> items = new HashMap<>();
+        if (!live.isEmpty()) {
+            for (OrderItem item : orderItemRepository.findByOrder_OrderIdIn(live.keySet())) {
+                items.computeIfAbsent(item.getOrder().getOrderId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        if (!archived.isEmpty()) {
+            for (ArchivedOrderItem item : archivedOrderItemRepository.findByOrderIdIn(archived.keySet())) {
+                items.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>())
+                        .add(restore(item, archived.get(item.getOrderId())));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * The order's tasks, from the archive once the order is archived. Archived tasks
+     * come back detached and read-only; their worker is null if it has been deleted.
+     */
+    public List<Task> tasksOf(Order order) {
+        if (order.getArchivedAt() == null) {
+            return taskRepository.findByOrder_OrderId(order.getOrderId());
+        }
+        List<ArchivedTask> archivedTasks = archivedTaskRepository.findByOrderId(order.getOrderId());
+        Map<Long, Worker> workers = workersOf(archivedTasks);
+
+        List<Task> tasks = new ArrayList<>();
+        for (ArchivedTask archived : archivedTasks) {
+            tasks.add(restore(archived, order, workers));
+        }
+        return tasks;
+    }
+
+    /**
+     * Tasks of several orders by order id, with their workers, in a fixed number of
+     * queries however many orders there are. Orders without tasks have no entry.
+     */
+    public Map<Long, List<Task>> tasksOf(Collection<Order> orders) {
+        Map<Long, Order> live = new HashMap<>();
+        Map<Long, Order> archived = new HashMap<>();
+        orders.forEach(order -> (order.getArchivedAt() == null ? live : archived).put(order.getOrderId(), order));
+
+        Map<Long, List<Task>> tasks = new HashMap<>();
+        if (!live.isEmpty()) {
+            for (Task task : taskRepository.findWithWorkerByOrderIdIn(live.keySet())) {
+                tasks.computeIfAbsent(task.getOrder().getOrderId(), id -> new ArrayList<>()).add(task);
+            }
+        }
+        if (!archived.isEmpty()) {
+            List<ArchivedTask> archivedTasks = archivedTaskRepository.findByOrderIdIn(archived.keySet());
+            Map<Long, Worker> workers = workersOf(archivedTasks);
+            for (ArchivedTask task : archivedTasks) {
+                tasks.computeIfAbsent(task.getOrderId(), id -> new ArrayList<>())
+                        .add(restore(task, archived.get(task.getOrderId()), workers));
+            }
+        }
+        return tasks;
+    }
+
+    private Map<Long, Worker> workersOf(List<ArchivedTask> archivedTasks) {
+        Set<Long> workerIds = new HashSet<>();
+        archivedTasks.forEach(task -> {
+            if (task.getWorkerId() != null) {
+                workerIds.add(task.getWorkerId());
+            }
+        });
+        return workerRepository.findAllById(workerIds).stream()
+                .collect(Collectors.toMap(Worker::getId, Function.identity()));
+    }
+
+    private static OrderItem restore(ArchivedOrderItem archived, Order order) {
+        return new OrderItem(archived.getItemId(), order, archived.getItemName(), archived.getQuantity(),
+                archived.getPrice(), archived.getFabricType());
+    }
+
+    private static Task restore(ArchivedTask archived, Order order, Map<Long, Worker> workers) {
+        Task task = new Task();
+        task.setTaskId(archived.getTaskId());
+        task.setOrder(order);
+        task.setWorker(archived.getWorkerId() != null ? workers.get(archived.getWorkerId()) : null);
+        task.setTaskType(archived.getTaskType());
+        task.setStatus(archived.getStatus());
+        task.setAssignedAt(archived.getAssignedAt());
+        task.setStartedAt(archived.getStartedAt());
+        task.setCompletedAt(archived.getCompletedAt());
+        task.setAutoAssigned(archived.getAutoAssigned());
+        return task;
+    }
+
+    /**
+     * Drop the archived rows of an order that is being deleted
+     */
+    public void deleteArchived(Long orderId) {
+        archivedOrderItemRepository.deleteByOrderId(orderId);
+        archivedTaskRepository.deleteByOrderId(orderId);
+        archivedOrderActivityRepository.deleteByOrderId(orderId);
+    }
+}
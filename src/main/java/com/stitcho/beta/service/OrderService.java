@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,7 +13,6 @@ import com.stitcho.beta.Repository.OrderItemRepository;
 import com.stitcho.beta.Repository.OrderRepository;
 import com.stitcho.beta.Repository.ShopRepository;
 import com.stitcho.beta.Repository.TaskRepository;
-import com.stitcho.beta.Repository.WorkerRepository;
 import com.stitcho.beta.dto.CreateOrderRequest;
 import com.stitcho.beta.dto.OrderResponse;
 import com.stitcho.beta.entity.Customer;
@@ -24,6 +24,7 @@ import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.TaskStatus;
 import com.stitcho.beta.entity.TaskType;
 import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.TaskStateChangedEvent;
 
 
 import lombok.RequiredArgsConstructor;
@@ -35,9 +36,10 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final TaskRepository taskRepository;
     private final CustomerRepository customerRepository;
-    private final WorkerRepository workerRepository;
     private final ShopRepository shopRepository;
-    private final ActivityLogService activityLogService;
+    private final WorkerAssignmentService workerAssignmentService;
+    private final OrderArchiveService orderArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Long createOrder(Long shopId, CreateOrderRequest request) {
@@ -72,23 +74,22 @@ public class OrderService {
             orderItemRepository.save(item);
         }
 
-        // 5️⃣ Create tasks
+        // 5️⃣ Create tasks (validates the worker, or auto-assigns when none is given)
         for (CreateOrderRequest.TaskRequest taskReq : request.getTasks()) {
-            Worker worker = workerRepository.findById(taskReq.getWorkerId())
-                    .orElseThrow(() -> new RuntimeException("Worker not found"));
-
-            // Validate worker belongs to shop
-            if (!worker.getShop().getShopId().equals(shopId)) {
-                throw new RuntimeException("Worker does not belong to this shop");
-            }
+            TaskType taskType = TaskType.valueOf(taskReq.getTaskType().toUpperCase());
+            Worker worker = workerAssignmentService.assignWorker(shop, taskReq.getWorkerId(), taskType);
 
             Task task = new Task();
             task.setOrder(order);
             task.setWorker(worker);
-            task.setTaskType(TaskType.valueOf(taskReq.getTaskType().toUpperCase()));
+            task.setTaskType(taskType);
             task.setStatus(TaskStatus.PENDING);
             task.setAssignedAt(LocalDateTime.now());
-            taskRepository.save(task);
+            task.setAutoAssigned(taskReq.getWorkerId() == null);
+            task = taskRepository.save(task);
+
+            eventPublisher.publishEvent(new TaskStateChangedEvent(task.getTaskId(), order.getOrderId(),
+                    shopId, worker.getId(), taskType, null, TaskStatus.PENDING, null, null));
         }
 
         return order.getOrderId();
@@ -142,7 +143,7 @@ public class OrderService {
         }
 
         // Order items
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(order.getOrderId());
+        List<OrderItem> items = orderArchiveService.itemsOf(order);
         List<OrderResponse.OrderItemInfo> itemInfos = items.stream()
                 .map(item -> {
                     OrderResponse.OrderItemInfo info = new OrderResponse.OrderItemInfo();
@@ -157,7 +158,7 @@ public class OrderService {
         response.setItems(itemInfos);
 
         // Tasks
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+        List<Task> tasks = orderArchiveService.tasksOf(order);
         List<OrderResponse.TaskInfo> taskInfos = tasks.stream()
                 .map(task -> {
                     OrderResponse.TaskInfo info = new OrderResponse.TaskInfo();
@@ -179,44 +180,4 @@ public class OrderService {
 
         return response;
     }
-
-    @Transactional
-    public void updateOrderStatus(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-
-        OrderStatus oldStatus = order.getStatus();
-        List<Task> allTasks = taskRepository.findByOrder_OrderId(orderId);
-        
-        // Check if all tasks are completed
-        boolean allCompleted = allTasks.stream()
-                .allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
-
-        if (allCompleted) {
-            order.setStatus(OrderStatus.COMPLETED);
-        } else {
-            // Find highest priority in-progress task
-            boolean hasCuttingInProgress = allTasks.stream()
-                    .anyMatch(t -> t.getTaskType() == TaskType.CUTTING && t.getStatus() == TaskStatus.IN_PROGRESS);
-            boolean hasStitchingInProgress = allTasks.stream()
-                    .anyMatch(t -> t.getTaskType() == TaskType.STITCHING && t.getStatus() == TaskStatus.IN_PROGRESS);
-            boolean hasIroningInProgress = allTasks.stream()
-                    .anyMatch(t -> t.getTaskType() == TaskType.IRONING && t.getStatus() == TaskStatus.IN_PROGRESS);
-
-            if (hasCuttingInProgress) {
-                order.setStatus(OrderStatus.CUTTING);
-            } else if (hasStitchingInProgress) {
-                order.setStatus(OrderStatus.STITCHING);
-            } else if (hasIroningInProgress) {
-                order.setStatus(OrderStatus.IRONING);
-            }
-        }
-
-        orderRepository.save(order);
-
-        // Log status change if status actually changed
-        if (oldStatus != order.getStatus()) {
-            activityLogService.logStatusChange(order, oldStatus, order.getStatus());
-        }
-    }
 }
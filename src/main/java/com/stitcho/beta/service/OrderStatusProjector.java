@@ -0,0 +1,124 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Derives order status from task transitions.
+ *
+ * Runs synchronously inside the transaction that changed the task, so the
+ * counters and the order status commit (or roll back) together with it.
+ * Each transition is one counter UPDATE plus a read of at most one row per
+ * task type, independent of how many tasks the order has.
+ *
+ * Every transition also bumps the order's version. Two transactions moving
+ * tasks of the same order therefore cannot both commit a status derived from
+ * counters that miss the other's change: the loser fails its version check
+ * and is retried by TransactionRetry, deriving again from committed counters.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusProjector {
+    private final OrderTaskCounterRepository counterRepository;
+    private final OrderRepository orderRepository;
+    private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @EventListener
+    public void onTaskStateChanged(TaskStateChangedEvent event) {
+        if (event.getOrderId() == null || event.getTaskType() == null) {
+            return;
+        }
+
+        int updated = counterRepository.applyDelta(event.getOrderId(), event.getTaskType(),
+                delta(TaskStatus.PENDING, event), delta(TaskStatus.IN_PROGRESS, event),
+                delta(TaskStatus.COMPLETED, event));
+        if (updated == 0) {
+            // First task of this type for the order (or an order from before the counters
+            // existed): seed the counter from the tasks, which already include this
+            // transition. If a concurrent transaction seeded it first, its seed could not
+            // see this uncommitted transition, so apply the delta to its row instead.
+            if (counterRepository.createFromTasks(event.getOrderId(), event.getTaskType().name()) == 0) {
+                counterRepository.applyDelta(event.getOrderId(), event.getTaskType(),
+                        delta(TaskStatus.PENDING, event), delta(TaskStatus.IN_PROGRESS, event),
+                        delta(TaskStatus.COMPLETED, event));
+            }
+            // The other task types of an order from before the counters existed
+            counterRepository.createMissingFromTasks(event.getOrderId());
+        }
+
+        // Creating tasks never moves an order forward
+        if (event.getOldStatus() != null) {
+            Order order = orderRepository.findById(event.getOrderId())
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            deriveStatus(order, event.getShopId());
+        }
+    }
+
+    private void deriveStatus(Order order, Long shopId) {
+        Long orderId = order.getOrderId();
+        List<OrderTaskCounterRepository.StageCounts> counts = counterRepository.findCounts(orderId);
+
+        int open = 0;
+        int completed = 0;
+        TaskType activeStage = null;
+        for (OrderTaskCounterRepository.StageCounts stage : counts) {
+            open += stage.getPending() + stage.getInProgress();
+            completed += stage.getCompleted();
+            if (stage.getInProgress() > 0 && stage.getTaskType() != TaskType.FINISHING
+                    && (activeStage == null || stage.getTaskType().ordinal() < activeStage.ordinal())) {
+                activeStage = stage.getTaskType();
+            }
+        }
+
+        OrderStatus derived;
+        if (open == 0 && completed > 0) {
+            derived = OrderStatus.COMPLETED;
+        } else if (activeStage != null) {
+            derived = OrderStatus.valueOf(activeStage.name());
+        } else {
+            return; // No threshold crossed, keep the current status
+        }
+
+        OrderStatus oldStatus = order.getStatus();
+        if (oldStatus == derived || oldStatus == OrderStatus.DELIVERED || oldStatus == OrderStatus.CANCELLED) {
+            return;
+        }
+
+        order.setStatus(derived);
+        orderRepository.save(order);
+        activityLogService.logStatusChange(order, oldStatus, derived);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, shopId, oldStatus, derived,
+                LocalDateTime.now(), order.getCreatedAt()));
+    }
+
+    private int delta(TaskStatus status, TaskStateChangedEvent event) {
+        int delta = 0;
+        if (event.getNewStatus() == status) {
+            delta++;
+        }
+        if (event.getOldStatus() == status) {
+            delta--;
+        }
+        return delta;
+    }
+}
@@ -1,27 +1,29 @@
 package com.stitcho.beta.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.stitcho.beta.Repository.OrderItemRepository;
 import com.stitcho.beta.Repository.OrderRepository;
 import com.stitcho.beta.Repository.OwnerRepository;
 import com.stitcho.beta.Repository.PaymentRepository;
 import com.stitcho.beta.Repository.UserRepository;
 import com.stitcho.beta.dto.BillResponse;
 import com.stitcho.beta.dto.OrderPaymentResponse;
+import com.stitcho.beta.dto.PaymentLedgerResponse;
 import com.stitcho.beta.dto.PaymentResponse;
 import com.stitcho.beta.dto.UpdatePaymentRequest;
 import com.stitcho.beta.entity.Order;
-import com.stitcho.beta.entity.OrderItem;
 import com.stitcho.beta.entity.Owner;
 import com.stitcho.beta.entity.Payment;
 import com.stitcho.beta.entity.PaymentMethod;
 import com.stitcho.beta.entity.User;
+import com.stitcho.beta.util.TransactionRetry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,12 +32,19 @@ import lombok.RequiredArgsConstructor;
 public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final OwnerRepository ownerRepository;
     private final UserRepository userRepository;
+    private final BillRenderingService billRenderingService;
+    private final TransactionRetry transactionRetry;
+    private final NotificationOutbox notificationOutbox;
 
-    @Transactional
+    // Retried on optimistic lock conflicts so a concurrent status change doesn't fail the payment;
+    // the balance check runs again against the fresh order on every attempt
     public OrderPaymentResponse updatePayment(Long userId, Long orderId, UpdatePaymentRequest request) {
+        return transactionRetry.execute(() -> doUpdatePayment(userId, orderId, request));
+    }
+
+    private OrderPaymentResponse doUpdatePayment(Long userId, Long orderId, UpdatePaymentRequest request) {
         // Verify owner owns this order
         Owner owner = ownerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
@@ -62,6 +71,7 @@ public class PaymentService {
         
         Payment payment = new Payment();
         payment.setOrder(order);
+        payment.setShop(order.getShop());
         payment.setAmount(request.getAdditionalPayment());
         payment.setPaymentMethod(PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase()));
         payment.setPaymentDate(request.getPaymentDate() != null ? request.getPaymentDate() : LocalDateTime.now());
@@ -83,6 +93,8 @@ public class PaymentService {
         }
         
         orderRepository.save(order);
+        billRenderingService.evict(orderId);
+        notificationOutbox.paymentReceived(payment);
 
         // Return updated payment info
         return getOrderPaymentInfo(orderId);
@@ -130,7 +142,89 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Shop-wide payment ledger with keyset paging. Totals cover the whole filtered
+     * range and are only computed for the first page.
+     */
+    @Transactional(readOnly = true)
+    public PaymentLedgerResponse getShopLedger(Long userId, String paymentMethod, Long recordedBy,
+                                               LocalDate startDate, LocalDate endDate,
+                                               LocalDateTime cursorDate, Long cursorId, Integer size) {
+        Owner owner = ownerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+        Long shopId = owner.getShop().getShopId();
+
+        PaymentMethod method = null;
+        if (paymentMethod != null && !paymentMethod.isBlank()) {
+            try {
+                method = PaymentMethod.valueOf(paymentMethod.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid payment method: " + paymentMethod);
+            }
+        }
+
+        // Open-ended bounds keep the query shape fixed when no range or cursor is given
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : LocalDateTime.of(9999, 12, 31, 0, 0);
+        boolean firstPage = cursorDate == null || cursorId == null;
+        LocalDateTime afterDate = firstPage ? LocalDateTime.of(9999, 12, 31, 0, 0) : cursorDate;
+        Long afterId = firstPage ? Long.MAX_VALUE : cursorId;
+        int pageSize = size != null && size > 0 ? Math.min(size, 200) : 50;
+
+        // Fetch one extra row to know whether another page exists
+        List<PaymentLedgerResponse.LedgerEntry> entries = paymentRepository.findShopLedgerPage(
+                shopId, from, to, method, recordedBy, afterDate, afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        PaymentLedgerResponse response = new PaymentLedgerResponse();
+        response.setEntries(entries);
+        response.setHasMore(hasMore);
+        if (hasMore) {
+            PaymentLedgerResponse.LedgerEntry last = entries.get(entries.size() - 1);
+            response.setNextCursorDate(last.getPaymentDate());
+            response.setNextCursorId(last.getPaymentId());
+        }
+
+        if (firstPage) {
+            List<PaymentLedgerResponse.MethodTotal> byMethod = paymentRepository
+                    .sumShopLedgerByMethod(shopId, from, to, method, recordedBy).stream()
+                    .map(t -> new PaymentLedgerResponse.MethodTotal(
+                            t.getPaymentMethod().name(),
+                            t.getAmount().doubleValue(),
+                            t.getCount().longValue()))
+                    .collect(Collectors.toList());
+            List<PaymentLedgerResponse.DayTotal> byDay = paymentRepository
+                    .sumShopLedgerByDay(shopId, from, to, method, recordedBy).stream()
+                    .map(t -> new PaymentLedgerResponse.DayTotal(
+                            t.getDay(),
+                            t.getAmount().doubleValue(),
+                            t.getCount().longValue()))
+                    .collect(Collectors.toList());
+
+            double totalAmount = byMethod.stream().mapToDouble(PaymentLedgerResponse.MethodTotal::getAmount).sum();
+            long paymentCount = byMethod.stream().mapToLong(PaymentLedgerResponse.MethodTotal::getCount).sum();
+            response.setTotals(new PaymentLedgerResponse.Totals(totalAmount, paymentCount, byMethod, byDay));
+        }
+
+        return response;
+    }
+
+    @Transactional(readOnly = true)
     public BillResponse generateBill(Long userId, Long orderId) {
+        Order order = getOwnedOrder(userId, orderId);
+        return billRenderingService.getBill(order);
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] generateBillPdf(Long userId, Long orderId) {
+        Order order = getOwnedOrder(userId, orderId);
+        return billRenderingService.getPdf(order);
+    }
+
+    private Order getOwnedOrder(Long userId, Long orderId) {
         // Verify owner owns this order
         Owner owner = ownerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
@@ -141,91 +235,7 @@ public class PaymentService {
         if (!order.getShop().getShopId().equals(owner.getShop().getShopId())) {
             throw new RuntimeException("Access denied: Order does not belong to your shop");
         }
-
-        BillResponse bill = new BillResponse();
-        
-        // Bill metadata
-        bill.setBillNumber("BILL-" + order.getCreatedAt().getYear() + "-" + 
-                String.format("%05d", order.getOrderId()));
-        bill.setBillDate(LocalDateTime.now());
-
-        // Shop info
-        BillResponse.ShopInfo shopInfo = new BillResponse.ShopInfo();
-        shopInfo.setShopId(order.getShop().getShopId());
-        shopInfo.setName(order.getShop().getShopName());
-        shopInfo.setAddress(order.getShop().getShopAddress());
-        shopInfo.setContactNumber(order.getShop().getShopMobileNo());
-        shopInfo.setEmail(order.getShop().getShopEmail());
-        shopInfo.setGstNumber(order.getShop().getGstNumber());
-        bill.setShop(shopInfo);
-
-        // Customer info
-        BillResponse.CustomerInfo customerInfo = new BillResponse.CustomerInfo();
-        customerInfo.setCustomerId(order.getCustomer().getId());
-        customerInfo.setName(order.getCustomer().getUser().getName());
-        customerInfo.setContactNumber(order.getCustomer().getUser().getContactNumber());
-        customerInfo.setEmail(order.getCustomer().getUser().getEmail());
-        bill.setCustomer(customerInfo);
-
-        // Order info
-        BillResponse.OrderInfo orderInfo = new BillResponse.OrderInfo();
-        orderInfo.setOrderId(order.getOrderId());
-        orderInfo.setOrderNumber("ORD" + String.format("%03d", order.getOrderId()));
-        orderInfo.setOrderDate(order.getCreatedAt());
-        orderInfo.setDeadline(order.getDeadline());
-        orderInfo.setStatus(order.getStatus() != null ? order.getStatus().name() : "NEW");
-        bill.setOrder(orderInfo);
-
-        // Items
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(orderId);
-        List<BillResponse.ItemInfo> itemInfos = items.stream()
-                .map(item -> new BillResponse.ItemInfo(
-                        item.getItemId(),
-                        item.getItemName(),
-                        item.getQuantity(),
-                        item.getPrice(),
-                        item.getPrice() * item.getQuantity(),
-                        item.getFabricType(),
-                        item.getItemName() + " - " + item.getFabricType()
-                ))
-                .collect(Collectors.toList());
-        bill.setItems(itemInfos);
-
-        // Pricing
-        double subtotal = order.getTotalPrice();
-        BillResponse.PricingInfo pricing = new BillResponse.PricingInfo();
-        pricing.setSubtotal(subtotal);
-        pricing.setDiscount(0.0);
-        pricing.setTaxRate(0.0);
-        pricing.setTaxAmount(0.0);
-        pricing.setTotalAmount(subtotal);
-        bill.setPricing(pricing);
-
-        // Payment info
-        List<Payment> payments = paymentRepository.findByOrder_OrderIdOrderByPaymentDateDesc(orderId);
-        List<BillResponse.PaymentDetail> paymentDetails = payments.stream()
-                .map(p -> new BillResponse.PaymentDetail(
-                        p.getAmount(),
-                        p.getPaymentMethod().name(),
-                        p.getPaymentDate(),
-                        p.getNote()
-                ))
-                .collect(Collectors.toList());
-
-        double paidAmount = order.getPaidAmount() != null ? order.getPaidAmount() : 0.0;
-        BillResponse.PaymentInfo paymentInfo = new BillResponse.PaymentInfo();
-        paymentInfo.setTotalPrice(order.getTotalPrice());
-        paymentInfo.setPaidAmount(paidAmount);
-        paymentInfo.setBalanceAmount(order.getTotalPrice() - paidAmount);
-        paymentInfo.setPaymentStatus(order.getPaymentStatus());
-        paymentInfo.setPayments(paymentDetails);
-        bill.setPayment(paymentInfo);
-
-        // Notes and terms
-        bill.setNotes(order.getNotes());
-        bill.setTerms("All sales are final. No refunds or exchanges.");
-
-        return bill;
+        return order;
     }
 
     private PaymentResponse mapToPaymentResponse(Payment payment) {
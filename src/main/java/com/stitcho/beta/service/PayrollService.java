@@ -0,0 +1,313 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.ArchivedTaskRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.PayrollEntryRepository;
+import com.stitcho.beta.Repository.PayrollSnapshotRepository;
+import com.stitcho.beta.Repository.RateRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.PayrollResponse;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.PayrollEntry;
+import com.stitcho.beta.entity.PayrollSnapshot;
+import com.stitcho.beta.entity.Rate;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.Worker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Computes worker earnings per pay period from completed tasks.
+ *
+ * Each completed task is paid at the worker's rate for its task type that was
+ * in effect when the task was completed (the latest matching rate created at or
+ * before completedAt). Tasks of archived orders are read from archived_tasks
+ * after the live ones. Tasks are read in id-ordered chunks of lightweight rows,
+ * so memory stays flat however many tasks the period has; only the running
+ * totals per worker and task type are kept. The result is stored as an
+ * immutable snapshot and served from there afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollService {
+    private final OwnerRepository ownerRepository;
+    private final WorkerRepository workerRepository;
+    private final RateRepository rateRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final PayrollSnapshotRepository snapshotRepository;
+    private final PayrollEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.payroll.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Generate the payroll for a closed pay period (both dates inclusive).
+     * Generating a period that already has a snapshot returns the stored snapshot,
+     * also when a concurrent request stored it first.
+     */
+    public PayrollResponse generatePayroll(Long userId, LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return transactionTemplate.execute(status -> generate(userId, periodStart, periodEnd));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race on uk_payroll_shop_period; the second run finds the winner's snapshot
+            log.debug("Payroll for {} to {} was generated concurrently: {}", periodStart, periodEnd, e.getMessage());
+            return transactionTemplate.execute(status -> generate(userId, periodStart, periodEnd));
+        }
+    }
+
+    private PayrollResponse generate(Long userId, LocalDate periodStart, LocalDate periodEnd) {
+        Owner owner = ownerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+        Shop shop = owner.getShop();
+
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("periodStart and periodEnd are required");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("periodEnd must not be before periodStart");
+        }
+        if (!periodEnd.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Pay period has not ended yet");
+        }
+
+        PayrollSnapshot existing = snapshotRepository
+                .findByShop_ShopIdAndPeriodStartAndPeriodEnd(shop.getShopId(), periodStart, periodEnd)
+                .orElse(null);
+        if (existing != null) {
+            return toResponse(existing, entryRepository.findBySnapshot_IdOrderByWorkerIdAscTaskTypeAsc(existing.getId()));
+        }
+
+        long startTime = System.currentTimeMillis();
+        RateBook rates = new RateBook(rateRepository.findByWorker_Shop_ShopId(shop.getShopId()));
+        Map<Long, Map<TaskType, Accumulator>> totals = new TreeMap<>();
+
+        LocalDateTime from = periodStart.atStartOfDay();
+        LocalDateTime to = periodEnd.plusDays(1).atStartOfDay();
+        // Tasks of archived orders are in archived_tasks with their original ids and count the same
+        int scanned = accumulate(afterId -> taskRepository.findCompletedChunk(shop.getShopId(),
+                TaskStatus.COMPLETED, from, to, afterId, PageRequest.of(0, chunkSize)), rates, totals)
+                + accumulate(afterId -> archivedTaskRepository.findCompletedChunk(shop.getShopId(),
+                TaskStatus.COMPLETED, from, to, afterId, PageRequest.of(0, chunkSize)), rates, totals);
+
+        Map<Long, String> names = workerRepository.findByShop_ShopId(shop.getShopId()).stream()
+                .filter(worker -> worker.getUser() != null)
+                .collect(Collectors.toMap(Worker::getId, worker -> worker.getUser().getName()));
+
+        PayrollSnapshot snapshot = new PayrollSnapshot();
+        snapshot.setShop(shop);
+        snapshot.setPeriodStart(periodStart);
+        snapshot.setPeriodEnd(periodEnd);
+        snapshot.setGeneratedBy(userId);
+
+        List<PayrollEntry> entries = new ArrayList<>();
+        double totalAmount = 0.0;
+        int unrated = 0;
+        for (Map.Entry<Long, Map<TaskType, Accumulator>> worker : totals.entrySet()) {
+            for (Map.Entry<TaskType, Accumulator> line : worker.getValue().entrySet()) {
+                Accumulator acc = line.getValue();
+                PayrollEntry entry = new PayrollEntry();
+                entry.setSnapshot(snapshot);
+                entry.setWorkerId(worker.getKey());
+                entry.setWorkerName(names.get(worker.getKey()));
+                entry.setTaskType(line.getKey());
+                entry.setTaskCount(acc.tasks);
+                entry.setUnratedTaskCount(acc.unrated);
+                entry.setAmount(round(acc.amount));
+                entries.add(entry);
+
+                totalAmount += acc.amount;
+                unrated += acc.unrated;
+            }
+        }
+
+        snapshot.setTotalAmount(round(totalAmount));
+        snapshot.setTaskCount(scanned);
+        snapshot.setUnratedTaskCount(unrated);
+        // Flushed here, so a concurrent snapshot of the same period fails inside generatePayroll
+        snapshot = snapshotRepository.saveAndFlush(snapshot);
+        entryRepository.saveAll(entries);
+
+        log.info("Payroll for shop {} ({} to {}): {} tasks, {} workers in {} ms", shop.getShopId(),
+                periodStart, periodEnd, scanned, totals.size(), System.currentTimeMillis() - startTime);
+        return toResponse(snapshot, entries);
+    }
+
+    // Adds every chunk's tasks to the totals, reading in id order; returns the number of tasks read
+    private int accumulate(Function<Long, List<TaskRepository.CompletedTaskRow>> chunks, RateBook rates,
+                           Map<Long, Map<TaskType, Accumulator>> totals) {
+        long afterId = 0L;
+        int scanned = 0;
+        List<TaskRepository.CompletedTaskRow> chunk;
+        do {
+            chunk = chunks.apply(afterId);
+            for (TaskRepository.CompletedTaskRow row : chunk) {
+                Double rate = rates.rateAt(row.getWorkerId(), row.getTaskType(), row.getCompletedAt());
+                totals.computeIfAbsent(row.getWorkerId(), id -> new EnumMap<>(TaskType.class))
+                        .computeIfAbsent(row.getTaskType(), type -> new Accumulator())
+                        .add(rate);
+                afterId = row.getTaskId();
+            }
+            scanned += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return scanned;
+    }
+
+    /**
+     * Payroll snapshots of the owner's shop, newest period first (totals only)
+     */
+    @Transactional(readOnly = true)
+    public List<PayrollResponse> getPayrolls(Long userId) {
+        Owner owner = ownerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+
+        return snapshotRepository.findByShop_ShopIdOrderByPeriodStartDescIdDesc(owner.getShop().getShopId()).stream()
+                .map(snapshot -> toResponse(snapshot, null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One payroll snapshot of the owner's shop with the per-worker breakdown
+     */
+    @Transactional(readOnly = true)
+    public PayrollResponse getPayroll(Long userId, Long snapshotId) {
+        Owner owner = ownerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+
+        PayrollSnapshot snapshot = snapshotRepository.findByIdAndShop_ShopId(snapshotId, owner.getShop().getShopId())
+                .orElseThrow(() -> new RuntimeException("Payroll not found"));
+        return toResponse(snapshot, entryRepository.findBySnapshot_IdOrderByWorkerIdAscTaskTypeAsc(snapshotId));
+    }
+
+    /**
+     * The logged-in worker's earnings in every generated pay period, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<PayrollResponse> getMyPayroll(Long userId) {
+        Worker worker = workerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Worker not found"));
+
+        Map<PayrollSnapshot, List<PayrollEntry>> bySnapshot = entryRepository.findWorkerEntries(worker.getId()).stream()
+                .collect(Collectors.groupingBy(PayrollEntry::getSnapshot, LinkedHashMap::new, Collectors.toList()));
+
+        List<PayrollResponse> result = new ArrayList<>();
+        for (Map.Entry<PayrollSnapshot, List<PayrollEntry>> period : bySnapshot.entrySet()) {
+            PayrollResponse response = toResponse(period.getKey(), period.getValue());
+            // Period totals are the worker's own, not the shop's
+            PayrollResponse.WorkerPayroll own = response.getWorkers().get(0);
+            response.setTotalAmount(own.getAmount());
+            response.setTaskCount(own.getTaskCount());
+            response.setUnratedTaskCount(own.getUnratedTaskCount());
+            result.add(response);
+        }
+        return result;
+    }
+
+    private PayrollResponse toResponse(PayrollSnapshot snapshot, List<PayrollEntry> entries) {
+        List<PayrollResponse.WorkerPayroll> workers = null;
+        if (entries != null) {
+            Map<Long, PayrollResponse.WorkerPayroll> byWorker = new LinkedHashMap<>();
+            for (PayrollEntry entry : entries) {
+                PayrollResponse.WorkerPayroll worker = byWorker.computeIfAbsent(entry.getWorkerId(),
+                        id -> new PayrollResponse.WorkerPayroll(id, entry.getWorkerName(), 0, 0, 0.0, new ArrayList<>()));
+                worker.setTaskCount(worker.getTaskCount() + entry.getTaskCount());
+                worker.setUnratedTaskCount(worker.getUnratedTaskCount() + entry.getUnratedTaskCount());
+                worker.setAmount(round(worker.getAmount() + entry.getAmount()));
+                worker.getLines().add(new PayrollResponse.Line(entry.getTaskType() != null ? entry.getTaskType().name() : null,
+                        entry.getTaskCount(), entry.getUnratedTaskCount(), entry.getAmount()));
+            }
+            workers = new ArrayList<>(byWorker.values());
+        }
+
+        return new PayrollResponse(snapshot.getId(), snapshot.getPeriodStart(), snapshot.getPeriodEnd(),
+                snapshot.getGeneratedAt(), snapshot.getTotalAmount(), snapshot.getTaskCount(),
+                snapshot.getUnratedTaskCount(), workers);
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static final class Accumulator {
+        private int tasks;
+        private int unrated;
+        private double amount;
+
+        private void add(Double rate) {
+            tasks++;
+            if (rate == null) {
+                unrated++;
+            } else {
+                amount += rate;
+            }
+        }
+    }
+
+    /**
+     * The shop's rates per worker and task type, oldest first. Rate work types are
+     * free text and map to task types the same way as worker skills do.
+     */
+    private static final class RateBook {
+        private static final Comparator<Rate> BY_EFFECTIVE_FROM = Comparator
+                .comparing(Rate::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Rate::getId);
+
+        private final Map<Long, Map<TaskType, List<Rate>>> rates = new HashMap<>();
+
+        private RateBook(List<Rate> shopRates) {
+            for (Rate rate : shopRates) {
+                if (rate.getWorker() == null || rate.getRate() == null) {
+                    continue;
+                }
+                for (TaskType type : WorkerLoadIndex.skillsOf(Collections.singletonList(rate.getWorkType()))) {
+                    rates.computeIfAbsent(rate.getWorker().getId(), id -> new EnumMap<>(TaskType.class))
+                            .computeIfAbsent(type, t -> new ArrayList<>())
+                            .add(rate);
+                }
+            }
+            rates.values().forEach(byType -> byType.values().forEach(list -> list.sort(BY_EFFECTIVE_FROM)));
+        }
+
+        // Latest rate created at or before the completion time, or null when none was in effect
+        private Double rateAt(Long workerId, TaskType type, LocalDateTime completedAt) {
+            List<Rate> candidates = rates.getOrDefault(workerId, Map.of()).get(type);
+            if (candidates == null) {
+                return null;
+            }
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                Rate rate = candidates.get(i);
+                if (rate.getCreatedAt() == null || completedAt == null || !rate.getCreatedAt().isAfter(completedAt)) {
+                    return rate.getRate();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -4,13 +4,14 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.stitcho.beta.Repository.CustomerRepository;
 import com.stitcho.beta.Repository.OrderRepository;
 import com.stitcho.beta.Repository.ShopRatingRepository;
-import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.ShopRepository;
 import com.stitcho.beta.Repository.WorkerRatingRepository;
 import com.stitcho.beta.Repository.WorkerRepository;
 import com.stitcho.beta.dto.OrderForRatingResponse;
@@ -21,11 +22,16 @@ import com.stitcho.beta.dto.WorkerRatingRequest;
 import com.stitcho.beta.entity.Customer;
 import com.stitcho.beta.entity.Order;
 import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.RatingStats;
+import com.stitcho.beta.entity.Shop;
 import com.stitcho.beta.entity.ShopRating;
 import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.Worker;
 import com.stitcho.beta.entity.WorkerRating;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class RatingService {
 
@@ -45,7 +51,10 @@ public class RatingService {
     private WorkerRepository workerRepository;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
 
     // ==================== SHOP RATING METHODS ====================
 
@@ -84,6 +93,7 @@ public class RatingService {
         rating.setReview(request.getReview());
 
         ShopRating savedRating = shopRatingRepository.save(rating);
+        shopRepository.addRating(order.getShop().getShopId(), request.getRating());
 
         return mapToRatingResponse(savedRating);
     }
@@ -96,13 +106,10 @@ public class RatingService {
     }
 
     public RatingSummary getShopRatingSummary(Long shopId) {
-        Double avgRating = shopRatingRepository.getAverageRatingByShopId(shopId);
-        Long totalRatings = shopRatingRepository.getRatingCountByShopId(shopId);
-
-        return new RatingSummary(
-                avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0,
-                totalRatings != null ? totalRatings : 0L
-        );
+        RatingStats stats = shopRepository.findById(shopId)
+                .map(Shop::getRatingStats)
+                .orElseGet(RatingStats::new);
+        return toSummary(stats);
     }
 
     // ==================== WORKER RATING METHODS ====================
@@ -151,6 +158,7 @@ public class RatingService {
         rating.setReview(request.getReview());
 
         WorkerRating savedRating = workerRatingRepository.save(rating);
+        workerRepository.addRating(worker.getId(), request.getRating());
 
         return mapToRatingResponse(savedRating);
     }
@@ -163,13 +171,25 @@ public class RatingService {
     }
 
     public RatingSummary getWorkerRatingSummary(Long workerId) {
-        Double avgRating = workerRatingRepository.getAverageRatingByWorkerId(workerId);
-        Long totalRatings = workerRatingRepository.getRatingCountByWorkerId(workerId);
+        RatingStats stats = workerRepository.findById(workerId)
+                .map(Worker::getRatingStats)
+                .orElseGet(RatingStats::new);
+        return toSummary(stats);
+    }
 
-        return new RatingSummary(
-                avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0,
-                totalRatings != null ? totalRatings : 0L
-        );
+    // ==================== RECONCILIATION ====================
+
+    /**
+     * Recompute the running rating aggregates from the rating tables and fix any drift
+     */
+    @Scheduled(cron = "${app.ratings.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcileRatingStats() {
+        int shops = shopRepository.reconcileRatingStats();
+        int workers = workerRepository.reconcileRatingStats();
+        if (shops > 0 || workers > 0) {
+            log.info("Reconciled rating aggregates for {} shops and {} workers", shops, workers);
+        }
     }
 
     // ==================== HELPER METHODS ====================
@@ -188,7 +208,7 @@ public class RatingService {
                     response.setCreatedAt(order.getCreatedAt());
 
                     // Get tasks for this order
-                    List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+                    List<Task> tasks = orderArchiveService.tasksOf(order);
 
                     // Map tasks to worker info
                     List<OrderForRatingResponse.WorkerTaskInfo> workerInfos = tasks.stream()
@@ -220,6 +240,10 @@ public class RatingService {
 
     // ==================== HELPER METHODS ====================
 
+    private RatingSummary toSummary(RatingStats stats) {
+        return new RatingSummary(stats.average(), stats.totalCount(), stats.histogram());
+    }
+
     private RatingResponse mapToRatingResponse(ShopRating rating) {
         RatingResponse response = new RatingResponse();
         response.setRatingId(rating.getId());
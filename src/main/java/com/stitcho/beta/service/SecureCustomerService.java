@@ -11,8 +11,8 @@ import com.stitcho.beta.Repository.MeasurementProfileRepository;
 import com.stitcho.beta.Repository.OrderActivityRepository;
 import com.stitcho.beta.Repository.OrderRepository;
 import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.PaymentRepository;
 import com.stitcho.beta.Repository.RoleRepository;
-import com.stitcho.beta.Repository.ShopRatingRepository;
 import com.stitcho.beta.Repository.ShopRepository;
 import com.stitcho.beta.Repository.UserRepository;
 import com.stitcho.beta.dto.CreateCustomerRequest;
@@ -43,8 +43,8 @@ public class SecureCustomerService {
     private final RoleRepository roleRepository;
     private final OwnerRepository ownerRepository;
     private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
     private final OrderActivityRepository orderActivityRepository;
-    private final ShopRatingRepository shopRatingRepository;
     private final ShopRepository shopRepository;
     private final MeasurementProfileRepository measurementProfileRepository;
     private final PasswordEncoder passwordEncoder;
@@ -153,6 +153,7 @@ public class SecureCustomerService {
         // Use PUT /api/measurements/{profileId} to update measurement profiles
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getMyOrders(Long userId) {
         // Find customer by userId
         Customer customer = customerRepository.findById(userId)
@@ -229,14 +230,10 @@ public class SecureCustomerService {
         }
 
         // Calculate statistics
-        List<Order> orders = orderRepository.findByCustomer_Id(customer.getId());
-        response.setTotalOrders((long) orders.size());
-        
-        double totalSpent = orders.stream()
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
-        response.setTotalSpent(totalSpent);
+        OrderRepository.CustomerOrderStats stats =
+                orderRepository.getCustomerOrderStats(customer.getId(), OrderStatus.COMPLETED);
+        response.setTotalOrders(stats.getTotalOrders().longValue());
+        response.setTotalSpent(stats.getTotalSpent().doubleValue());
 
         // Fetch measurements from new measurement system
         // Get the first measurement profile (for backward compatibility)
@@ -293,56 +290,57 @@ public class SecureCustomerService {
     /**
      * Get customer dashboard statistics
      */
+    @Transactional(readOnly = true)
     public CustomerStatsResponse getCustomerStats(Long userId) {
         // Find customer by userId
         Customer customer = customerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
-        // Get all orders for this customer
-        List<Order> orders = orderRepository.findByCustomer_Id(customer.getId());
+        OrderRepository.CustomerOrderStats stats =
+                orderRepository.getCustomerOrderStats(customer.getId(), OrderStatus.COMPLETED);
 
-        // Calculate statistics
-        long totalOrders = orders.size();
-        long completedOrders = orders.stream()
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .count();
+        long totalOrders = stats.getTotalOrders().longValue();
+        long completedOrders = stats.getCompletedOrders().longValue();
         long activeOrders = totalOrders - completedOrders;
-
-        double totalSpent = orders.stream()
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
-
-        double pendingPayment = orders.stream()
-                .filter(order -> !OrderStatus.COMPLETED.equals(order.getStatus()) 
-                        && !"PAID".equalsIgnoreCase(order.getPaymentStatus()))
-                .mapToDouble(order -> order.getTotalPrice() - (order.getPaidAmount() != null ? order.getPaidAmount() : 0.0))
-                .sum();
+        double totalSpent = stats.getTotalSpent().doubleValue();
+        double pendingPayment = stats.getPendingPayment().doubleValue();
 
         return new CustomerStatsResponse(totalOrders, activeOrders, completedOrders, totalSpent, pendingPayment);
     }
 
     /**
-     * Get customer payment history
+     * Get customer payment history, newest first, optionally limited to a date range
      */
-    public List<PaymentHistoryResponse> getPaymentHistory(Long userId) {
+    @Transactional(readOnly = true)
+    public List<PaymentHistoryResponse> getPaymentHistory(Long userId, String startDate, String endDate,
+                                                          Integer page, Integer size) {
         // Find customer by userId
         Customer customer = customerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
-        // Get all orders for this customer
-        List<Order> orders = orderRepository.findByCustomer_Id(customer.getId());
+        // Open-ended bounds keep the query shape fixed when no range is given
+        java.time.LocalDateTime from = java.time.LocalDateTime.of(1970, 1, 1, 0, 0);
+        java.time.LocalDateTime to = java.time.LocalDateTime.of(9999, 12, 31, 0, 0);
+        if (startDate != null) {
+            try {
+                from = java.time.LocalDate.parse(startDate).atStartOfDay();
+            } catch (Exception e) {
+                // Invalid date format, skip filter
+            }
+        }
+        if (endDate != null) {
+            try {
+                to = java.time.LocalDate.parse(endDate).plusDays(1).atStartOfDay();
+            } catch (Exception e) {
+                // Invalid date format, skip filter
+            }
+        }
 
-        return orders.stream()
-                .map(order -> new PaymentHistoryResponse(
-                    order.getOrderId(),
-                    order.getTotalPrice(),
-                    order.getPaidAmount(),
-                    order.getPaymentStatus(),
-                    order.getCreatedAt(),
-                    order.getNotes()
-                ))
-                .collect(java.util.stream.Collectors.toList());
+        int pageNumber = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, 200) : 50;
+
+        return paymentRepository.findCustomerPaymentHistory(customer.getId(), from, to,
+                org.springframework.data.domain.PageRequest.of(pageNumber, pageSize));
     }
 
     /**
@@ -352,9 +350,8 @@ public class SecureCustomerService {
         Shop shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
 
-        // Get shop ratings
-        Double avgRating = shopRatingRepository.getAverageRatingByShopId(shopId);
-        Long totalRatings = shopRatingRepository.getRatingCountByShopId(shopId);
+        // Get shop ratings from the running aggregate
+        com.stitcho.beta.entity.RatingStats ratingStats = shop.getRatingStats();
 
         return new ShopInfoResponse(
             shop.getShopId(),
@@ -362,14 +359,15 @@ public class SecureCustomerService {
             shop.getShopEmail(),
             shop.getShopMobileNo(),
             shop.getShopAddress(),
-            avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0,
-            totalRatings != null ? totalRatings : 0L
+            ratingStats.average(),
+            ratingStats.totalCount()
         );
     }
 
     /**
      * Get customer order history with date filtering
      */
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrderHistory(Long userId, Integer year, Integer month, 
                                                  String startDate, String endDate) {
         // Find customer by userId
@@ -2,9 +2,12 @@ package com.stitcho.beta.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +15,7 @@ import com.stitcho.beta.Repository.CustomerRepository;
 import com.stitcho.beta.Repository.OrderActivityRepository;
 import com.stitcho.beta.Repository.OrderItemRepository;
 import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
 import com.stitcho.beta.Repository.OwnerRepository;
 import com.stitcho.beta.Repository.TaskRepository;
 import com.stitcho.beta.Repository.WorkerRepository;
@@ -32,6 +36,10 @@ import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.TaskStatus;
 import com.stitcho.beta.entity.TaskType;
 import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.OrderChangedEvent;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+import com.stitcho.beta.util.TransactionRetry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -46,6 +54,12 @@ public class SecureOrderService {
     private final OwnerRepository ownerRepository;
     private final OrderActivityRepository orderActivityRepository;
     private final ActivityLogService activityLogService;
+    private final WorkerAssignmentService workerAssignmentService;
+    private final OrderTaskCounterRepository orderTaskCounterRepository;
+    private final TransactionRetry transactionRetry;
+    private final WorkerLoadIndex workerLoadIndex;
+    private final OrderArchiveService orderArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Long createOrder(Long userId, CreateOrderRequest request) {
@@ -85,27 +99,28 @@ public class SecureOrderService {
             orderItemRepository.save(item);
         }
 
-        // Create tasks
+        // Create tasks (tasks without a worker are auto-assigned)
         for (CreateOrderRequest.TaskRequest taskReq : request.getTasks()) {
-            Worker worker = workerRepository.findById(taskReq.getWorkerId())
-                    .orElseThrow(() -> new RuntimeException("Worker not found"));
-
-            if (!worker.getShop().getShopId().equals(shop.getShopId())) {
-                throw new RuntimeException("Worker does not belong to this shop");
-            }
+            TaskType taskType = TaskType.valueOf(taskReq.getTaskType().toUpperCase());
+            Worker worker = workerAssignmentService.assignWorker(shop, taskReq.getWorkerId(), taskType);
 
             Task task = new Task();
             task.setOrder(order);
             task.setWorker(worker);
-            task.setTaskType(TaskType.valueOf(taskReq.getTaskType().toUpperCase()));
+            task.setTaskType(taskType);
             task.setStatus(TaskStatus.PENDING);
             task.setAssignedAt(LocalDateTime.now());
-            taskRepository.save(task);
+            task.setAutoAssigned(taskReq.getWorkerId() == null);
+            task = taskRepository.save(task);
+
+            eventPublisher.publishEvent(new TaskStateChangedEvent(task.getTaskId(), order.getOrderId(),
+                    shop.getShopId(), worker.getId(), taskType, null, TaskStatus.PENDING, null, null));
         }
 
         return order.getOrderId();
     }
 
+    @Transactional(readOnly = true)
     public OrderResponse getOrder(Long userId, String role, Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -124,8 +139,8 @@ public class SecureOrderService {
         } else if ("WORKER".equalsIgnoreCase(role)) {
             Worker worker = workerRepository.findByUser_Id(userId)
                     .orElseThrow(() -> new RuntimeException("Worker not found"));
-            boolean hasTask = taskRepository.findByOrder_OrderId(orderId).stream()
-                    .anyMatch(t -> t.getWorker().getId().equals(worker.getId()));
+            boolean hasTask = orderArchiveService.tasksOf(order).stream()
+                    .anyMatch(t -> t.getWorker() != null && t.getWorker().getId().equals(worker.getId()));
             if (!hasTask) {
                 throw new RuntimeException("Access denied");
             }
@@ -134,6 +149,7 @@ public class SecureOrderService {
         return mapToOrderResponse(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getMyOrders(Long userId, String role, String customerName) {
         List<Order> orders;
 
@@ -159,12 +175,30 @@ public class SecureOrderService {
             throw new RuntimeException("Invalid role for this operation");
         }
 
+        return mapToOrderResponses(orders);
+    }
+
+    // Items, tasks and customers are fetched for all the orders at once, not per order
+    private List<OrderResponse> mapToOrderResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        // Initialises the customers and their users of the orders already in the persistence context
+        orderRepository.findWithCustomerByOrderIdIn(orderIds);
+        Map<Long, List<OrderItem>> items = orderArchiveService.itemsOf(orders);
+        Map<Long, List<Task>> tasks = orderArchiveService.tasksOf(orders);
         return orders.stream()
-                .map(this::mapToOrderResponse)
+                .map(order -> mapToOrderResponse(order, items.getOrDefault(order.getOrderId(), List.of()),
+                        tasks.getOrDefault(order.getOrderId(), List.of())))
                 .collect(Collectors.toList());
     }
 
     private OrderResponse mapToOrderResponse(Order order) {
+        return mapToOrderResponse(order, orderArchiveService.itemsOf(order), orderArchiveService.tasksOf(order));
+    }
+
+    private OrderResponse mapToOrderResponse(Order order, List<OrderItem> items, List<Task> tasks) {
         OrderResponse response = new OrderResponse();
         response.setOrderId(order.getOrderId());
         response.setStatus(order.getStatus() != null ? order.getStatus().name() : "NEW");
@@ -185,7 +219,6 @@ public class SecureOrderService {
             response.setCustomer(customerInfo);
         }
 
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(order.getOrderId());
         List<OrderResponse.OrderItemInfo> itemInfos = items.stream()
                 .map(item -> {
                     OrderResponse.OrderItemInfo info = new OrderResponse.OrderItemInfo();
@@ -199,7 +232,6 @@ public class SecureOrderService {
                 .collect(Collectors.toList());
         response.setItems(itemInfos);
 
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
         List<OrderResponse.TaskInfo> taskInfos = tasks.stream()
                 .map(task -> {
                     OrderResponse.TaskInfo info = new OrderResponse.TaskInfo();
@@ -259,14 +291,14 @@ public class SecureOrderService {
         summary.setCreatedAt(order.getCreatedAt());
 
         // Get items
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(order.getOrderId());
+        List<OrderItem> items = orderArchiveService.itemsOf(order);
         List<String> itemNames = items.stream()
                 .map(item -> item.getItemName() + " (x" + item.getQuantity() + ")")
                 .collect(Collectors.toList());
         summary.setItems(itemNames);
 
         // Get workers and tasks
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+        List<Task> tasks = orderArchiveService.tasksOf(order);
         List<DailyOrderSummary.WorkerInfo> workerInfos = tasks.stream()
                 .map(task -> {
                     DailyOrderSummary.WorkerInfo workerInfo = new DailyOrderSummary.WorkerInfo();
@@ -328,14 +360,14 @@ public class SecureOrderService {
         summary.setCreatedAt(order.getCreatedAt());
 
         // Get items
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(order.getOrderId());
+        List<OrderItem> items = orderArchiveService.itemsOf(order);
         List<String> itemNames = items.stream()
                 .map(item -> item.getItemName() + " (x" + item.getQuantity() + ")")
                 .collect(Collectors.toList());
         summary.setItems(itemNames);
 
         // Get workers and tasks
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+        List<Task> tasks = orderArchiveService.tasksOf(order);
         List<WeeklyOrderSummary.WorkerInfo> workerInfos = tasks.stream()
                 .map(task -> {
                     WeeklyOrderSummary.WorkerInfo workerInfo = new WeeklyOrderSummary.WorkerInfo();
@@ -355,8 +387,12 @@ public class SecureOrderService {
         return summary;
     }
 
-    @Transactional
+    // Retried on optimistic lock conflicts, e.g. with a task completion moving the order status
     public void updateOrder(Long userId, String role, Long orderId, UpdateOrderRequest request) {
+        transactionRetry.run(() -> doUpdateOrder(userId, role, orderId, request));
+    }
+
+    private void doUpdateOrder(Long userId, String role, Long orderId, UpdateOrderRequest request) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
@@ -387,6 +423,7 @@ public class SecureOrderService {
         if (request.getNotes() != null) {
             order.setNotes(request.getNotes());
         }
+        OrderStatus oldStatus = order.getStatus();
         if (request.getStatus() != null) {
             try {
                 OrderStatus orderStatus = OrderStatus.valueOf(request.getStatus().toUpperCase());
@@ -397,6 +434,13 @@ public class SecureOrderService {
         }
 
         orderRepository.save(order);
+
+        if (oldStatus != order.getStatus()) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getOrderId(), order.getShop().getShopId(),
+                    oldStatus, order.getStatus(), LocalDateTime.now(), order.getCreatedAt()));
+        } else {
+            eventPublisher.publishEvent(new OrderChangedEvent(order.getOrderId(), order.getShop().getShopId()));
+        }
     }
 
     @Transactional
@@ -419,7 +463,8 @@ public class SecureOrderService {
         List<OrderActivity> activities = orderActivityRepository.findByOrder_OrderIdOrderByCreatedAtDesc(orderId);
         orderActivityRepository.deleteAll(activities);
 
-        // Delete associated tasks (due to foreign key constraints)
+        // Delete task counters and associated tasks (due to foreign key constraints)
+        orderTaskCounterRepository.deleteByOrderId(orderId);
         List<Task> tasks = taskRepository.findByOrder_OrderId(orderId);
         taskRepository.deleteAll(tasks);
 
@@ -427,10 +472,17 @@ public class SecureOrderService {
         List<OrderItem> items = orderItemRepository.findByOrder_OrderId(orderId);
         orderItemRepository.deleteAll(items);
 
+        orderArchiveService.deleteArchived(orderId);
+
         // Delete the order
         orderRepository.delete(order);
+
+        // Open tasks of the deleted order no longer count towards worker load
+        workerLoadIndex.invalidateAfterCommit(order.getShop().getShopId());
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId, order.getShop().getShopId()));
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUserId(Long userId, String role) {
         List<Order> orders;
 
@@ -464,9 +516,7 @@ public class SecureOrderService {
             throw new RuntimeException("Invalid role");
         }
 
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        return mapToOrderResponses(orders);
     }
 
     public List<OrderStatusResponse> getOrdersStatus(Long userId, String role) {
@@ -510,7 +560,7 @@ public class SecureOrderService {
         }
 
         // Get tasks and create combined status strings
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+        List<Task> tasks = orderArchiveService.tasksOf(order);
         List<String> taskStatuses = tasks.stream()
                 .map(task -> {
                     String taskType = task.getTaskType() != null ? task.getTaskType().name() : "UNKNOWN";
@@ -524,8 +574,11 @@ public class SecureOrderService {
         return response;
     }
 
-    @Transactional
     public void deliverOrder(Long userId, String role, Long orderId) {
+        transactionRetry.run(() -> doDeliverOrder(userId, role, orderId));
+    }
+
+    private void doDeliverOrder(Long userId, String role, Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
@@ -552,6 +605,8 @@ public class SecureOrderService {
 
         // Log order delivered activity
         activityLogService.logOrderDelivered(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getOrderId(), order.getShop().getShopId(),
+                oldStatus, OrderStatus.DELIVERED, LocalDateTime.now(), order.getCreatedAt()));
     }
 
     public List<com.stitcho.beta.dto.CustomerOrderDetailResponse> getCustomerOrdersWithDetails(Long customerId) {
@@ -594,7 +649,7 @@ public class SecureOrderService {
         }
 
         // Order items
-        List<OrderItem> items = orderItemRepository.findByOrder_OrderId(order.getOrderId());
+        List<OrderItem> items = orderArchiveService.itemsOf(order);
         List<com.stitcho.beta.dto.CustomerOrderDetailResponse.OrderItemInfo> itemInfos = items.stream()
                 .map(item -> {
                     com.stitcho.beta.dto.CustomerOrderDetailResponse.OrderItemInfo itemInfo = 
@@ -610,7 +665,7 @@ public class SecureOrderService {
         response.setItems(itemInfos);
 
         // Tasks with worker information
-        List<Task> tasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+        List<Task> tasks = orderArchiveService.tasksOf(order);
         List<com.stitcho.beta.dto.CustomerOrderDetailResponse.TaskWithWorkerInfo> taskInfos = tasks.stream()
                 .map(task -> {
                     com.stitcho.beta.dto.CustomerOrderDetailResponse.TaskWithWorkerInfo taskInfo = 
@@ -20,7 +20,6 @@ import com.stitcho.beta.Repository.OwnerRepository;
 import com.stitcho.beta.Repository.ShopRepository;
 import com.stitcho.beta.Repository.TaskRepository;
 import com.stitcho.beta.Repository.UserRepository;
-import com.stitcho.beta.Repository.WorkerRatingRepository;
 import com.stitcho.beta.Repository.WorkerRepository;
 import com.stitcho.beta.dto.OwnerProfileResponse;
 import com.stitcho.beta.dto.ShopAnalyticsResponse;
@@ -53,7 +52,10 @@ public class SecureOwnerService {
     private final CustomerRepository customerRepository;
     private final WorkerRepository workerRepository;
     private final TaskRepository taskRepository;
-    private final WorkerRatingRepository workerRatingRepository;
+    private final TurnaroundStatsService turnaroundStatsService;
+    private final OrderArchiveService orderArchiveService;
+    private final AnalyticsCache analyticsCache;
+    private final DashboardExecutor dashboardExecutor;
 
     public OwnerProfileResponse getMyShopProfile(Long userId) {
         Owner owner = ownerRepository.findByUser_Id(userId)
@@ -122,31 +124,72 @@ public class SecureOwnerService {
     // ==================== SHOP ANALYTICS ====================
 
     public ShopAnalyticsResponse getShopAnalytics(Long userId) {
+        // Resolved before the fan-out; the endpoint has no session in view, so this lookup's
+        // connection is back in the pool while the sections run
         Owner owner = ownerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
         
         Long shopId = owner.getShop().getShopId();
+        return analyticsCache.get("shop-analytics", shopId, null, () -> calculateShopAnalytics(shopId),
+                analytics -> analytics.getStaleSections().isEmpty());
+    }
+
+    private ShopAnalyticsResponse calculateShopAnalytics(Long shopId) {
+        // Independent sections, computed concurrently
+        DashboardExecutor.Sections sections = dashboardExecutor.sections();
+        var overview = sections.submit("overview", () -> calculateOverviewStats(shopId));
+        var dailyOrderTrend = sections.submit("dailyOrderTrend", () -> calculateDailyOrderTrend(shopId));
+        var monthlyRevenueTrend = sections.submit("monthlyRevenueTrend", () -> calculateMonthlyRevenueTrend(shopId));
+        var orderStatusDistribution = sections.submit("orderStatusDistribution",
+                () -> calculateOrderStatusDistribution(shopId));
+        var workerPerformance = sections.submit("workerPerformance", () -> calculateWorkerPerformance(shopId));
+        var turnaround = sections.submit("turnaround", () -> turnaroundStatsService.getTurnaround(shopId));
+        var atRiskOrders = sections.submit("atRiskOrders", () -> findAtRiskOrders(shopId));
 
         ShopAnalyticsResponse analytics = new ShopAnalyticsResponse();
         
         // 1. Overview Stats
-        analytics.setOverview(calculateOverviewStats(shopId));
+        analytics.setOverview(sections.get(overview));
         
         // 2. Daily Order Trend (last 7 days)
-        analytics.setDailyOrderTrend(calculateDailyOrderTrend(shopId));
+        analytics.setDailyOrderTrend(sections.get(dailyOrderTrend));
         
         // 3. Monthly Revenue Trend (last 6 months)
-        analytics.setMonthlyRevenueTrend(calculateMonthlyRevenueTrend(shopId));
+        analytics.setMonthlyRevenueTrend(sections.get(monthlyRevenueTrend));
         
         // 4. Order Status Distribution
-        analytics.setOrderStatusDistribution(calculateOrderStatusDistribution(shopId));
+        analytics.setOrderStatusDistribution(sections.get(orderStatusDistribution));
         
         // 5. Worker Performance
-        analytics.setWorkerPerformance(calculateWorkerPerformance(shopId));
+        analytics.setWorkerPerformance(sections.get(workerPerformance));
+        
+        // 6. Turnaround percentiles
+        analytics.setTurnaround(sections.get(turnaround));
+        
+        // 7. Orders projected to miss their deadline
+        analytics.setAtRiskOrders(sections.get(atRiskOrders));
         
+        analytics.setStaleSections(sections.staleSections());
         return analytics;
     }
 
+    private List<ShopAnalyticsResponse.AtRiskOrder> findAtRiskOrders(Long shopId) {
+        List<ShopAnalyticsResponse.AtRiskOrder> atRiskOrders = new ArrayList<>();
+        for (Order order : orderRepository.findAtRiskOrders(shopId,
+                List.of(OrderStatus.COMPLETED, OrderStatus.DELIVERED, OrderStatus.CANCELLED))) {
+            String customerName = order.getCustomer() != null && order.getCustomer().getUser() != null
+                    ? order.getCustomer().getUser().getName() : null;
+            atRiskOrders.add(new ShopAnalyticsResponse.AtRiskOrder(
+                order.getOrderId(),
+                customerName,
+                order.getStatus() != null ? order.getStatus().name() : null,
+                order.getDeadline(),
+                order.getProjectedCompletionAt()
+            ));
+        }
+        return atRiskOrders;
+    }
+
     private ShopAnalyticsResponse.OverviewStats calculateOverviewStats(Long shopId) {
         List<Order> allOrders = orderRepository.findByShop_ShopId(shopId);
         
@@ -258,18 +301,22 @@ public class SecureOwnerService {
         
         return workers.stream()
                 .map(worker -> {
-                    List<Task> tasks = taskRepository.findByWorker_Id(worker.getId());
-                    int totalTasks = tasks.size();
-                    int completedTasks = (int) tasks.stream()
-                            .filter(t -> TaskStatus.COMPLETED.equals(t.getStatus()))
-                            .count();
+                    // Counted in the database, archived tasks included
+                    int totalTasks = 0;
+                    int completedTasks = 0;
+                    for (TaskRepository.StatusCount row : taskRepository.countTasksOfWorkerByStatus(worker.getId())) {
+                        totalTasks += row.getTasks().intValue();
+                        if (TaskStatus.COMPLETED.name().equals(row.getStatus())) {
+                            completedTasks = row.getTasks().intValue();
+                        }
+                    }
                     
                     double completionRate = totalTasks > 0 
                             ? (completedTasks * 100.0 / totalTasks) 
                             : 0.0;
                     
-                    // Get average rating
-                    Double avgRating = workerRatingRepository.getAverageRatingByWorkerId(worker.getId());
+                    // Get average rating from the running aggregate
+                    double avgRating = worker.getRatingStats().average();
                     
                     // Performance percentage (based on completion rate and rating)
                     double performancePercentage = totalTasks > 0 
@@ -283,7 +330,7 @@ public class SecureOwnerService {
                         totalTasks,
                         completedTasks,
                         Math.round(performancePercentage * 10.0) / 10.0,
-                        avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0,
+                        avgRating,
                         Math.round(completionRate * 10.0) / 10.0
                     );
                 })
@@ -292,6 +339,7 @@ public class SecureOwnerService {
 
     // ==================== MONTHLY REVENUE ====================
 
+    @Transactional(readOnly = true)
     public MonthlyRevenueResponse getMonthlyRevenue(Long userId, Integer year) {
         Owner owner = ownerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
@@ -300,7 +348,11 @@ public class SecureOwnerService {
         
         // Use current year if not specified
         int targetYear = year != null ? year : LocalDate.now().getYear();
-        
+        return analyticsCache.get("monthly-revenue", shopId, targetYear,
+                () -> calculateMonthlyRevenue(shopId, targetYear));
+    }
+
+    private MonthlyRevenueResponse calculateMonthlyRevenue(Long shopId, int targetYear) {
         // Get all completed orders for the shop
         List<Order> allOrders = orderRepository.findByShop_ShopId(shopId);
         List<Order> completedOrders = allOrders.stream()
@@ -363,6 +415,7 @@ public class SecureOwnerService {
 
     // ==================== CALENDAR TASKS ====================
 
+    @Transactional(readOnly = true)
     public List<CalendarTaskResponse> getCalendarTasks(Long userId, Integer year, Integer month) {
         Owner owner = ownerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
@@ -386,7 +439,7 @@ public class SecureOwnerService {
                 // Filter by year and month
                 if (deadline.getYear() == targetYear && deadline.getMonthValue() == targetMonth) {
                     // Get tasks for this order
-                    List<Task> orderTasks = taskRepository.findByOrder_OrderId(order.getOrderId());
+                    List<Task> orderTasks = orderArchiveService.tasksOf(order);
                     
                     for (Task task : orderTasks) {
                         CalendarTaskResponse.TaskDetail taskDetail = new CalendarTaskResponse.TaskDetail();
@@ -395,6 +448,8 @@ public class SecureOwnerService {
                         taskDetail.setTaskType(task.getTaskType() != null ? task.getTaskType().name() : "UNKNOWN");
                         taskDetail.setStatus(task.getStatus() != null ? task.getStatus().name() : "PENDING");
                         taskDetail.setDeadline(deadline);
+                        taskDetail.setOrderAtRisk(Boolean.TRUE.equals(order.getAtRisk()));
+                        taskDetail.setProjectedCompletionAt(order.getProjectedCompletionAt());
                         
                         // Customer info
                         if (order.getCustomer() != null && order.getCustomer().getUser() != null) {
@@ -1,8 +1,12 @@
 package com.stitcho.beta.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,7 +17,6 @@ import com.stitcho.beta.Repository.RoleRepository;
 import com.stitcho.beta.Repository.TaskRepository;
 import com.stitcho.beta.Repository.UserRepository;
 import com.stitcho.beta.Repository.WorkerRepository;
-import com.stitcho.beta.Repository.WorkerRatingRepository;
 import com.stitcho.beta.dto.CreateWorkerRequest;
 import com.stitcho.beta.dto.WorkerResponse;
 import com.stitcho.beta.dto.WorkerStatsResponse;
@@ -24,6 +27,7 @@ import com.stitcho.beta.entity.Role;
 import com.stitcho.beta.entity.Shop;
 import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
 import com.stitcho.beta.entity.User;
 import com.stitcho.beta.entity.Worker;
 
@@ -38,8 +42,8 @@ public class SecureWorkerService {
     private final TaskRepository taskRepository;
     private final RoleRepository roleRepository;
     private final OwnerRepository ownerRepository;
-    private final WorkerRatingRepository workerRatingRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WorkerLoadIndex workerLoadIndex;
 
     @Transactional
     public void createWorker(Long userId, CreateWorkerRequest request) {
@@ -89,6 +93,8 @@ public class SecureWorkerService {
             rate.setRate(rateReq.getRate());
             rateRepository.save(rate);
         }
+
+        workerLoadIndex.invalidateAfterCommit(shop.getShopId());
     }
 
     public List<WorkerResponse> getMyShopWorkers(Long userId, String name) {
@@ -140,6 +146,7 @@ public class SecureWorkerService {
 
         // Delete worker (cascade will handle rates, tasks, etc.)
         workerRepository.delete(worker);
+        workerLoadIndex.invalidateAfterCommit(worker.getShop().getShopId());
         
         // Delete associated user account
         userRepository.delete(worker.getUser());
@@ -171,34 +178,27 @@ public class SecureWorkerService {
         Worker worker = workerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Worker not found"));
         
-        List<Task> allTasks = taskRepository.findByWorker_Id(worker.getId());
+        // Counted in the database, archived tasks included
+        Map<TaskStatus, Integer> counts = new HashMap<>();
+        for (TaskRepository.StatusCount row : taskRepository.countTasksOfWorkerByStatus(worker.getId())) {
+            counts.put(TaskStatus.valueOf(row.getStatus()), row.getTasks().intValue());
+        }
         
-        int totalTasks = allTasks.size();
-        int pendingTasks = (int) allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.PENDING)
-                .count();
-        int inProgressTasks = (int) allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS)
-                .count();
-        int completedTasks = (int) allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
-                .count();
+        int totalTasks = counts.values().stream().mapToInt(Integer::intValue).sum();
+        int pendingTasks = counts.getOrDefault(TaskStatus.PENDING, 0);
+        int inProgressTasks = counts.getOrDefault(TaskStatus.IN_PROGRESS, 0);
+        int completedTasks = counts.getOrDefault(TaskStatus.COMPLETED, 0);
         
-        // Calculate average rating
-        List<com.stitcho.beta.entity.WorkerRating> ratings = workerRatingRepository.findByWorker_Id(worker.getId());
-        Double averageRating = ratings.isEmpty() ? 0.0 : 
-                ratings.stream()
-                        .mapToDouble(com.stitcho.beta.entity.WorkerRating::getRating)
-                        .average()
-                        .orElse(0.0);
+        // Average rating from the running aggregate
+        com.stitcho.beta.entity.RatingStats ratingStats = worker.getRatingStats();
         
         return new WorkerStatsResponse(
                 totalTasks,
                 pendingTasks,
                 inProgressTasks,
                 completedTasks,
-                Math.round(averageRating * 10.0) / 10.0, // Round to 1 decimal
-                ratings.size()
+                ratingStats.average(), // Rounded to 1 decimal
+                (int) ratingStats.totalCount()
         );
     }
 
@@ -213,6 +213,47 @@ public class SecureWorkerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Worker's actionable tasks (pending and in progress), earliest deadline first and
+     * in stage order within an order. Tasks waiting on an open earlier stage of the
+     * same order are flagged as blocked.
+     */
+    @Transactional(readOnly = true)
+    public List<WorkerTaskResponse> getWorkQueue(Long userId, Integer page, Integer size) {
+        Worker worker = workerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Worker not found"));
+
+        int pageNumber = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+        List<TaskStatus> openStatuses = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+        List<Task> tasks = taskRepository.findWorkerQueue(worker.getId(), openStatuses,
+                PageRequest.of(pageNumber, pageSize));
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        // Earliest open stage per order on this page, in one query
+        Set<Long> orderIds = tasks.stream()
+                .map(task -> task.getOrder().getOrderId())
+                .collect(Collectors.toSet());
+        Map<Long, TaskType> earliestOpenStage = new HashMap<>();
+        for (TaskRepository.OrderOpenStage stage : taskRepository.findOpenStages(orderIds, openStatuses)) {
+            earliestOpenStage.merge(stage.getOrderId(), stage.getTaskType(),
+                    (a, b) -> a.ordinal() <= b.ordinal() ? a : b);
+        }
+
+        return tasks.stream()
+                .map(task -> {
+                    WorkerTaskResponse response = mapToWorkerTaskResponse(task);
+                    TaskType earliest = earliestOpenStage.get(task.getOrder().getOrderId());
+                    response.setBlocked(earliest != null && task.getTaskType() != null
+                            && earliest.ordinal() < task.getTaskType().ordinal());
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     private WorkerTaskResponse mapToWorkerTaskResponse(Task task) {
         WorkerTaskResponse response = new WorkerTaskResponse();
         response.setTaskId(task.getTaskId());
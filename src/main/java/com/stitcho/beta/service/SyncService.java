@@ -0,0 +1,308 @@
+package com.stitcho.beta.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stitcho.beta.Repository.ChangeLogRepository;
+import com.stitcho.beta.Repository.CustomerRepository;
+import com.stitcho.beta.Repository.MeasurementProfileRepository;
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.PaymentRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.SyncResponse;
+import com.stitcho.beta.entity.ChangeEntityType;
+import com.stitcho.beta.entity.ChangeLogEntry;
+import com.stitcho.beta.entity.ChangeOperation;
+import com.stitcho.beta.entity.Customer;
+import com.stitcho.beta.entity.MeasurementProfile;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Payment;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.Worker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delta sync for the mobile apps: the changes of the caller's slice since
+ * their sync token, read from change_log.
+ *
+ * Owners get their shop's orders, tasks, payments, customers and measurement
+ * profiles; customers their own orders, tasks, payments and profiles; workers
+ * their tasks and the orders they have tasks in.
+ *
+ * A token holds the last change id the client has seen and when it was
+ * issued. Change ids are assigned before commit, so an entry can become
+ * visible after a later id was already served; entries logged within
+ * app.sync.overlap-seconds of the token are sent again to cover that, and
+ * clients de-duplicate by id. Tokens older than the change-log retention get
+ * fullResync.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private static final String TOKEN_VERSION = "v1";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final ChangeLogRepository changeLogRepository;
+    private final OwnerRepository ownerRepository;
+    private final WorkerRepository workerRepository;
+    private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
+    private final TaskRepository taskRepository;
+    private final PaymentRepository paymentRepository;
+    private final MeasurementProfileRepository measurementProfileRepository;
+
+    @Value("${app.sync.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.sync.overlap-seconds:60}")
+    private long overlapSeconds;
+
+    @Value("${app.sync.retention-days:30}")
+    private int retentionDays;
+
+    @Transactional(readOnly = true)
+    public SyncResponse sync(Long userId, String role, Long customerId, String syncToken) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken since = syncToken != null && !syncToken.isBlank() ? SyncToken.decode(syncToken) : null;
+
+        if (since == null || since.issuedAt.isBefore(now.minusDays(retentionDays))) {
+            Long maxId = changeLogRepository.findMaxId();
+            return new SyncResponse(new SyncToken(maxId != null ? maxId : 0L, now).encode(), true, false,
+                    List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        LocalDateTime overlapFrom = since.issuedAt.minusSeconds(overlapSeconds);
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<ChangeLogEntry> changes;
+        List<ChangeLogEntry> stragglers;
+        if ("OWNER".equalsIgnoreCase(role)) {
+            Owner owner = ownerRepository.findByUser_Id(userId)
+                    .orElseThrow(() -> new RuntimeException("Owner not found"));
+            Long shopId = owner.getShop().getShopId();
+            changes = changeLogRepository.findShopChanges(shopId, since.lastId, page);
+            stragglers = changeLogRepository.findShopStragglers(shopId, since.lastId, overlapFrom);
+        } else if ("WORKER".equalsIgnoreCase(role)) {
+            Worker worker = workerRepository.findByUser_Id(userId)
+                    .orElseThrow(() -> new RuntimeException("Worker not found"));
+            changes = changeLogRepository.findWorkerChanges(worker.getId(), since.lastId, page);
+            stragglers = changeLogRepository.findWorkerStragglers(worker.getId(), since.lastId, overlapFrom);
+        } else if ("CUSTOMER".equalsIgnoreCase(role) && customerId != null) {
+            changes = changeLogRepository.findCustomerChanges(customerId, since.lastId, page);
+            stragglers = changeLogRepository.findCustomerStragglers(customerId, since.lastId, overlapFrom);
+        } else {
+            throw new IllegalArgumentException("Sync is not available for this role");
+        }
+
+        boolean hasMore = changes.size() == pageSize;
+        long lastId = changes.isEmpty() ? since.lastId : changes.get(changes.size() - 1).getId();
+
+        // Latest operation per entity, in change order
+        Map<Long, ChangeLogEntry> ordered = new TreeMap<>();
+        stragglers.forEach(entry -> ordered.put(entry.getId(), entry));
+        changes.forEach(entry -> ordered.put(entry.getId(), entry));
+        Map<ChangeEntityType, Map<Long, ChangeOperation>> latest = new EnumMap<>(ChangeEntityType.class);
+        for (ChangeLogEntry entry : ordered.values()) {
+            latest.computeIfAbsent(entry.getEntityType(), k -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getOperation());
+        }
+
+        List<SyncResponse.Deletion> deleted = new ArrayList<>();
+        SyncResponse response = new SyncResponse();
+        response.setSyncToken(new SyncToken(lastId, now).encode());
+        response.setFullResync(false);
+        response.setHasMore(hasMore);
+
+        Set<Long> orderIds = upserted(latest, ChangeEntityType.ORDER, deleted);
+        Map<Long, Order> orders = orderIds.isEmpty() ? Map.of() : orderRepository.findWithCustomerByOrderIdIn(orderIds)
+                .stream().collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+        // Workers see the order's progress, not its prices, payments or notes
+        boolean workerSlice = "WORKER".equalsIgnoreCase(role);
+        response.setOrders(present(ChangeEntityType.ORDER, orderIds, orders, deleted,
+                order -> toOrderChange(order, workerSlice)));
+
+        Set<Long> taskIds = upserted(latest, ChangeEntityType.TASK, deleted);
+        Map<Long, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getTaskId, Function.identity()));
+        response.setTasks(present(ChangeEntityType.TASK, taskIds, tasks, deleted, this::toTaskChange));
+
+        Set<Long> paymentIds = upserted(latest, ChangeEntityType.PAYMENT, deleted);
+        Map<Long, Payment> payments = paymentRepository.findAllById(paymentIds).stream()
+                .collect(Collectors.toMap(Payment::getPaymentId, Function.identity()));
+        response.setPayments(present(ChangeEntityType.PAYMENT, paymentIds, payments, deleted, this::toPaymentChange));
+
+        Set<Long> customerIds = upserted(latest, ChangeEntityType.CUSTOMER, deleted);
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        response.setCustomers(present(ChangeEntityType.CUSTOMER, customerIds, customers, deleted,
+                this::toCustomerChange));
+
+        Set<Long> profileIds = upserted(latest, ChangeEntityType.MEASUREMENT_PROFILE, deleted);
+        Map<Long, MeasurementProfile> profiles = measurementProfileRepository.findAllById(profileIds).stream()
+                .collect(Collectors.toMap(MeasurementProfile::getId, Function.identity()));
+        response.setMeasurementProfiles(present(ChangeEntityType.MEASUREMENT_PROFILE, profileIds, profiles, deleted,
+                this::toProfileChange));
+
+        response.setDeleted(deleted);
+        return response;
+    }
+
+    @Scheduled(cron = "${app.sync.prune-cron:0 30 4 * * *}")
+    @Transactional
+    public void pruneChangeLog() {
+        int removed = changeLogRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            log.info("Pruned {} change log entries older than {} days", removed, retentionDays);
+        }
+    }
+
+    // Ids whose latest change is an upsert; deletes go straight to the tombstones
+    private static Set<Long> upserted(Map<ChangeEntityType, Map<Long, ChangeOperation>> latest,
+                                      ChangeEntityType type, List<SyncResponse.Deletion> deleted) {
+        Set<Long> ids = new LinkedHashSet<>();
+        latest.getOrDefault(type, Map.of()).forEach((id, operation) -> {
+            if (operation == ChangeOperation.DELETE) {
+                deleted.add(new SyncResponse.Deletion(type.name(), id));
+            } else {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    // Rows gone by now were deleted after the upsert was logged
+    private static <E, C> List<C> present(ChangeEntityType type, Set<Long> ids, Map<Long, E> rows,
+                                          List<SyncResponse.Deletion> deleted, Function<E, C> mapper) {
+        List<C> result = new ArrayList<>();
+        for (Long id : ids) {
+            E row = rows.get(id);
+            if (row == null) {
+                deleted.add(new SyncResponse.Deletion(type.name(), id));
+            } else {
+                result.add(mapper.apply(row));
+            }
+        }
+        return result;
+    }
+
+    private SyncResponse.OrderChange toOrderChange(Order order, boolean workerSlice) {
+        Customer customer = order.getCustomer();
+        return new SyncResponse.OrderChange(
+                order.getOrderId(),
+                customer != null ? customer.getId() : null,
+                customer != null && customer.getUser() != null ? customer.getUser().getName() : null,
+                order.getStatus() != null ? order.getStatus().name() : null,
+                order.getDeadline(),
+                workerSlice ? null : order.getTotalPrice(),
+                workerSlice ? null : order.getPaidAmount(),
+                workerSlice ? null : order.getPaymentStatus(),
+                workerSlice ? null : order.getNotes(),
+                order.getCreatedAt(),
+                order.getUpdatedAt());
+    }
+
+    private SyncResponse.TaskChange toTaskChange(Task task) {
+        Worker worker = task.getWorker();
+        return new SyncResponse.TaskChange(
+                task.getTaskId(),
+                task.getOrder().getOrderId(),
+                task.getTaskType().name(),
+                task.getStatus().name(),
+                worker != null ? worker.getId() : null,
+                worker != null ? worker.getUser().getName() : null,
+                task.getAssignedAt(),
+                task.getStartedAt(),
+                task.getCompletedAt(),
+                task.getUpdatedAt());
+    }
+
+    private SyncResponse.PaymentChange toPaymentChange(Payment payment) {
+        return new SyncResponse.PaymentChange(
+                payment.getPaymentId(),
+                payment.getOrder().getOrderId(),
+                payment.getAmount(),
+                payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : null,
+                payment.getPaymentDate(),
+                payment.getNote(),
+                payment.getUpdatedAt());
+    }
+
+    private SyncResponse.CustomerChange toCustomerChange(Customer customer) {
+        return new SyncResponse.CustomerChange(
+                customer.getId(),
+                customer.getUser().getName(),
+                customer.getUser().getEmail(),
+                customer.getUser().getContactNumber());
+    }
+
+    private SyncResponse.MeasurementProfileChange toProfileChange(MeasurementProfile profile) {
+        Map<String, Double> measurements = new LinkedHashMap<>();
+        profile.getMeasurements().forEach(value ->
+                measurements.put(value.getMeasurementKey(), value.getMeasurementValue().doubleValue()));
+        return new SyncResponse.MeasurementProfileChange(
+                profile.getId(),
+                profile.getCustomer().getId(),
+                profile.getDressType().name(),
+                profile.getNotes(),
+                measurements,
+                profile.getUpdatedAt());
+    }
+
+    /**
+     * Opaque cursor handed to clients: "v1:lastChangeId:issuedAtMillis", base64url
+     */
+    private static final class SyncToken {
+        private final long lastId;
+        private final LocalDateTime issuedAt;
+
+        private SyncToken(long lastId, LocalDateTime issuedAt) {
+            this.lastId = lastId;
+            this.issuedAt = issuedAt;
+        }
+
+        private String encode() {
+            long millis = issuedAt.atZone(ZONE).toInstant().toEpochMilli();
+            String raw = TOKEN_VERSION + ":" + lastId + ":" + millis;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static SyncToken decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":");
+                if (parts.length != 3 || !TOKEN_VERSION.equals(parts[0])) {
+                    throw new IllegalArgumentException("Invalid sync token");
+                }
+                LocalDateTime issuedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[2])), ZONE);
+                return new SyncToken(Long.parseLong(parts[1]), issuedAt);
+            } catch (IllegalArgumentException e) {
+                // Also covers bad base64 and NumberFormatException
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+        }
+    }
+}
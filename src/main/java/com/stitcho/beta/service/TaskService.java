@@ -2,14 +2,16 @@ package com.stitcho.beta.service;
 
 import java.time.LocalDateTime;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.stitcho.beta.Repository.TaskRepository;
 import com.stitcho.beta.Repository.WorkerRepository;
 import com.stitcho.beta.entity.Task;
 import com.stitcho.beta.entity.TaskStatus;
 import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+import com.stitcho.beta.util.TransactionRetry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,10 +20,19 @@ import lombok.RequiredArgsConstructor;
 public class TaskService {
     private final TaskRepository taskRepository;
     private final WorkerRepository workerRepository;
-    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionRetry transactionRetry;
 
-    @Transactional
+    // Each attempt runs in its own transaction and is retried on optimistic lock conflicts
     public void startTask(Long taskId, Long userId) {
+        transactionRetry.run(() -> doStartTask(taskId, userId));
+    }
+
+    public void completeTask(Long taskId, Long userId) {
+        transactionRetry.run(() -> doCompleteTask(taskId, userId));
+    }
+
+    private void doStartTask(Long taskId, Long userId) {
         // Get worker from userId
         Worker worker = workerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Worker not found for this user"));
@@ -36,13 +47,11 @@ public class TaskService {
         task.setStatus(TaskStatus.IN_PROGRESS);
         task.setStartedAt(LocalDateTime.now());
         taskRepository.save(task);
-
-        // Update order status
-        orderService.updateOrderStatus(task.getOrder().getOrderId());
+        // Order status is derived from this event by OrderStatusProjector
+        publishStateChange(task, TaskStatus.PENDING);
     }
 
-    @Transactional
-    public void completeTask(Long taskId, Long userId) {
+    private void doCompleteTask(Long taskId, Long userId) {
         // Get worker from userId
         Worker worker = workerRepository.findByUser_Id(userId)
                 .orElseThrow(() -> new RuntimeException("Worker not found for this user"));
@@ -57,8 +66,20 @@ public class TaskService {
         task.setStatus(TaskStatus.COMPLETED);
         task.setCompletedAt(LocalDateTime.now());
         taskRepository.save(task);
+        // Order status is derived from this event by OrderStatusProjector
+        publishStateChange(task, TaskStatus.IN_PROGRESS);
+    }
 
-        // Update order status
-        orderService.updateOrderStatus(task.getOrder().getOrderId());
+    private void publishStateChange(Task task, TaskStatus oldStatus) {
+        eventPublisher.publishEvent(new TaskStateChangedEvent(
+                task.getTaskId(),
+                task.getOrder().getOrderId(),
+                task.getOrder().getShop().getShopId(),
+                task.getWorker() != null ? task.getWorker().getId() : null,
+                task.getTaskType(),
+                oldStatus,
+                task.getStatus(),
+                task.getStartedAt(),
+                task.getCompletedAt()));
     }
 }
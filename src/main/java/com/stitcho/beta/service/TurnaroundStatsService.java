@@ -0,0 +1,346 @@
+package com.stitcho.beta.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.stitcho.beta.Repository.ArchivedTaskRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.TurnaroundSketchRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.ShopAnalyticsResponse;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.TurnaroundSketch;
+import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.OrderStatusChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+import com.stitcho.beta.util.DurationSketch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turnaround percentiles per shop: time in stage per task type and per worker
+ * (started to completed) and order lead time (created to completed).
+ *
+ * Each metric is a DurationSketch kept in memory and updated as tasks and
+ * orders complete, so reading p50/p90/p99 never touches task history. A
+ * shop's sketches are loaded from turnaround_sketches on first use (or seeded
+ * once from recent history when none are stored yet) and changed sketches are
+ * written back periodically.
+ *
+ * Old completions fade out with a half-life of app.turnaround.half-life-days
+ * (0 keeps everything): loaded sketches are decayed nightly, stored ones by
+ * the time since they were last saved when they are loaded, and seeded
+ * history by its age. The percentiles therefore follow the shop's current
+ * pace instead of its whole past.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TurnaroundStatsService {
+    private static final String ORDER_LEAD = "ORDER_LEAD";
+    private static final String STAGE_PREFIX = "STAGE:";
+    private static final String WORKER_PREFIX = "WORKER:";
+    private static final long MIN_SAMPLES_FOR_ESTIMATE = 5;
+
+    private final TurnaroundSketchRepository sketchRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final WorkerRepository workerRepository;
+
+    @Value("${app.turnaround.seed-days:180}")
+    private int seedDays;
+
+    @Value("${app.turnaround.seed-chunk-size:1000}")
+    private int seedChunkSize;
+
+    @Value("${app.turnaround.half-life-days:90}")
+    private double halfLifeDays;
+
+    private final Map<Long, ShopSketches> shops = new ConcurrentHashMap<>();
+
+    public ShopAnalyticsResponse.Turnaround getTurnaround(Long shopId) {
+        Map<String, DurationSketch> sketches = forShop(shopId).copy();
+
+        DurationSketch orderLead = sketches.get(ORDER_LEAD);
+        ShopAnalyticsResponse.DurationStats leadTime = toStats(orderLead);
+        Integer suggestedLeadDays = null;
+        if (orderLead != null && orderLead.count() >= MIN_SAMPLES_FOR_ESTIMATE) {
+            suggestedLeadDays = (int) Math.ceil(orderLead.quantile(0.90) / 86400.0);
+        }
+
+        List<ShopAnalyticsResponse.StageTurnaround> byTaskType = new ArrayList<>();
+        for (TaskType type : TaskType.values()) {
+            DurationSketch sketch = sketches.get(STAGE_PREFIX + type.name());
+            if (sketch != null) {
+                byTaskType.add(new ShopAnalyticsResponse.StageTurnaround(type.name(), toStats(sketch)));
+            }
+        }
+
+        Map<Long, Worker> workers = workerRepository.findByShop_ShopId(shopId).stream()
+                .collect(Collectors.toMap(Worker::getId, Function.identity()));
+        List<ShopAnalyticsResponse.WorkerTurnaround> byWorker = new ArrayList<>();
+        for (Worker worker : workers.values()) {
+            DurationSketch sketch = sketches.get(WORKER_PREFIX + worker.getId());
+            if (sketch != null) {
+                byWorker.add(new ShopAnalyticsResponse.WorkerTurnaround(worker.getId(),
+                        worker.getUser() != null ? worker.getUser().getName() : null, toStats(sketch)));
+            }
+        }
+
+        return new ShopAnalyticsResponse.Turnaround(leadTime, suggestedLeadDays, byTaskType, byWorker);
+    }
+
+    /**
+     * Median seconds a task of the given type spends in progress at the shop, or null without history
+     */
+    public Double typicalStageSeconds(Long shopId, TaskType taskType) {
+        return forShop(shopId).quantile(STAGE_PREFIX + taskType.name(), 0.50);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskStateChanged(TaskStateChangedEvent event) {
+        if (event.getNewStatus() != TaskStatus.COMPLETED
+                || event.getStartedAt() == null || event.getCompletedAt() == null) {
+            return;
+        }
+        // Shops not loaded yet will pick this task up from history when they are
+        ShopSketches sketches = shops.get(event.getShopId());
+        if (sketches == null) {
+            return;
+        }
+        double seconds = seconds(event.getStartedAt(), event.getCompletedAt());
+        sketches.add(STAGE_PREFIX + event.getTaskType().name(), seconds);
+        if (event.getWorkerId() != null) {
+            sketches.add(WORKER_PREFIX + event.getWorkerId(), seconds);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getNewStatus() != OrderStatus.COMPLETED || event.getOrderCreatedAt() == null) {
+            return;
+        }
+        ShopSketches sketches = shops.get(event.getShopId());
+        if (sketches == null) {
+            return;
+        }
+        sketches.add(ORDER_LEAD, seconds(event.getOrderCreatedAt(), event.getChangedAt()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.turnaround.flush-ms:60000}")
+    public void flush() {
+        for (Map.Entry<Long, ShopSketches> shop : shops.entrySet()) {
+            Map<String, DurationSketch> dirty = shop.getValue().drainDirty();
+            if (dirty.isEmpty()) {
+                continue;
+            }
+            try {
+                Map<String, TurnaroundSketch> stored = sketchRepository.findByShopId(shop.getKey()).stream()
+                        .collect(Collectors.toMap(TurnaroundSketch::getMetric, Function.identity()));
+                List<TurnaroundSketch> changed = new ArrayList<>();
+                for (Map.Entry<String, DurationSketch> metric : dirty.entrySet()) {
+                    TurnaroundSketch row = stored.get(metric.getKey());
+                    if (row == null) {
+                        row = new TurnaroundSketch();
+                        row.setShopId(shop.getKey());
+                        row.setMetric(metric.getKey());
+                    }
+                    row.setSampleCount(metric.getValue().count());
+                    row.setData(metric.getValue().toBytes());
+                    changed.add(row);
+                }
+                sketchRepository.saveAll(changed);
+            } catch (RuntimeException e) {
+                shop.getValue().markDirty(dirty.keySet());
+                log.warn("Failed to save turnaround sketches of shop {}: {}", shop.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.turnaround.decay-cron:0 15 3 * * *}")
+    public void decay() {
+        double factor = decayFactor(Duration.ofDays(1));
+        if (factor < 1.0) {
+            shops.values().forEach(sketches -> sketches.decay(factor));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private ShopSketches forShop(Long shopId) {
+        ShopSketches sketches = shops.get(shopId);
+        if (sketches == null) {
+            ShopSketches loaded = load(shopId);
+            sketches = shops.putIfAbsent(shopId, loaded);
+            if (sketches == null) {
+                sketches = loaded;
+            }
+        }
+        return sketches;
+    }
+
+    private ShopSketches load(Long shopId) {
+        ShopSketches sketches = new ShopSketches();
+        List<TurnaroundSketch> stored = sketchRepository.findByShopId(shopId);
+        if (!stored.isEmpty()) {
+            for (TurnaroundSketch row : stored) {
+                DurationSketch sketch = DurationSketch.fromBytes(row.getData());
+                // Catch up on the nightly decays missed while the shop was not loaded
+                double factor = row.getUpdatedAt() != null
+                        ? decayFactor(Duration.between(row.getUpdatedAt(), LocalDateTime.now())) : 1.0;
+                sketch.decay(factor);
+                sketches.put(row.getMetric(), sketch, factor < 1.0);
+            }
+            return sketches;
+        }
+
+        // First use for this shop: seed from recent history once, then persist
+        LocalDateTime since = LocalDateTime.now().minusDays(seedDays);
+        Map<String, DurationSketch> seeded = new HashMap<>();
+        // Archived orders keep their tasks in archived_tasks; both sides are read the same way
+        seedStages(seeded, afterId -> taskRepository.findStageDurationChunk(shopId, TaskStatus.COMPLETED, since,
+                afterId, PageRequest.of(0, seedChunkSize)));
+        seedStages(seeded, afterId -> archivedTaskRepository.findStageDurationChunk(shopId, TaskStatus.COMPLETED,
+                since, afterId, PageRequest.of(0, seedChunkSize)));
+
+        List<OrderStatus> finished = List.of(OrderStatus.COMPLETED, OrderStatus.DELIVERED);
+        List<TaskRepository.OrderLeadRow> leads = new ArrayList<>(
+                taskRepository.findOrderLeadTimes(shopId, finished, since));
+        leads.addAll(archivedTaskRepository.findOrderLeadTimes(shopId, finished, since));
+        for (TaskRepository.OrderLeadRow row : leads) {
+            if (row.getCreatedAt() != null && row.getCompletedAt() != null) {
+                seeded.computeIfAbsent(ORDER_LEAD, k -> new DurationSketch())
+                        .add(seconds(row.getCreatedAt(), row.getCompletedAt()), weightAt(row.getCompletedAt()));
+            }
+        }
+
+        seeded.forEach((metric, sketch) -> sketches.put(metric, sketch, true));
+        log.debug("Seeded {} turnaround sketches for shop {}", seeded.size(), shopId);
+        return sketches;
+    }
+
+    private void seedStages(Map<String, DurationSketch> seeded,
+                            Function<Long, List<TaskRepository.StageDurationRow>> chunks) {
+        long afterId = 0L;
+        List<TaskRepository.StageDurationRow> chunk;
+        do {
+            chunk = chunks.apply(afterId);
+            for (TaskRepository.StageDurationRow row : chunk) {
+                double seconds = seconds(row.getStartedAt(), row.getCompletedAt());
+                double weight = weightAt(row.getCompletedAt());
+                seeded.computeIfAbsent(STAGE_PREFIX + row.getTaskType().name(), k -> new DurationSketch())
+                        .add(seconds, weight);
+                if (row.getWorkerId() != null) {
+                    seeded.computeIfAbsent(WORKER_PREFIX + row.getWorkerId(), k -> new DurationSketch())
+                            .add(seconds, weight);
+                }
+                afterId = row.getTaskId();
+            }
+        } while (chunk.size() == seedChunkSize);
+    }
+
+    // Share of its weight a value keeps after the given time
+    private double decayFactor(Duration elapsed) {
+        if (halfLifeDays <= 0 || elapsed.isNegative()) {
+            return 1.0;
+        }
+        return Math.pow(0.5, elapsed.toMinutes() / (halfLifeDays * 24 * 60));
+    }
+
+    // Weight of a value completed at the given time, as if it had been decayed since
+    private double weightAt(LocalDateTime completedAt) {
+        return completedAt != null ? decayFactor(Duration.between(completedAt, LocalDateTime.now())) : 1.0;
+    }
+
+    private ShopAnalyticsResponse.DurationStats toStats(DurationSketch sketch) {
+        if (sketch == null || sketch.count() == 0) {
+            return new ShopAnalyticsResponse.DurationStats(0L, null, null, null);
+        }
+        return new ShopAnalyticsResponse.DurationStats(sketch.count(),
+                hours(sketch.quantile(0.50)), hours(sketch.quantile(0.90)), hours(sketch.quantile(0.99)));
+    }
+
+    private Double hours(Double seconds) {
+        return seconds != null ? Math.round(seconds / 360.0) / 10.0 : null;
+    }
+
+    private double seconds(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0L, Duration.between(from, to).getSeconds());
+    }
+
+    private static final class ShopSketches {
+        private final Map<String, DurationSketch> sketches = new HashMap<>();
+        private final Set<String> dirty = new HashSet<>();
+
+        private synchronized void put(String metric, DurationSketch sketch, boolean markDirty) {
+            sketches.put(metric, sketch);
+            if (markDirty) {
+                dirty.add(metric);
+            }
+        }
+
+        private synchronized void add(String metric, double seconds) {
+            sketches.computeIfAbsent(metric, k -> new DurationSketch()).add(seconds);
+            dirty.add(metric);
+        }
+
+        private synchronized Double quantile(String metric, double q) {
+            DurationSketch sketch = sketches.get(metric);
+            return sketch != null ? sketch.quantile(q) : null;
+        }
+
+        private synchronized void decay(double factor) {
+            sketches.values().forEach(sketch -> sketch.decay(factor));
+            dirty.addAll(sketches.keySet());
+        }
+
+        private synchronized void markDirty(Set<String> metrics) {
+            dirty.addAll(metrics);
+        }
+
+        // Copies, so callers can read them without holding the lock
+        private synchronized Map<String, DurationSketch> copy() {
+            Map<String, DurationSketch> copy = new HashMap<>();
+            sketches.forEach((metric, sketch) -> copy.put(metric, copyOf(sketch)));
+            return copy;
+        }
+
+        private synchronized Map<String, DurationSketch> drainDirty() {
+            Map<String, DurationSketch> drained = new HashMap<>();
+            for (String metric : dirty) {
+                drained.put(metric, copyOf(sketches.get(metric)));
+            }
+            dirty.clear();
+            return drained;
+        }
+
+        private static DurationSketch copyOf(DurationSketch sketch) {
+            DurationSketch copy = new DurationSketch();
+            copy.merge(sketch);
+            return copy;
+        }
+    }
+}
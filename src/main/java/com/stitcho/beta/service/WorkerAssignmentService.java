@@ -0,0 +1,161 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.AssignmentSuggestionResponse;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.Worker;
+import com.stitcho.beta.event.OrderChangedEvent;
+import com.stitcho.beta.event.TaskStateChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks workers for new tasks using the WorkerLoadIndex and moves pending
+ * auto-assigned work to a worker who just freed up capacity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkerAssignmentService {
+    private final WorkerLoadIndex loadIndex;
+    private final WorkerRepository workerRepository;
+    private final TaskRepository taskRepository;
+    private final OwnerRepository ownerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.assignment.rebalance-enabled:true}")
+    private boolean rebalanceEnabled;
+
+    @Value("${app.assignment.rebalance-threshold-hours:4}")
+    private double rebalanceThresholdHours;
+
+    /**
+     * Resolve the worker for a new task. An explicitly requested worker is validated
+     * against the shop; otherwise the least-loaded qualified worker is picked.
+     * The task's load is reserved in the index right away so the next pick sees it.
+     */
+    public Worker assignWorker(Shop shop, Long requestedWorkerId, TaskType taskType) {
+        Worker worker;
+        if (requestedWorkerId != null) {
+            worker = workerRepository.findById(requestedWorkerId)
+                    .orElseThrow(() -> new RuntimeException("Worker not found"));
+
+            if (!worker.getShop().getShopId().equals(shop.getShopId())) {
+                throw new RuntimeException("Worker does not belong to this shop");
+            }
+        } else {
+            Long workerId = loadIndex.leastLoaded(shop.getShopId(), taskType);
+            if (workerId == null) {
+                throw new IllegalArgumentException("No worker available for " + taskType + " tasks");
+            }
+            worker = workerRepository.findById(workerId)
+                    .orElseThrow(() -> new RuntimeException("Worker not found"));
+        }
+
+        loadIndex.addTask(shop.getShopId(), worker.getId(), taskType);
+        loadIndex.invalidateOnRollback(shop.getShopId());
+        return worker;
+    }
+
+    /**
+     * Least-loaded qualified workers for a task type, best first
+     */
+    public List<AssignmentSuggestionResponse> suggestWorkers(Long userId, String taskType, Integer limit) {
+        Owner owner = ownerRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+
+        TaskType type;
+        try {
+            type = TaskType.valueOf(taskType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid task type: " + taskType);
+        }
+
+        return loadIndex.ranked(owner.getShop().getShopId(), type, limit != null && limit > 0 ? limit : 3);
+    }
+
+    /**
+     * Frees the worker's load once their task is done and may hand them pending work.
+     * The task change has already committed, so a failure here is only logged; it must
+     * not fail the request that completed the task or make its retry run it again.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskStateChanged(TaskStateChangedEvent event) {
+        if (event.getOldStatus() == null || event.getWorkerId() == null) {
+            return; // New tasks are reserved in assignWorker
+        }
+        if (event.getNewStatus() != TaskStatus.COMPLETED && event.getNewStatus() != TaskStatus.CANCELLED) {
+            return;
+        }
+
+        try {
+            loadIndex.removeTask(event.getShopId(), event.getWorkerId(), event.getTaskType());
+            if (rebalanceEnabled && event.getNewStatus() == TaskStatus.COMPLETED) {
+                // Own transaction: the one that raised the event has committed already
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                transaction.executeWithoutResult(status ->
+                        rebalance(event.getShopId(), event.getWorkerId(), event.getTaskType()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rebalance after task {} of worker {} failed: {}", event.getTaskId(), event.getWorkerId(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Move one pending auto-assigned task from the busiest qualified worker to the
+     * worker who just finished, if the load gap is above the threshold
+     */
+    private void rebalance(Long shopId, Long freedWorkerId, TaskType taskType) {
+        if (!loadIndex.isQualified(shopId, freedWorkerId, taskType)) {
+            return;
+        }
+        Long busiestWorkerId = loadIndex.mostLoaded(shopId, taskType);
+        if (busiestWorkerId == null || busiestWorkerId.equals(freedWorkerId)) {
+            return;
+        }
+        double gap = loadIndex.loadHours(shopId, busiestWorkerId) - loadIndex.loadHours(shopId, freedWorkerId);
+        if (gap < rebalanceThresholdHours) {
+            return;
+        }
+
+        List<Task> candidates = taskRepository.findRebalanceCandidates(
+                busiestWorkerId, taskType, TaskStatus.PENDING, PageRequest.of(0, 1));
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Task task = candidates.get(0);
+        task.setWorker(workerRepository.getReferenceById(freedWorkerId));
+        task.setAssignedAt(LocalDateTime.now());
+        taskRepository.save(task);
+
+        loadIndex.removeTask(shopId, busiestWorkerId, taskType);
+        loadIndex.addTask(shopId, freedWorkerId, taskType);
+        loadIndex.invalidateOnRollback(shopId);
+        eventPublisher.publishEvent(new OrderChangedEvent(task.getOrder().getOrderId(), shopId));
+        log.info("Rebalanced task {} from worker {} to worker {}", task.getTaskId(), busiestWorkerId, freedWorkerId);
+    }
+}
@@ -0,0 +1,295 @@
+package com.stitcho.beta.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stitcho.beta.Repository.RateRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.dto.AssignmentSuggestionResponse;
+import com.stitcho.beta.entity.Rate;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.Worker;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory load of every worker, per shop and task type.
+ *
+ * A shop's index is built lazily from the database on first use: open task
+ * counts per worker, the shop's average task duration per type, and each
+ * worker's skills from workType and rates. Workers qualified for a task type
+ * sit in a TreeSet ordered by estimated load, so the least (or most) loaded
+ * worker is found in O(log n). Shops are dropped from the index whenever
+ * their workforce changes, and periodically to correct drift.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkerLoadIndex {
+    private static final double DEFAULT_TASK_HOURS = 2.0;
+
+    private final WorkerRepository workerRepository;
+    private final RateRepository rateRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${app.assignment.history-days:90}")
+    private int historyDays;
+
+    private final Map<Long, ShopLoad> shops = new ConcurrentHashMap<>();
+
+    public Long leastLoaded(Long shopId, TaskType taskType) {
+        return forShop(shopId).leastLoaded(taskType);
+    }
+
+    public Long mostLoaded(Long shopId, TaskType taskType) {
+        return forShop(shopId).mostLoaded(taskType);
+    }
+
+    public double loadHours(Long shopId, Long workerId) {
+        return forShop(shopId).loadHours(workerId);
+    }
+
+    public boolean isQualified(Long shopId, Long workerId, TaskType taskType) {
+        return forShop(shopId).isQualified(workerId, taskType);
+    }
+
+    public List<AssignmentSuggestionResponse> ranked(Long shopId, TaskType taskType, int limit) {
+        return forShop(shopId).ranked(taskType, limit);
+    }
+
+    public void addTask(Long shopId, Long workerId, TaskType taskType) {
+        ShopLoad load = shops.get(shopId);
+        if (load != null) {
+            load.adjust(workerId, taskType, 1);
+        }
+    }
+
+    public void removeTask(Long shopId, Long workerId, TaskType taskType) {
+        ShopLoad load = shops.get(shopId);
+        if (load != null) {
+            load.adjust(workerId, taskType, -1);
+        }
+    }
+
+    public void invalidate(Long shopId) {
+        shops.remove(shopId);
+    }
+
+    /**
+     * Drop the shop's index once the current transaction commits (or right away
+     * when there is none), so the rebuild sees the committed workforce
+     */
+    public void invalidateAfterCommit(Long shopId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(shopId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(shopId);
+            }
+        });
+    }
+
+    /**
+     * Drop the shop's index if the current transaction rolls back, undoing
+     * load that was reserved in memory for tasks that were never saved
+     */
+    public void invalidateOnRollback(Long shopId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(shopId);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignment.index-rebuild-ms:1800000}")
+    public void invalidateAll() {
+        shops.clear();
+    }
+
+    private ShopLoad forShop(Long shopId) {
+        ShopLoad load = shops.get(shopId);
+        if (load == null) {
+            ShopLoad built = build(shopId);
+            load = shops.putIfAbsent(shopId, built);
+            if (load == null) {
+                load = built;
+            }
+        }
+        return load;
+    }
+
+    private ShopLoad build(Long shopId) {
+        Map<TaskType, Double> hours = new EnumMap<>(TaskType.class);
+        for (TaskRepository.TaskTypeDuration row : taskRepository.findAverageDurations(
+                shopId, LocalDateTime.now().minusDays(historyDays))) {
+            if (row.getAvgHours() != null) {
+                hours.put(TaskType.valueOf(row.getTaskType()), row.getAvgHours().doubleValue());
+            }
+        }
+
+        Map<Long, List<String>> rateTypes = new HashMap<>();
+        for (Rate rate : rateRepository.findByWorker_Shop_ShopId(shopId)) {
+            rateTypes.computeIfAbsent(rate.getWorker().getId(), id -> new ArrayList<>()).add(rate.getWorkType());
+        }
+
+        ShopLoad load = new ShopLoad(hours);
+        for (Worker worker : workerRepository.findByShop_ShopId(shopId)) {
+            List<String> skills = new ArrayList<>(rateTypes.getOrDefault(worker.getId(), List.of()));
+            skills.add(worker.getWorkType());
+            load.addWorker(new WorkerLoad(worker.getId(),
+                    worker.getUser() != null ? worker.getUser().getName() : null,
+                    worker.getWorkType(), skillsOf(skills)));
+        }
+
+        for (TaskRepository.WorkerOpenTasks row : taskRepository.countOpenTasksPerWorker(
+                shopId, List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS))) {
+            load.adjust(row.getWorkerId(), row.getTaskType(), row.getOpenTasks().intValue());
+        }
+        return load;
+    }
+
+    // Workers whose work types name no known task type are treated as generalists
+    static Set<TaskType> skillsOf(List<String> workTypes) {
+        Set<TaskType> skills = EnumSet.noneOf(TaskType.class);
+        for (String workType : workTypes) {
+            if (workType == null) {
+                continue;
+            }
+            String value = workType.toLowerCase(Locale.ROOT);
+            if (value.contains("cut")) {
+                skills.add(TaskType.CUTTING);
+            }
+            if (value.contains("stitch") || value.contains("sew") || value.contains("tailor")) {
+                skills.add(TaskType.STITCHING);
+            }
+            if (value.contains("iron") || value.contains("press")) {
+                skills.add(TaskType.IRONING);
+            }
+            if (value.contains("finish")) {
+                skills.add(TaskType.FINISHING);
+            }
+        }
+        return skills.isEmpty() ? EnumSet.allOf(TaskType.class) : skills;
+    }
+
+    private static final class WorkerLoad {
+        private final Long workerId;
+        private final String name;
+        private final String workType;
+        private final Set<TaskType> skills;
+        private int openTasks;
+        private double loadHours;
+
+        private WorkerLoad(Long workerId, String name, String workType, Set<TaskType> skills) {
+            this.workerId = workerId;
+            this.name = name;
+            this.workType = workType;
+            this.skills = skills;
+        }
+    }
+
+    private static final class ShopLoad {
+        private static final Comparator<WorkerLoad> BY_LOAD = Comparator
+                .comparingDouble((WorkerLoad w) -> w.loadHours)
+                .thenComparingInt(w -> w.openTasks)
+                .thenComparing(w -> w.workerId);
+
+        private final Map<TaskType, Double> hoursPerTask;
+        private final Map<Long, WorkerLoad> workers = new HashMap<>();
+        private final Map<TaskType, TreeSet<WorkerLoad>> byType = new EnumMap<>(TaskType.class);
+
+        private ShopLoad(Map<TaskType, Double> hoursPerTask) {
+            this.hoursPerTask = hoursPerTask;
+            for (TaskType type : TaskType.values()) {
+                byType.put(type, new TreeSet<>(BY_LOAD));
+            }
+        }
+
+        private synchronized void addWorker(WorkerLoad worker) {
+            workers.put(worker.workerId, worker);
+            attach(worker);
+        }
+
+        private synchronized Long leastLoaded(TaskType type) {
+            TreeSet<WorkerLoad> set = byType.get(type);
+            return set.isEmpty() ? null : set.first().workerId;
+        }
+
+        private synchronized Long mostLoaded(TaskType type) {
+            TreeSet<WorkerLoad> set = byType.get(type);
+            return set.isEmpty() ? null : set.last().workerId;
+        }
+
+        private synchronized double loadHours(Long workerId) {
+            WorkerLoad worker = workers.get(workerId);
+            return worker != null ? worker.loadHours : 0.0;
+        }
+
+        private synchronized boolean isQualified(Long workerId, TaskType type) {
+            WorkerLoad worker = workers.get(workerId);
+            return worker != null && worker.skills.contains(type);
+        }
+
+        private synchronized List<AssignmentSuggestionResponse> ranked(TaskType type, int limit) {
+            List<AssignmentSuggestionResponse> result = new ArrayList<>();
+            for (WorkerLoad worker : byType.get(type)) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(new AssignmentSuggestionResponse(worker.workerId, worker.name, worker.workType,
+                        worker.openTasks, Math.round(worker.loadHours * 10.0) / 10.0));
+            }
+            return result;
+        }
+
+        // Re-position the worker in every tree it belongs to after changing its load
+        private synchronized void adjust(Long workerId, TaskType type, int delta) {
+            WorkerLoad worker = workers.get(workerId);
+            if (worker == null) {
+                return;
+            }
+            detach(worker);
+            worker.openTasks = Math.max(0, worker.openTasks + delta);
+            worker.loadHours = Math.max(0.0, worker.loadHours + delta * hoursPerTask.getOrDefault(type, DEFAULT_TASK_HOURS));
+            attach(worker);
+        }
+
+        private void attach(WorkerLoad worker) {
+            for (TaskType type : worker.skills) {
+                byType.get(type).add(worker);
+            }
+        }
+
+        private void detach(WorkerLoad worker) {
+            for (TaskType type : worker.skills) {
+                byType.get(type).remove(worker);
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ public class WorkerService {
     private final WorkerRepository workerRepository;
     private final RateRepository rateRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WorkerLoadIndex workerLoadIndex;
 
     @Transactional
     public void createWorker(Long shopId, CreateWorkerRequest request) {
@@ -77,6 +78,9 @@ public class WorkerService {
 
             rateRepository.save(rate);
         }
+
+        // 6️⃣ New worker becomes available for auto-assignment
+        workerLoadIndex.invalidateAfterCommit(shopId);
     }
 
     public List<WorkerResponse> getWorkersByShop(Long shopId, String name) {
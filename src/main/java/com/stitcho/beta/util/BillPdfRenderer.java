@@ -0,0 +1,345 @@
+package com.stitcho.beta.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+
+import com.stitcho.beta.dto.BillResponse;
+
+/**
+ * Renders a BillResponse as an A4 PDF using the built-in Helvetica fonts.
+ * The bill layout is compiled once into a list of sections, so rendering a
+ * bill only walks that list and writes the page content streams.
+ */
+@Component
+public class BillPdfRenderer {
+    private static final float PAGE_WIDTH = 595f;
+    private static final float PAGE_HEIGHT = 842f;
+    private static final float MARGIN = 50f;
+    private static final float LINE_HEIGHT = 16f;
+
+    // Column positions for the item and payment tables
+    private static final float COL_NAME = MARGIN;
+    private static final float COL_FABRIC = 230f;
+    private static final float COL_QTY = 350f;
+    private static final float COL_PRICE = 400f;
+    private static final float COL_AMOUNT = 480f;
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a", Locale.ENGLISH);
+
+    private final List<Section> template = compileTemplate();
+
+    public byte[] render(BillResponse bill) {
+        PageWriter writer = new PageWriter();
+        for (Section section : template) {
+            section.write(bill, writer);
+        }
+        return writer.toPdf();
+    }
+
+    @FunctionalInterface
+    private interface Section {
+        void write(BillResponse bill, PageWriter out);
+    }
+
+    private static List<Section> compileTemplate() {
+        List<Section> sections = new ArrayList<>();
+
+        // Shop header
+        sections.add((bill, out) -> {
+            BillResponse.ShopInfo shop = bill.getShop();
+            if (shop == null) {
+                return;
+            }
+            out.line(18f, true, MARGIN, text(shop.getName()));
+            if (shop.getAddress() != null) {
+                out.line(10f, false, MARGIN, shop.getAddress());
+            }
+            out.line(10f, false, MARGIN, "Phone: " + text(shop.getContactNumber()) + "   Email: " + text(shop.getEmail()));
+            if (shop.getGstNumber() != null && !shop.getGstNumber().isBlank()) {
+                out.line(10f, false, MARGIN, "GSTIN: " + shop.getGstNumber());
+            }
+            out.gap();
+        });
+
+        // Bill metadata
+        sections.add((bill, out) -> {
+            out.line(14f, true, MARGIN, "INVOICE");
+            out.row(10f, false, MARGIN, "Bill No: " + text(bill.getBillNumber()),
+                    COL_QTY, "Bill Date: " + format(bill.getBillDate(), DATE));
+            out.rule();
+        });
+
+        // Customer and order details
+        sections.add((bill, out) -> {
+            BillResponse.CustomerInfo customer = bill.getCustomer();
+            BillResponse.OrderInfo order = bill.getOrder();
+            out.row(11f, true, MARGIN, "Bill To", COL_QTY, "Order Details");
+            out.row(10f, false, MARGIN, customer != null ? text(customer.getName()) : "-",
+                    COL_QTY, "Order No: " + (order != null ? text(order.getOrderNumber()) : "-"));
+            out.row(10f, false, MARGIN, customer != null ? "Phone: " + text(customer.getContactNumber()) : "",
+                    COL_QTY, "Order Date: " + (order != null ? format(order.getOrderDate(), DATE) : "-"));
+            out.row(10f, false, MARGIN, customer != null ? "Email: " + text(customer.getEmail()) : "",
+                    COL_QTY, "Deadline: " + (order != null ? format(order.getDeadline(), DATE) : "-"));
+            out.row(10f, false, MARGIN, "",
+                    COL_QTY, "Status: " + (order != null ? text(order.getStatus()) : "-"));
+            out.gap();
+        });
+
+        // Items table
+        sections.add((bill, out) -> {
+            out.columns(10f, true, "Item", "Fabric", "Qty", "Price", "Amount");
+            out.rule();
+            if (bill.getItems() != null) {
+                for (BillResponse.ItemInfo item : bill.getItems()) {
+                    out.columns(10f, false, text(item.getName()), text(item.getFabricType()),
+                            String.valueOf(item.getQuantity()), money(item.getUnitPrice()), money(item.getTotalPrice()));
+                }
+            }
+            out.rule();
+        });
+
+        // Pricing summary
+        sections.add((bill, out) -> {
+            BillResponse.PricingInfo pricing = bill.getPricing();
+            if (pricing == null) {
+                return;
+            }
+            out.row(10f, false, COL_PRICE, "Subtotal", COL_AMOUNT, money(pricing.getSubtotal()));
+            if (pricing.getDiscount() != null && pricing.getDiscount() > 0) {
+                out.row(10f, false, COL_PRICE, "Discount", COL_AMOUNT, "-" + money(pricing.getDiscount()));
+            }
+            if (pricing.getTaxAmount() != null && pricing.getTaxAmount() > 0) {
+                out.row(10f, false, COL_PRICE, "Tax (" + pricing.getTaxRate() + "%)", COL_AMOUNT, money(pricing.getTaxAmount()));
+            }
+            out.row(11f, true, COL_PRICE, "Total", COL_AMOUNT, money(pricing.getTotalAmount()));
+            out.gap();
+        });
+
+        // Payments
+        sections.add((bill, out) -> {
+            BillResponse.PaymentInfo payment = bill.getPayment();
+            if (payment == null) {
+                return;
+            }
+            out.line(11f, true, MARGIN, "Payments");
+            if (payment.getPayments() != null) {
+                for (BillResponse.PaymentDetail detail : payment.getPayments()) {
+                    out.row(10f, false, MARGIN, format(detail.getDate(), DATE_TIME),
+                            COL_FABRIC, text(detail.getMethod()) + (detail.getNote() != null ? " - " + detail.getNote() : ""),
+                            COL_AMOUNT, money(detail.getAmount()));
+                }
+            }
+            out.rule();
+            out.row(10f, false, COL_PRICE, "Paid", COL_AMOUNT, money(payment.getPaidAmount()));
+            out.row(11f, true, COL_PRICE, "Balance", COL_AMOUNT, money(payment.getBalanceAmount()));
+            out.row(10f, false, COL_PRICE, "Status", COL_AMOUNT, text(payment.getPaymentStatus()));
+            out.gap();
+        });
+
+        // Notes and terms
+        sections.add((bill, out) -> {
+            if (bill.getNotes() != null && !bill.getNotes().isBlank()) {
+                out.line(10f, true, MARGIN, "Notes");
+                out.line(10f, false, MARGIN, bill.getNotes());
+                out.gap();
+            }
+            if (bill.getTerms() != null) {
+                out.line(9f, false, MARGIN, bill.getTerms());
+            }
+        });
+
+        return List.copyOf(sections);
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "-";
+    }
+
+    private static String money(Double amount) {
+        return amount != null ? String.format(Locale.ENGLISH, "Rs. %.2f", amount) : "-";
+    }
+
+    private static String format(TemporalAccessor value, DateTimeFormatter formatter) {
+        return value != null ? formatter.format(value) : "-";
+    }
+
+    /**
+     * Collects text operators per page and assembles the final PDF document.
+     */
+    private static final class PageWriter {
+        private final List<StringBuilder> pages = new ArrayList<>();
+        private StringBuilder current;
+        private float y;
+
+        PageWriter() {
+            newPage();
+        }
+
+        void line(float size, boolean bold, float x, String value) {
+            advance(size);
+            text(size, bold, x, value);
+        }
+
+        void row(float size, boolean bold, Object... cells) {
+            advance(size);
+            for (int i = 0; i + 1 < cells.length; i += 2) {
+                text(size, bold, (Float) cells[i], (String) cells[i + 1]);
+            }
+        }
+
+        void columns(float size, boolean bold, String name, String fabric, String qty, String price, String amount) {
+            row(size, bold, COL_NAME, truncate(name, 32), COL_FABRIC, truncate(fabric, 20),
+                    COL_QTY, qty, COL_PRICE, price, COL_AMOUNT, amount);
+        }
+
+        void rule() {
+            ensureSpace(LINE_HEIGHT / 2);
+            y -= 4f;
+            current.append(String.format(Locale.ENGLISH, "%.1f %.1f m %.1f %.1f l S%n",
+                    MARGIN, y, PAGE_WIDTH - MARGIN, y));
+            y -= 4f;
+        }
+
+        void gap() {
+            y -= LINE_HEIGHT / 2;
+        }
+
+        private void advance(float size) {
+            float height = Math.max(LINE_HEIGHT, size + 4f);
+            ensureSpace(height);
+            y -= height;
+        }
+
+        private void ensureSpace(float height) {
+            if (y - height < MARGIN) {
+                newPage();
+            }
+        }
+
+        private void newPage() {
+            current = new StringBuilder();
+            current.append("0.5 w\n");
+            pages.add(current);
+            y = PAGE_HEIGHT - MARGIN;
+        }
+
+        private void text(float size, boolean bold, float x, String value) {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            current.append("BT /").append(bold ? "F2" : "F1").append(' ')
+                    .append(String.format(Locale.ENGLISH, "%.1f Tf %.1f %.1f Td (", size, x, y))
+                    .append(escape(value))
+                    .append(") Tj ET\n");
+        }
+
+        private static String truncate(String value, int max) {
+            return value.length() > max ? value.substring(0, max - 3) + "..." : value;
+        }
+
+        // Escapes PDF string delimiters and replaces characters outside WinAnsi
+        private static String escape(String value) {
+            StringBuilder sb = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '(' || c == ')' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n' || c == '\r' || c == '\t') {
+                    sb.append(' ');
+                } else if (c < 32 || c > 255) {
+                    sb.append('?');
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        byte[] toPdf() {
+            PdfDocument doc = new PdfDocument();
+            int catalog = doc.reserve();
+            int pagesRef = doc.reserve();
+            int regular = doc.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+            int bold = doc.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+
+            StringBuilder kids = new StringBuilder();
+            for (StringBuilder content : pages) {
+                byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+                int contentRef = doc.addStream(stream);
+                int pageRef = doc.add("<< /Type /Page /Parent " + pagesRef + " 0 R"
+                        + " /MediaBox [0 0 " + (int) PAGE_WIDTH + " " + (int) PAGE_HEIGHT + "]"
+                        + " /Resources << /Font << /F1 " + regular + " 0 R /F2 " + bold + " 0 R >> >>"
+                        + " /Contents " + contentRef + " 0 R >>");
+                kids.append(pageRef).append(" 0 R ");
+            }
+
+            doc.set(pagesRef, "<< /Type /Pages /Kids [" + kids.toString().trim() + "] /Count " + pages.size() + " >>");
+            doc.set(catalog, "<< /Type /Catalog /Pages " + pagesRef + " 0 R >>");
+            return doc.write(catalog);
+        }
+    }
+
+    /**
+     * Minimal PDF object table with a cross-reference section.
+     */
+    private static final class PdfDocument {
+        private final List<byte[]> objects = new ArrayList<>();
+
+        int reserve() {
+            objects.add(null);
+            return objects.size();
+        }
+
+        int add(String body) {
+            objects.add(body.getBytes(StandardCharsets.ISO_8859_1));
+            return objects.size();
+        }
+
+        void set(int ref, String body) {
+            objects.set(ref - 1, body.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        int addStream(byte[] data) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(data.length + 64);
+            body.writeBytes(("<< /Length " + data.length + " >>\nstream\n").getBytes(StandardCharsets.ISO_8859_1));
+            body.writeBytes(data);
+            body.writeBytes("\nendstream".getBytes(StandardCharsets.ISO_8859_1));
+            objects.add(body.toByteArray());
+            return objects.size();
+        }
+
+        byte[] write(int rootRef) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            out.writeBytes("%PDF-1.4\n".getBytes(StandardCharsets.ISO_8859_1));
+
+            long[] offsets = new long[objects.size()];
+            for (int i = 0; i < objects.size(); i++) {
+                offsets[i] = out.size();
+                out.writeBytes(((i + 1) + " 0 obj\n").getBytes(StandardCharsets.ISO_8859_1));
+                out.writeBytes(objects.get(i));
+                out.writeBytes("\nendobj\n".getBytes(StandardCharsets.ISO_8859_1));
+            }
+
+            long xref = out.size();
+            StringBuilder trailer = new StringBuilder();
+            trailer.append("xref\n0 ").append(objects.size() + 1).append('\n');
+            trailer.append("0000000000 65535 f \n");
+            for (long offset : offsets) {
+                trailer.append(String.format("%010d 00000 n \n", offset));
+            }
+            trailer.append("trailer\n<< /Size ").append(objects.size() + 1)
+                    .append(" /Root ").append(rootRef).append(" 0 R >>\n")
+                    .append("startxref\n").append(xref).append("\n%%EOF\n");
+            out.writeBytes(trailer.toString().getBytes(StandardCharsets.ISO_8859_1));
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.stitcho.beta.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch for durations (in seconds) with 1% relative error.
+ *
+ * Values are counted in logarithmic buckets: bucket i holds values in
+ * (gamma^(i-1), gamma^i], so any quantile is reported within 1% of a value
+ * that was actually recorded. A year of durations at second resolution needs
+ * under 900 buckets however many values are added, and two sketches merge by
+ * adding bucket counts.
+ *
+ * Counts are weights: decay(factor) scales every bucket down, so repeated
+ * decay turns the sketch into an exponentially weighted one in which recent
+ * values dominate the quantiles and old ones fade out. count() is then the
+ * effective number of values, rounded. Not thread-safe.
+ */
+public class DurationSketch {
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_VALUE = 1.0; // Durations under a second count as zero
+    private static final double MIN_WEIGHT = 1e-3; // Decayed buckets lighter than this are dropped
+    private static final int FORMAT_VERSION = 2; // 1 stored whole counts
+
+    private final TreeMap<Integer, Double> buckets = new TreeMap<>();
+    private double zeroCount;
+    private double count;
+
+    public void add(double seconds) {
+        add(seconds, 1.0);
+    }
+
+    /**
+     * Add a value counted with the given weight, e.g. less than 1 for an old value
+     */
+    public void add(double seconds, double weight) {
+        if (Double.isNaN(seconds) || seconds < 0 || !(weight > 0)) {
+            return;
+        }
+        if (seconds < MIN_VALUE) {
+            zeroCount += weight;
+        } else {
+            buckets.merge(index(seconds), weight, Double::sum);
+        }
+        count += weight;
+    }
+
+    public void merge(DurationSketch other) {
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Double::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * Scale every count by factor (0..1)
+     */
+    public void decay(double factor) {
+        if (factor >= 1.0) {
+            return;
+        }
+        double keep = Math.max(0.0, factor);
+        buckets.replaceAll((index, bucketCount) -> bucketCount * keep);
+        buckets.values().removeIf(bucketCount -> bucketCount < MIN_WEIGHT);
+        zeroCount = zeroCount * keep < MIN_WEIGHT ? 0.0 : zeroCount * keep;
+        count = zeroCount;
+        for (double bucketCount : buckets.values()) {
+            count += bucketCount;
+        }
+    }
+
+    public long count() {
+        return Math.round(count);
+    }
+
+    /**
+     * Value at quantile q (0..1), or null when the sketch is empty
+     */
+    public Double quantile(double q) {
+        if (count <= 0) {
+            return null;
+        }
+        double rank = Math.floor(Math.max(0.0, Math.min(1.0, q)) * Math.max(0.0, count - 1));
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        double seen = zeroCount;
+        for (Map.Entry<Integer, Double> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return value(bucket.getKey());
+            }
+        }
+        return value(buckets.lastKey());
+    }
+
+    public byte[] toBytes() {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeDouble(zeroCount);
+            out.writeInt(buckets.size());
+            for (Map.Entry<Integer, Double> bucket : buckets.entrySet()) {
+                out.writeInt(bucket.getKey());
+                out.writeDouble(bucket.getValue());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static DurationSketch fromBytes(byte[] data) {
+        DurationSketch sketch = new DurationSketch();
+        if (data == null || data.length == 0) {
+            return sketch;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readByte();
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format: " + version);
+            }
+            boolean whole = version == 1;
+            sketch.zeroCount = whole ? in.readLong() : in.readDouble();
+            sketch.count = sketch.zeroCount;
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                int index = in.readInt();
+                double bucketCount = whole ? in.readLong() : in.readDouble();
+                sketch.buckets.put(index, bucketCount);
+                sketch.count += bucketCount;
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // Midpoint of the bucket in relative terms, so the error is at most RELATIVE_ACCURACY either way
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.stitcho.beta.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread tally of the JDBC work done on behalf of one unit of work,
+ * usually an HTTP request: statements executed, rows read and entities
+ * Hibernate materialized. Statements are also counted by SQL text, so a
+ * statement run once per row of an earlier result (an N+1) stands out as the
+ * most repeated one.
+ *
+ * Counting only happens between start() and stop() on the same thread; work
+ * handed to other threads is not attributed to the caller.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Counts the statements issued by the given work, restoring whatever
+     * count was active on the thread before
+     */
+    public static Stats measure(Runnable work) {
+        Stats outer = CURRENT.get();
+        Stats stats = start();
+        try {
+            work.run();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+                outer.add(stats);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return stats;
+    }
+
+    public static void statementExecuted(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.bySql.merge(sql != null ? sql : "<batch>", 1, Integer::sum);
+        }
+    }
+
+    public static void rowRead() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    public static void entityLoaded() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entities++;
+        }
+    }
+
+    public static final class Stats {
+        private long statements;
+        private long rows;
+        private long entities;
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getEntities() {
+            return entities;
+        }
+
+        /**
+         * The SQL executed most often, or null when nothing ran
+         */
+        public String getMostRepeatedSql() {
+            return bySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        public int getMostRepeatedCount() {
+            return bySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        private void add(Stats other) {
+            statements += other.statements;
+            rows += other.rows;
+            entities += other.entities;
+            other.bySql.forEach((sql, count) -> bySql.merge(sql, count, Integer::sum));
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rows + " rows, " + entities + " entities";
+        }
+    }
+}
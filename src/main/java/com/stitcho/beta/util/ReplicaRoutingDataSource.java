@@ -0,0 +1,182 @@
+package com.stitcho.beta.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the application's own read-only transactions to a replica and
+ * everything else to the primary. A transaction qualifies when it is
+ * read-only and its name (the @Transactional method, or a TransactionTemplate's
+ * name) starts with the given prefix. Spring Data's default read-only
+ * repository transactions don't qualify: a repository read outside a service
+ * transaction is often the first half of a read-modify-write, and must not
+ * see a lagging copy.
+ *
+ * The replica is used only while its replication lag, checked in the
+ * background, is within maxLagSeconds; otherwise, or when the check fails,
+ * reads fall back to the primary. After a user's write transaction commits,
+ * that user's reads stay on the primary for stickySeconds, so they see their
+ * own change even though the replica hasn't replayed it yet. Stickiness is
+ * per instance and keyed by the authenticated principal. Anonymous requests
+ * and work without a principal, such as dashboard sections on their own
+ * threads, are not sticky.
+ *
+ * Connections are fetched lazily, on the first statement, because the
+ * transaction's read-only flag isn't known yet when the transaction manager
+ * asks for the connection. The target is picked per physical connection, so
+ * this relies on each transaction fetching its own (see ReplicaRoutingConfig).
+ * A session reading from the replica only reads the second-level cache: what
+ * it loads may be behind the primary and must not be shared with other sessions.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private final long stickyMillis;
+    private final String replicaTransactionPrefix;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String replicaTransactionPrefix,
+                                    double maxLagSeconds, long stickySeconds, long lagCheckMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaTransactionPrefix = replicaTransactionPrefix;
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyMillis = TimeUnit.SECONDS.toMillis(stickySeconds);
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+
+        checkLag();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, lagCheckMillis, lagCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws Exception {
+        lagChecker.shutdownNow();
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickAfterCommit();
+            return Target.PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (!replicaUsable || name == null || !name.startsWith(replicaTransactionPrefix)) {
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (user != null) {
+            Long until = stickyUntil.get(user);
+            if (until != null && until > System.currentTimeMillis()) {
+                return Target.PRIMARY;
+            }
+        }
+        skipCachePuts();
+        return Target.REPLICA;
+    }
+
+    private static void skipCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    // Keep the user on the primary for a while once their write is committed
+    private void stickAfterCommit() {
+        String user = currentUser();
+        if (user == null || stickyMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(user, System.currentTimeMillis() + stickyMillis);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void checkLag() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+            usable = lagSeconds <= maxLagSeconds;
+            if (!usable && replicaUsable) {
+                log.warn("Replica is {}s behind (limit {}s), reading from the primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (Exception e) {
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            log.info("Replica is within {}s of the primary, routing read-only transactions to it", maxLagSeconds);
+        }
+        replicaUsable = usable;
+
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+}
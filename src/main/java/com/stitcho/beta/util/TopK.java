@@ -0,0 +1,50 @@
+package com.stitcho.beta.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best elements seen so far using a bounded min-heap.
+ * Offering n elements costs O(n log k) time and O(k) memory.
+ * Not thread-safe.
+ */
+public class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k     number of elements to keep
+     * @param order ordering where greater means better
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(k, order);
+    }
+
+    public void offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (order.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // Best first
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
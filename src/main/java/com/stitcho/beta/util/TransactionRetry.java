@@ -0,0 +1,70 @@
+package com.stitcho.beta.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it when the
+ * transaction loses a concurrency race: a failed optimistic version check
+ * (@Version on Order and Task) or a deadlock victim. The whole transaction is
+ * rolled back before each retry, so the work always starts from fresh data.
+ * Attempts are bounded and spaced with a small randomized backoff; the last
+ * failure is rethrown. When called inside an existing transaction the work
+ * simply joins it, since only the outermost caller can retry.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionRetry {
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.concurrency.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.concurrency.backoff-ms:10}")
+    private long backoffMs;
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Concurrency conflict on attempt {}, retrying: {}", attempt, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stitcho.beta.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.stitcho.beta.config.QueryCountFilter;
+import com.stitcho.beta.support.QueryBudget;
+import com.stitcho.beta.util.JwtUtil;
+
+/**
+ * Statement budgets of the owner's order endpoints against one seeded shop
+ * (DatasetGenerator, fixed seed). A budget that fails means a change added
+ * queries to the endpoint, most often a repository call per row.
+ */
+@ActiveProfiles({"test", "datagen"})
+@SpringBootTest(properties = {
+        "app.datagen.shops=1",
+        "app.datagen.years=1",
+        "app.datagen.orders-per-shop-per-year=" + OrderQueryBudgetTest.ORDERS,
+        "app.datagen.customers-per-shop=10",
+        "app.datagen.workers-per-shop=4",
+        "app.datagen.exit-when-done=false"
+})
+class OrderQueryBudgetTest {
+    static final int ORDERS = 30;
+
+    // Independent of ORDERS: items, tasks and customers are fetched for the whole list
+    private static final int ORDER_LIST_BUDGET = 25;
+    private static final int ORDER_DETAIL_BUDGET = 25;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private QueryCountFilter queryCountFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private String ownerToken;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(queryCountFilter).build();
+        ownerToken = jdbcTemplate.queryForObject(
+                "SELECT u.id, u.email, u.name, r.role_name, o.shop_id FROM owners o " +
+                "JOIN users u ON u.id = o.user_id JOIN roles r ON r.id = u.role_id ORDER BY u.id LIMIT 1",
+                (rs, i) -> jwtUtil.generateTokenWithIds(rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getLong(1), rs.getLong(5), null, null));
+        orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+    }
+
+    @Test
+    void orderListStaysWithinBudget() throws Exception {
+        QueryBudget.assertMaxStatements(mockMvc,
+                get("/api/orders").header("Authorization", "Bearer " + ownerToken), ORDER_LIST_BUDGET);
+    }
+
+    @Test
+    void orderDetailStaysWithinBudget() throws Exception {
+        QueryBudget.assertMaxStatements(mockMvc,
+                get("/api/orders/" + orderId).header("Authorization", "Bearer " + ownerToken), ORDER_DETAIL_BUDGET);
+    }
+}
@@ -0,0 +1,338 @@
+package com.stitcho.beta.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.stitcho.beta.util.DurationSketch;
+import com.stitcho.beta.util.JwtUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a mix of owners, workers and customers against the real REST
+ * endpoints and fails when an endpoint's p95/p99 latency or error rate is over
+ * its budget in loadtest-slo.properties. Writes target/loadtest/report.csv.
+ *
+ * Tagged "loadtest" and left out of the normal build; run with
+ *
+ *   ./mvnw test -Ploadtest
+ *
+ * which seeds an in-memory H2 database through DatasetGenerator. To run
+ * against a local PostgreSQL seeded beforehand with the datagen profile:
+ *
+ *   ./mvnw test -Ploadtest -Dloadtest.datasource.url=jdbc:postgresql://localhost:5432/stitcho \
+ *       -Dloadtest.datasource.username=... -Dloadtest.datasource.password=... -Dloadtest.seed-shops=0
+ *
+ * Other settings (system properties): loadtest.concurrency, loadtest.duration-seconds,
+ * loadtest.warmup-seconds, loadtest.mix (owner:worker:customer shares), loadtest.users-per-role.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("datagen")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+    private static final String H2_URL = "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private enum UserRole { OWNER, WORKER, CUSTOMER }
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("owner.orders", UserRole.OWNER, "/api/orders", 4),
+            new Endpoint("owner.analytics", UserRole.OWNER, "/api/shops/me/analytics", 1),
+            new Endpoint("worker.tasks", UserRole.WORKER, "/api/workers/me/tasks", 3),
+            new Endpoint("customer.orders", UserRole.CUSTOMER, "/api/customers/me/orders", 2),
+            new Endpoint("customer.stats", UserRole.CUSTOMER, "/api/customers/me/stats", 1),
+            new Endpoint("customer.payments", UserRole.CUSTOMER, "/api/customers/me/payments", 1));
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("loadtest.datasource.url", H2_URL);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getProperty("loadtest.datasource.username", "sa"));
+        registry.add("spring.datasource.password", () -> System.getProperty("loadtest.datasource.password", ""));
+        if (url.startsWith("jdbc:h2:")) {
+            registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        }
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+        registry.add("app.datagen.shops", () -> System.getProperty("loadtest.seed-shops", "4"));
+        registry.add("app.datagen.orders-per-shop-per-year", () -> System.getProperty("loadtest.seed-orders", "3000"));
+        registry.add("app.datagen.years", () -> 1);
+        registry.add("app.datagen.exit-when-done", () -> false);
+    }
+
+    @Test
+    void endpointsStayWithinLatencyBudgets() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int usersPerRole = Integer.getInteger("loadtest.users-per-role", 200);
+        int[] mix = parseMix(System.getProperty("loadtest.mix", "30:30:40"));
+
+        Map<UserRole, List<String>> tokens = issueTokens(usersPerRole);
+        for (UserRole role : UserRole.values()) {
+            assertThat(tokens.get(role)).as("seeded %s users", role).isNotEmpty();
+        }
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        ENDPOINTS.forEach(endpoint -> stats.put(endpoint.name, new EndpointStats()));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            users.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    UserRole role = pickRole(mix, random);
+                    Endpoint endpoint = pickEndpoint(role, random);
+                    List<String> roleTokens = tokens.get(role);
+                    String token = roleTokens.get(random.nextInt(roleTokens.size()));
+                    call(client, endpoint, token, warmupEnd, stats.get(endpoint.name));
+                }
+                return null;
+            });
+        }
+        users.shutdown();
+        assertThat(users.awaitTermination(durationSeconds + warmupSeconds + 60L, TimeUnit.SECONDS)).isTrue();
+
+        List<String> violations = checkBudgets(stats, durationSeconds);
+        assertThat(violations).as("SLO violations").isEmpty();
+    }
+
+    private void call(HttpClient client, Endpoint endpoint, String token, long warmupEnd, EndpointStats stats) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint.path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (started >= warmupEnd) {
+            stats.record((System.nanoTime() - started) / 1000.0, ok);
+        }
+    }
+
+    // Tokens as issued at login, for a sample of each role's users
+    private Map<UserRole, List<String>> issueTokens(int usersPerRole) {
+        Map<UserRole, List<String>> tokens = new EnumMap<>(UserRole.class);
+        tokens.put(UserRole.OWNER, jdbcTemplate.query(
+                "SELECT u.id, u.email, u.name, r.role_name, o.shop_id FROM owners o " +
+                "JOIN users u ON u.id = o.user_id JOIN roles r ON r.id = u.role_id ORDER BY u.id LIMIT ?",
+                (rs, i) -> jwtUtil.generateTokenWithIds(rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getLong(1), rs.getLong(5), null, null), usersPerRole));
+        tokens.put(UserRole.WORKER, jdbcTemplate.query(
+                "SELECT u.id, u.email, u.name, r.role_name, w.shop_id, w.id FROM workers w " +
+                "JOIN users u ON u.id = w.user_id JOIN roles r ON r.id = u.role_id ORDER BY u.id LIMIT ?",
+                (rs, i) -> jwtUtil.generateTokenWithIds(rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getLong(1), rs.getLong(5), null, rs.getLong(6)), usersPerRole));
+        tokens.put(UserRole.CUSTOMER, jdbcTemplate.query(
+                "SELECT u.id, u.email, u.name, r.role_name, c.shop_id, c.id FROM customers c " +
+                "JOIN users u ON u.id = c.user_id JOIN roles r ON r.id = u.role_id ORDER BY u.id LIMIT ?",
+                (rs, i) -> jwtUtil.generateTokenWithIds(rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getLong(1), rs.getLong(5), rs.getLong(6), null), usersPerRole));
+        return tokens;
+    }
+
+    private List<String> checkBudgets(Map<String, EndpointStats> stats, int durationSeconds) throws IOException {
+        Properties budgets = loadBudgets();
+        List<String> violations = new ArrayList<>();
+
+        Path report = Paths.get("target", "loadtest", "report.csv");
+        Files.createDirectories(report.getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(report))) {
+            csv.println("endpoint,requests,errors,rps,p50_ms,p95_ms,p99_ms");
+            log.info(String.format("%-20s %9s %7s %8s %9s %9s %9s", "endpoint", "requests", "errors", "rps",
+                    "p50 ms", "p95 ms", "p99 ms"));
+            for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+                String name = entry.getKey();
+                EndpointStats endpoint = entry.getValue();
+                double rps = (double) endpoint.requests() / durationSeconds;
+                double p50 = endpoint.quantileMillis(0.50);
+                double p95 = endpoint.quantileMillis(0.95);
+                double p99 = endpoint.quantileMillis(0.99);
+                double errorRate = endpoint.requests() > 0 ? (double) endpoint.errors() / endpoint.requests() : 0.0;
+
+                csv.printf("%s,%d,%d,%.1f,%.1f,%.1f,%.1f%n", name, endpoint.requests(), endpoint.errors(), rps,
+                        p50, p95, p99);
+                log.info(String.format("%-20s %9d %7d %8.1f %9.1f %9.1f %9.1f", name, endpoint.requests(),
+                        endpoint.errors(), rps, p50, p95, p99));
+
+                if (endpoint.requests() == 0) {
+                    violations.add(name + ": no requests completed");
+                    continue;
+                }
+                double p95Budget = budget(budgets, name, "p95");
+                double p99Budget = budget(budgets, name, "p99");
+                double errorBudget = budget(budgets, name, "error-rate");
+                if (p95 > p95Budget) {
+                    violations.add(String.format("%s: p95 %.1f ms > %.0f ms", name, p95, p95Budget));
+                }
+                if (p99 > p99Budget) {
+                    violations.add(String.format("%s: p99 %.1f ms > %.0f ms", name, p99, p99Budget));
+                }
+                if (errorRate > errorBudget) {
+                    violations.add(String.format("%s: error rate %.3f > %.3f", name, errorRate, errorBudget));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static Properties loadBudgets() throws IOException {
+        Properties budgets = new Properties();
+        String override = System.getProperty("loadtest.slo");
+        try (InputStream in = override != null ? Files.newInputStream(Paths.get(override))
+                : ApiLoadTest.class.getResourceAsStream("/loadtest-slo.properties")) {
+            budgets.load(in);
+        }
+        return budgets;
+    }
+
+    private static double budget(Properties budgets, String endpoint, String metric) {
+        String value = budgets.getProperty(endpoint + "." + metric, budgets.getProperty("default." + metric));
+        return value != null ? Double.parseDouble(value) : Double.MAX_VALUE;
+    }
+
+    private static int[] parseMix(String mix) {
+        String[] parts = mix.split(":");
+        if (parts.length != UserRole.values().length) {
+            throw new IllegalArgumentException("loadtest.mix must be owner:worker:customer, e.g. 30:30:40");
+        }
+        int[] shares = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            shares[i] = Integer.parseInt(parts[i].trim());
+        }
+        return shares;
+    }
+
+    private static UserRole pickRole(int[] mix, ThreadLocalRandom random) {
+        int total = 0;
+        for (int share : mix) {
+            total += share;
+        }
+        int roll = random.nextInt(total);
+        for (UserRole role : UserRole.values()) {
+            roll -= mix[role.ordinal()];
+            if (roll < 0) {
+                return role;
+            }
+        }
+        return UserRole.CUSTOMER;
+    }
+
+    private static Endpoint pickEndpoint(UserRole role, ThreadLocalRandom random) {
+        int total = 0;
+        for (Endpoint endpoint : ENDPOINTS) {
+            if (endpoint.role == role) {
+                total += endpoint.weight;
+            }
+        }
+        int roll = random.nextInt(total);
+        for (Endpoint endpoint : ENDPOINTS) {
+            if (endpoint.role == role) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+        }
+        throw new IllegalStateException("No endpoint for " + role);
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final UserRole role;
+        private final String path;
+        private final int weight;
+
+        private Endpoint(String name, UserRole role, String path, int weight) {
+            this.name = name;
+            this.role = role;
+            this.path = path;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Latencies of one endpoint, in microseconds
+     */
+    private static final class EndpointStats {
+        private final DurationSketch latencies = new DurationSketch();
+        private long requests;
+        private long errors;
+
+        private synchronized void record(double micros, boolean ok) {
+            requests++;
+            if (ok) {
+                latencies.add(micros);
+            } else {
+                errors++;
+            }
+        }
+
+        private synchronized long requests() {
+            return requests;
+        }
+
+        private synchronized long errors() {
+            return errors;
+        }
+
+        private synchronized double quantileMillis(double q) {
+            Double micros = latencies.quantile(q);
+            return micros != null ? micros / 1000.0 : 0.0;
+        }
+    }
+}
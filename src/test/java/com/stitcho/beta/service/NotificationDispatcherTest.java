@@ -0,0 +1,118 @@
+package com.stitcho.beta.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.stitcho.beta.Repository.OutboxMessageRepository;
+import com.stitcho.beta.entity.OutboxMessage;
+import com.stitcho.beta.entity.OutboxStatus;
+
+/**
+ * Drains the outbox into an in-memory SMTP stand-in that fails on demand, and
+ * checks that failed sends are retried and eventually dead-lettered.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "app.outbox.poll-ms=3600000",
+        "app.outbox.backoff-ms=0",
+        "app.outbox.max-attempts=3"
+})
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private RecordingMailSender mailSender;
+
+    @BeforeEach
+    void clear() {
+        outboxRepository.deleteAll();
+        mailSender.sent.clear();
+    }
+
+    @Test
+    void failedSendsAreRetriedUntilTheySucceed() {
+        Long id = enqueue("retry@outbox.test");
+        mailSender.failuresLeft.set(2);
+
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+
+        OutboxMessage message = outboxRepository.findById(id).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(message.getSentAt()).isNotNull();
+        assertThat(mailSender.sent).hasSize(1);
+        assertThat(mailSender.sent.get(0).getTo()).containsExactly("retry@outbox.test");
+
+        // Nothing left to send
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(mailSender.sent).hasSize(1);
+    }
+
+    @Test
+    void messagesAreDeadLetteredAfterTheLastAttempt() {
+        Long id = enqueue("dead@outbox.test");
+        mailSender.failuresLeft.set(Integer.MAX_VALUE);
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch();
+        }
+
+        OutboxMessage message = outboxRepository.findById(id).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(message.getLastError()).contains("SMTP unavailable");
+        assertThat(mailSender.sent).isEmpty();
+    }
+
+    private Long enqueue(String recipient) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject("Order #1 is now completed");
+        message.setBody("Your order #1 is now completed.");
+        message.setNextAttemptAt(LocalDateTime.now());
+        return outboxRepository.save(message).getId();
+    }
+
+    static class RecordingMailSender extends JavaMailSenderImpl {
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        final List<SimpleMailMessage> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new MailSendException("SMTP unavailable");
+            }
+            sent.addAll(List.of(simpleMessages));
+        }
+    }
+
+    @TestConfiguration
+    static class MailStandIn {
+        @Bean
+        RecordingMailSender mailSender() {
+            return new RecordingMailSender();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.stitcho.beta.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.CustomerRepository;
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OutboxMessageRepository;
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.RoleRepository;
+import com.stitcho.beta.Repository.ShopRepository;
+import com.stitcho.beta.Repository.UserRepository;
+import com.stitcho.beta.dto.UpdatePaymentRequest;
+import com.stitcho.beta.entity.Customer;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Role;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.User;
+
+/**
+ * Records a payment and delivers an order, once in a transaction that rolls
+ * back and once for real, and checks the customer email is queued exactly
+ * when the change commits.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.outbox.poll-ms=3600000")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationOutboxTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private SecureOrderService secureOrderService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long ownerUserId;
+    private Shop shop;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        if (shop != null) {
+            return; // One shop, owner and customer for both tests
+        }
+
+        shop = new Shop();
+        shop.setShopName("Outbox Tailors");
+        shop = shopRepository.save(shop);
+
+        Owner owner = new Owner();
+        owner.setUser(user("owner", "Outbox Owner", "owner@outbox.test"));
+        owner.setShop(shop);
+        ownerRepository.save(owner);
+        ownerUserId = owner.getUser().getId();
+
+        customer = new Customer();
+        customer.setUser(user("customer", "Outbox Customer", "customer@outbox.test"));
+        customer.setShop(shop);
+        customer = customerRepository.save(customer);
+    }
+
+    @Test
+    void paymentEmailIsQueuedOnlyWhenThePaymentCommits() {
+        Long orderId = order(OrderStatus.CUTTING).getOrderId();
+        UpdatePaymentRequest request = new UpdatePaymentRequest(200.0, "CASH", null, null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentService.updatePayment(ownerUserId, orderId, request);
+            status.setRollbackOnly();
+        });
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(orderRepository.findById(orderId).orElseThrow().getPaidAmount()).isZero();
+
+        paymentService.updatePayment(ownerUserId, orderId, request);
+        assertThat(outboxRepository.findAll()).singleElement()
+                .satisfies(message -> {
+                    assertThat(message.getRecipient()).isEqualTo("customer@outbox.test");
+                    assertThat(message.getSubject()).isEqualTo("Payment received for order #" + orderId);
+                });
+    }
+
+    @Test
+    void deliveryEmailIsQueuedOnlyWhenTheDeliveryCommits() {
+        Long orderId = order(OrderStatus.COMPLETED).getOrderId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            secureOrderService.deliverOrder(ownerUserId, "OWNER", orderId);
+            status.setRollbackOnly();
+        });
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.COMPLETED);
+
+        secureOrderService.deliverOrder(ownerUserId, "OWNER", orderId);
+        assertThat(outboxRepository.findAll()).singleElement()
+                .satisfies(message -> {
+                    assertThat(message.getRecipient()).isEqualTo("customer@outbox.test");
+                    assertThat(message.getSubject()).isEqualTo("Order #" + orderId + " is now delivered");
+                });
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setShop(shop);
+        order.setCustomer(customer);
+        order.setDeadline(LocalDate.now().plusDays(7));
+        order.setTotalPrice(1000.0);
+        order.setPaidAmount(0.0);
+        order.setStatus(status);
+        return orderRepository.save(order);
+    }
+
+    private User user(String roleName, String name, String email) {
+        Role role = new Role();
+        role.setRoleName(roleName);
+        role = roleRepository.save(role);
+
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
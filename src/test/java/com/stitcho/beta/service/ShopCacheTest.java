@@ -0,0 +1,108 @@
+package com.stitcho.beta.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OwnerRepository;
+import com.stitcho.beta.Repository.RoleRepository;
+import com.stitcho.beta.Repository.ShopRepository;
+import com.stitcho.beta.Repository.UserRepository;
+import com.stitcho.beta.dto.UpdateOwnerProfileRequest;
+import com.stitcho.beta.dto.UpdateShopRequest;
+import com.stitcho.beta.entity.Owner;
+import com.stitcho.beta.entity.Role;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reads a shop through its owner twice, so the second read comes from the
+ * second-level and query caches, then changes the shop in each of the ways
+ * the application does and checks every change is seen on the next read.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ShopCacheTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private SecureOwnerService secureOwnerService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shopChangesAreVisibleThroughTheCache() {
+        Role role = new Role();
+        role.setRoleName("owner");
+        role = roleRepository.save(role);
+
+        User user = new User();
+        user.setName("Cache Owner");
+        user.setEmail("owner@cache.test");
+        user.setPassword("secret");
+        user.setRole(role);
+        user = userRepository.save(user);
+
+        Shop shop = new Shop();
+        shop.setShopName("Original");
+        shop = shopRepository.save(shop);
+
+        Owner owner = new Owner();
+        owner.setUser(user);
+        owner.setShop(shop);
+        ownerRepository.save(owner);
+
+        Long userId = user.getId();
+        Long shopId = shop.getShopId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(ownedShop(userId).getShopName()).isEqualTo("Original");
+        statistics.clear();
+        assertThat(ownedShop(userId).getShopName()).isEqualTo("Original");
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("shops").getHitCount()).isPositive();
+
+        adminService.updateShop(shopId, new UpdateShopRequest(
+                new UpdateShopRequest.ShopDetails("Renamed by admin", null, null, null), null));
+        assertThat(ownedShop(userId).getShopName()).isEqualTo("Renamed by admin");
+
+        UpdateOwnerProfileRequest profile = new UpdateOwnerProfileRequest();
+        profile.setShopName("Renamed by owner");
+        secureOwnerService.updateMyShopProfile(userId, profile);
+        assertThat(ownedShop(userId).getShopName()).isEqualTo("Renamed by owner");
+
+        // The native rating update bypasses the entity, so it has to evict the cached shop
+        transactionTemplate.executeWithoutResult(status -> shopRepository.addRating(shopId, 5));
+        assertThat(ownedShop(userId).getRatingStats().getCount()).isEqualTo(1L);
+    }
+
+    private Shop ownedShop(Long userId) {
+        return transactionTemplate.execute(status -> ownerRepository.findByUser_Id(userId).orElseThrow().getShop());
+    }
+}
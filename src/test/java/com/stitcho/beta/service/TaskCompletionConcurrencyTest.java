@@ -0,0 +1,176 @@
+package com.stitcho.beta.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stitcho.beta.Repository.OrderActivityRepository;
+import com.stitcho.beta.Repository.OrderRepository;
+import com.stitcho.beta.Repository.OrderTaskCounterRepository;
+import com.stitcho.beta.Repository.RoleRepository;
+import com.stitcho.beta.Repository.ShopRepository;
+import com.stitcho.beta.Repository.TaskRepository;
+import com.stitcho.beta.Repository.UserRepository;
+import com.stitcho.beta.Repository.WorkerRepository;
+import com.stitcho.beta.entity.Order;
+import com.stitcho.beta.entity.OrderStatus;
+import com.stitcho.beta.entity.Role;
+import com.stitcho.beta.entity.Shop;
+import com.stitcho.beta.entity.Task;
+import com.stitcho.beta.entity.TaskStatus;
+import com.stitcho.beta.entity.TaskType;
+import com.stitcho.beta.entity.User;
+import com.stitcho.beta.entity.Worker;
+
+/**
+ * Completes every stage of many orders at the same time, from several threads,
+ * and checks that each order ends COMPLETED exactly once. Relies only on
+ * optimistic versioning and retries; no pessimistic locks are taken.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=20")
+class TaskCompletionConcurrencyTest {
+    private static final int ORDERS = 60;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private OrderTaskCounterRepository counterRepository;
+
+    @Autowired
+    private OrderActivityRepository activityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentCompletionsCompleteEachOrderExactlyOnce() throws Exception {
+        Shop shop = new Shop();
+        shop.setShopName("Concurrency Test Shop");
+        shop = shopRepository.save(shop);
+
+        Role role = new Role();
+        role.setRoleName("WORKER");
+        role = roleRepository.save(role);
+
+        // One worker per stage, so every order's tasks are completed by different workers
+        Map<TaskType, Worker> workers = new EnumMap<>(TaskType.class);
+        for (TaskType type : TaskType.values()) {
+            User user = new User();
+            user.setName(type.name() + " worker");
+            user.setEmail(type.name().toLowerCase() + "@concurrency.test");
+            user.setPassword("secret");
+            user.setRole(role);
+            user = userRepository.save(user);
+
+            Worker worker = new Worker();
+            worker.setUser(user);
+            worker.setShop(shop);
+            worker.setWorkType(type.name());
+            workers.put(type, workerRepository.save(worker));
+        }
+
+        List<Long> orderIds = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setShop(shop);
+            order.setDeadline(LocalDate.now().plusDays(7));
+            order.setTotalPrice(1000.0);
+            order.setPaidAmount(0.0);
+            order.setStatus(OrderStatus.CUTTING);
+            order = orderRepository.save(order);
+            orderIds.add(order.getOrderId());
+
+            for (TaskType type : TaskType.values()) {
+                Task task = new Task();
+                task.setOrder(order);
+                task.setWorker(workers.get(type));
+                task.setTaskType(type);
+                task.setStatus(TaskStatus.IN_PROGRESS);
+                task.setAssignedAt(LocalDateTime.now());
+                task.setStartedAt(LocalDateTime.now());
+                tasks.add(taskRepository.save(task));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> counterRepository.backfillMissing());
+
+        Collections.shuffle(tasks, new Random(42));
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (Task task : tasks) {
+                Long taskId = task.getTaskId();
+                Long userId = task.getWorker().getUser().getId();
+                results.add(pool.submit(() -> {
+                    start.await();
+                    taskService.completeTask(taskId, userId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS); // Rethrows any failure that exhausted its retries
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (Long orderId : orderIds) {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            assertThat(order.getStatus()).as("status of order %d", orderId).isEqualTo(OrderStatus.COMPLETED);
+
+            assertThat(taskRepository.findByOrder_OrderId(orderId))
+                    .allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
+
+            List<OrderTaskCounterRepository.StageCounts> counts = counterRepository.findCounts(orderId);
+            assertThat(counts).hasSize(TaskType.values().length);
+            assertThat(counts).allMatch(stage -> stage.getPending() == 0
+                    && stage.getInProgress() == 0 && stage.getCompleted() == 1);
+
+            long completedActivities = activityRepository.findByOrder_OrderIdOrderByCreatedAtDesc(orderId).stream()
+                    .filter(activity -> OrderStatus.COMPLETED.name().equals(activity.getNewStatus()))
+                    .count();
+            assertThat(completedActivities).as("COMPLETED activities of order %d", orderId).isEqualTo(1);
+        }
+    }
+}
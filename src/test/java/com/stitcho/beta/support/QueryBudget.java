@@ -0,0 +1,67 @@
+package com.stitcho.beta.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.stitcho.beta.config.QueryCountFilter;
+import com.stitcho.beta.util.QueryCounter;
+
+/**
+ * Asserts how many SQL statements one HTTP request may issue. The MockMvc must
+ * include QueryCountFilter:
+ *
+ *   MockMvcBuilders.webAppContextSetup(context).addFilters(queryCountFilter).build()
+ *
+ * A failure names the statement that ran most often, which for an N+1 is the
+ * per-row lookup.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static QueryCounter.Stats assertMaxStatements(MockMvc mockMvc, RequestBuilder request, int maxStatements)
+            throws Exception {
+        MvcResult result = perform(mockMvc, request);
+        QueryCounter.Stats stats = statsOf(result);
+        assertThat(stats.getStatements())
+                .as("statements of %s; most repeated (%dx): %s", describe(result), stats.getMostRepeatedCount(),
+                        stats.getMostRepeatedSql())
+                .isLessThanOrEqualTo(maxStatements);
+        return stats;
+    }
+
+    /**
+     * Fails when any single statement runs more than maxRepeats times, whatever
+     * the total
+     */
+    public static QueryCounter.Stats assertMaxRepeats(MockMvc mockMvc, RequestBuilder request, int maxRepeats)
+            throws Exception {
+        MvcResult result = perform(mockMvc, request);
+        QueryCounter.Stats stats = statsOf(result);
+        assertThat(stats.getMostRepeatedCount())
+                .as("repeats of %s in %s", stats.getMostRepeatedSql(), describe(result))
+                .isLessThanOrEqualTo(maxRepeats);
+        return stats;
+    }
+
+    private static MvcResult perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).as("status of %s", describe(result)).isEqualTo(200);
+        return result;
+    }
+
+    private static QueryCounter.Stats statsOf(MvcResult result) {
+        QueryCounter.Stats stats = (QueryCounter.Stats) result.getRequest()
+                .getAttribute(QueryCountFilter.STATS_ATTRIBUTE);
+        assertThat(stats).as("query count of %s (is QueryCountFilter added?)", describe(result)).isNotNull();
+        return stats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
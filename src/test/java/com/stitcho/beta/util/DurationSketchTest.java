@@ -0,0 +1,108 @@
+package com.stitcho.beta.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Quantiles against the exact values of a known sample, and merging, encoding
+ * and decay against the same sample added in one piece.
+ */
+class DurationSketchTest {
+    private static final double[] QUANTILES = {0.0, 0.01, 0.25, 0.50, 0.75, 0.90, 0.99, 1.0};
+
+    @Test
+    void quantilesAreWithinOnePercentOfTheExactValue() {
+        List<Double> values = durations(new Random(7), 20_000);
+        DurationSketch sketch = new DurationSketch();
+        values.forEach(sketch::add);
+
+        Collections.sort(values);
+        assertThat(sketch.count()).isEqualTo(values.size());
+        for (double q : QUANTILES) {
+            double exact = values.get((int) Math.floor(q * (values.size() - 1)));
+            assertThat(sketch.quantile(q)).as("p%s", q * 100).isCloseTo(exact, within(exact * 0.0101));
+        }
+    }
+
+    @Test
+    void subSecondDurationsCountAsZero() {
+        DurationSketch sketch = new DurationSketch();
+        sketch.add(0.4);
+        sketch.add(0.9);
+        sketch.add(100);
+
+        assertThat(sketch.quantile(0.0)).isZero();
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(sketch.quantile(1.0)).isCloseTo(100.0, within(1.0));
+        assertThat(new DurationSketch().quantile(0.5)).isNull();
+    }
+
+    @Test
+    void mergedSketchesAnswerLikeOneSketchOfAllValues() {
+        Random random = new Random(11);
+        DurationSketch all = new DurationSketch();
+        DurationSketch merged = new DurationSketch();
+        for (int part = 0; part < 4; part++) {
+            DurationSketch partial = new DurationSketch();
+            for (double value : durations(random, 2_500)) {
+                partial.add(value);
+                all.add(value);
+            }
+            merged.merge(partial);
+        }
+
+        assertThat(merged.count()).isEqualTo(all.count());
+        for (double q : QUANTILES) {
+            assertThat(merged.quantile(q)).as("p%s", q * 100).isEqualTo(all.quantile(q));
+        }
+    }
+
+    @Test
+    void encodingKeepsEveryQuantile() {
+        DurationSketch sketch = new DurationSketch();
+        durations(new Random(3), 5_000).forEach(sketch::add);
+        sketch.decay(0.8);
+
+        DurationSketch decoded = DurationSketch.fromBytes(sketch.toBytes());
+        assertThat(decoded.count()).isEqualTo(sketch.count());
+        for (double q : QUANTILES) {
+            assertThat(decoded.quantile(q)).as("p%s", q * 100).isEqualTo(sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void decayLetsRecentValuesDominate() {
+        DurationSketch sketch = new DurationSketch();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(3_600); // An hour, long ago
+        }
+        sketch.decay(0.01);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(60); // A minute, recently
+        }
+
+        assertThat(sketch.count()).isEqualTo(110);
+        assertThat(sketch.quantile(0.50)).isCloseTo(60.0, within(0.6));
+        assertThat(sketch.quantile(0.99)).isCloseTo(3_600.0, within(36.0));
+
+        sketch.decay(0.0);
+        assertThat(sketch.count()).isZero();
+        assertThat(sketch.quantile(0.50)).isNull();
+    }
+
+    // Log-normal around ten minutes, from sub-second to several days
+    private static List<Double> durations(Random random, int n) {
+        List<Double> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            values.add(Math.floor(Math.exp(Math.log(600) + 2.0 * random.nextGaussian())));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+package com.stitcho.beta.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One request's transactions, in the order a request runs them, against a
+ * primary and a replica that each know their own name. Public because H2
+ * calls the replica's pg_* stand-ins below by reflection.
+ */
+public class ReplicaRoutingDataSourceTest {
+    private static final String PREFIX = "com.stitcho.beta.";
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        // A replica that has replayed everything, as far as the lag check can tell
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        String self = ReplicaRoutingDataSourceTest.class.getName();
+        replicaJdbc.execute("CREATE ALIAS pg_is_in_recovery FOR '" + self + ".inRecovery'");
+        replicaJdbc.execute("CREATE ALIAS pg_last_wal_receive_lsn FOR '" + self + ".lsn'");
+        replicaJdbc.execute("CREATE ALIAS pg_last_wal_replay_lsn FOR '" + self + ".lsn'");
+        replicaJdbc.execute("CREATE ALIAS pg_last_xact_replay_timestamp FOR '" + self + ".replayedAt'");
+
+        routing = new ReplicaRoutingDataSource(primary, replica, PREFIX, 5.0, 10L, 60_000L);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setName(PREFIX + "service.OrderService.getOrders");
+        readWrite = new TransactionTemplate(transactionManager);
+        readWrite.setName(PREFIX + "service.OrderService.updateOrder");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("owner@replica.test", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        routing.close();
+    }
+
+    @Test
+    void eachTransactionOfARequestIsRoutedOnItsOwn() {
+        assertThat(readOnly.execute(status -> servedBy())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> servedBy())).isEqualTo("primary");
+        // The write committed, so this user's reads stay on the primary for a while
+        assertThat(readOnly.execute(status -> servedBy())).isEqualTo("primary");
+    }
+
+    @Test
+    void onlyTheApplicationsReadOnlyTransactionsUseTheReplica() {
+        readOnly.setName("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+        assertThat(readOnly.execute(status -> servedBy())).isEqualTo("primary");
+        assertThat(servedBy()).isEqualTo("primary");
+    }
+
+    public static boolean inRecovery() {
+        return true;
+    }
+
+    public static String lsn() {
+        return "0/3000148";
+    }
+
+    public static Timestamp replayedAt() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private String servedBy() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}